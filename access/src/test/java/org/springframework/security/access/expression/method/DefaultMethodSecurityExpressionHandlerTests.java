@@ -16,9 +16,11 @@
 
 package org.springframework.security.access.expression.method;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -35,8 +37,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.SpelCompilerMode;
 import org.springframework.security.access.expression.SecurityExpressionRoot;
 import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -189,6 +193,62 @@ public class DefaultMethodSecurityExpressionHandlerTests {
 		verify(mockAuthenticationSupplier).get();
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void filterWhenFilterExecutorThenFiltersInChunks() {
+		setupMocks();
+		AtomicInteger chunks = new AtomicInteger();
+		this.handler.setFilterExecutor((task) -> {
+			chunks.incrementAndGet();
+			task.run();
+		});
+		this.handler.setParallelFilterThreshold(2);
+		List<Integer> list = new ArrayList<>(List.of(1, 2, 3, 4, 5, 6));
+		Expression expression = this.handler.getExpressionParser().parseExpression("filterObject % 2 == 0");
+		EvaluationContext context = this.handler.createEvaluationContext(this.authentication, this.methodInvocation);
+		Object filtered = this.handler.filter(list, expression, context);
+		assertThat((List<Integer>) filtered).containsExactly(2, 4, 6);
+		assertThat(chunks).hasValue(3);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void filterWhenFilterExecutorThenChunksSeeContextVariables() {
+		setupMocks();
+		this.handler.setFilterExecutor(Runnable::run);
+		this.handler.setParallelFilterThreshold(2);
+		List<Integer> list = new ArrayList<>(List.of(1, 2, 3, 4, 5, 6));
+		Expression expression = this.handler.getExpressionParser().parseExpression("filterObject % #divisor == 0");
+		EvaluationContext context = this.handler.createEvaluationContext(this.authentication, this.methodInvocation);
+		context.setVariable("divisor", 3);
+		Object filtered = this.handler.filter(list, expression, context);
+		assertThat((List<Integer>) filtered).containsExactly(3, 6);
+	}
+
+	@Test
+	public void setParallelFilterThresholdWhenNotPositiveThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.handler.setParallelFilterThreshold(0));
+	}
+
+	@Test
+	public void setCompilerModeWhenNullThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.handler.setCompilerMode(null))
+			.withMessage("compilerMode cannot be null");
+	}
+
+	@Test
+	public void setCompilerModeWhenImmediateThenCompilesExpression() {
+		setupMocks();
+		this.handler.setCompilerMode(SpelCompilerMode.IMMEDIATE);
+		Authentication user = new TestingAuthenticationToken("user", "password", "ROLE_USER");
+		Expression expression = this.handler.getExpressionParser().parseExpression("authentication.name == 'user'");
+		for (int i = 0; i < 2; i++) {
+			EvaluationContext context = this.handler.createEvaluationContext(() -> user, this.methodInvocation);
+			assertThat(expression.getValue(context, Boolean.class)).isTrue();
+		}
+		assertThat(expression).extracting("compiledAst").isNotNull();
+	}
+
 	static class Foo {
 
 		void bar() {
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.benchmarks.context;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.jackson.SecurityJacksonModules;
+import org.springframework.security.jackson.SmileSecurityContextSerializer;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.security.oauth2.core.oidc.user.OidcUserAuthority;
+
+/**
+ * Compares the size and the time to encode and decode a {@link SecurityContext} stored
+ * in the {@code HttpSession} when using Java serialization, the Jackson JSON mixins and
+ * {@link SmileSecurityContextSerializer}.
+ *
+ * <p>
+ * The size of each encoding is recorded when the benchmark is set up and reported by
+ * {@link SerializedSizeProfiler}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g", "-XX:+UseParallelGC" })
+public class SecurityContextSerializationBenchmark {
+
+	private static final Map<String, Integer> serializedSizes = new ConcurrentHashMap<>();
+
+	@Param({ "usernamePassword", "oidc" })
+	private String authentication;
+
+	private final JsonMapper jsonMapper = JsonMapper.builder()
+		.addModules(SecurityJacksonModules.getModules(getClass().getClassLoader()))
+		.build();
+
+	private final SmileSecurityContextSerializer smileSerializer = new SmileSecurityContextSerializer();
+
+	private SecurityContext context;
+
+	private byte[] javaSerialized;
+
+	private byte[] json;
+
+	private byte[] smile;
+
+	@Setup
+	public void setup() throws Exception {
+		this.context = "oidc".equals(this.authentication) ? oidc() : usernamePassword();
+		this.javaSerialized = javaSerialize();
+		this.json = jsonSerialize();
+		this.smile = smileSerialize();
+		recordSize(this.javaSerialized, "javaSerialize", "javaDeserialize");
+		recordSize(this.json, "jsonSerialize", "jsonDeserialize");
+		recordSize(this.smile, "smileSerialize", "smileDeserialize");
+	}
+
+	private static void recordSize(byte[] encoded, String... benchmarks) {
+		for (String benchmark : benchmarks) {
+			serializedSizes.put(benchmark, encoded.length);
+		}
+	}
+
+	/**
+	 * The size of the encoding that the given benchmark measures.
+	 * @param benchmark the name of the benchmark method
+	 * @return the size in bytes, or {@code null} if the benchmark was not set up
+	 */
+	static Integer serializedSize(String benchmark) {
+		return serializedSizes.get(benchmark);
+	}
+
+	@Benchmark
+	public byte[] javaSerialize() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(this.context);
+		}
+		return bytes.toByteArray();
+	}
+
+	@Benchmark
+	public Object javaDeserialize() throws IOException, ClassNotFoundException {
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(this.javaSerialized))) {
+			return in.readObject();
+		}
+	}
+
+	@Benchmark
+	public byte[] jsonSerialize() {
+		return this.jsonMapper.writeValueAsBytes(this.context);
+	}
+
+	@Benchmark
+	public SecurityContext jsonDeserialize() {
+		return this.jsonMapper.readValue(this.json, SecurityContext.class);
+	}
+
+	@Benchmark
+	public byte[] smileSerialize() {
+		return this.smileSerializer.serialize(this.context);
+	}
+
+	@Benchmark
+	public SecurityContext smileDeserialize() {
+		return this.smileSerializer.deserialize(this.smile);
+	}
+
+	private static SecurityContext usernamePassword() {
+		List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN");
+		User user = new User("user", "password", authorities);
+		return new SecurityContextImpl(
+				UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+	}
+
+	private static SecurityContext oidc() {
+		Instant issuedAt = Instant.now();
+		// @formatter:off
+		OidcIdToken idToken = OidcIdToken.withTokenValue("id-token")
+			.issuer("https://issuer.example.com")
+			.subject("248289761001")
+			.audience(List.of("client"))
+			.authorizedParty("client")
+			.issuedAt(issuedAt)
+			.expiresAt(issuedAt.plusSeconds(3600))
+			.nonce("n-0S6_WzA2Mj")
+			.claim("name", "Jane Doe")
+			.claim("email", "janedoe@example.com")
+			.claim("email_verified", true)
+			.build();
+		// @formatter:on
+		List<GrantedAuthority> authorities = List.of(new OidcUserAuthority(idToken),
+				new SimpleGrantedAuthority("SCOPE_openid"), new SimpleGrantedAuthority("SCOPE_profile"),
+				new SimpleGrantedAuthority("SCOPE_email"));
+		DefaultOidcUser user = new DefaultOidcUser(authorities, idToken);
+		return new SecurityContextImpl(new OAuth2AuthenticationToken(user, authorities, "example"));
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.benchmarks.web;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+
+/**
+ * Benchmarks {@link RequestMatcherDelegatingAuthorizationManager} with a growing number
+ * of rules, evaluated one after another and through its index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g", "-XX:+UseParallelGC" })
+public class AuthorizationRulesBenchmark {
+
+	@Param({ "10", "100", "1000" })
+	private int rules;
+
+	@Param({ "false", "true" })
+	private boolean indexed;
+
+	private RequestMatcherDelegatingAuthorizationManager manager;
+
+	private final Supplier<Authentication> authentication = () -> new TestingAuthenticationToken("user", "password",
+			"ROLE_USER");
+
+	private MockHttpServletRequest firstRule;
+
+	private MockHttpServletRequest lastRule;
+
+	private MockHttpServletRequest noRule;
+
+	@Setup
+	public void setup() {
+		PathPatternRequestMatcher.Builder matchers = PathPatternRequestMatcher.withDefaults();
+		RequestMatcherDelegatingAuthorizationManager.Builder builder = RequestMatcherDelegatingAuthorizationManager
+			.builder();
+		for (int i = 0; i < this.rules; i++) {
+			builder.add(matchers.matcher("/api/resource" + i + "/**"), AuthorityAuthorizationManager.hasRole("USER"));
+		}
+		this.manager = builder.indexed(this.indexed).build();
+		this.firstRule = new MockHttpServletRequest("GET", "/api/resource0/items/1");
+		this.lastRule = new MockHttpServletRequest("GET", "/api/resource" + (this.rules - 1) + "/items/1");
+		this.noRule = new MockHttpServletRequest("GET", "/static/app.js");
+	}
+
+	@Benchmark
+	public AuthorizationResult firstRule() {
+		return this.manager.authorize(this.authentication, this.firstRule);
+	}
+
+	@Benchmark
+	public AuthorizationResult lastRule() {
+		return this.manager.authorize(this.authentication, this.lastRule);
+	}
+
+	@Benchmark
+	public AuthorizationResult noRule() {
+		return this.manager.authorize(this.authentication, this.noRule);
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.benchmarks.web;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.DefaultSecurityFilterChain;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+
+/**
+ * Benchmarks how {@link FilterChainProxy} selects among a growing number of
+ * {@link SecurityFilterChain}s, one after another and through its index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g", "-XX:+UseParallelGC" })
+public class FilterChainSelectionBenchmark {
+
+	@Param({ "10", "100" })
+	private int chains;
+
+	@Param({ "false", "true" })
+	private boolean indexed;
+
+	private FilterChainProxy filterChainProxy;
+
+	@Setup
+	public void setup() {
+		PathPatternRequestMatcher.Builder matchers = PathPatternRequestMatcher.withDefaults();
+		List<SecurityFilterChain> filterChains = new ArrayList<>();
+		for (int i = 0; i < this.chains; i++) {
+			filterChains.add(new DefaultSecurityFilterChain(matchers.matcher("/service" + i + "/**")));
+		}
+		this.filterChainProxy = new FilterChainProxy(filterChains);
+		this.filterChainProxy.setIndexFilterChains(this.indexed);
+		this.filterChainProxy.afterPropertiesSet();
+	}
+
+	@Benchmark
+	public MockHttpServletResponse lastChain() throws Exception {
+		return ServletBenchmarks.doFilter(this.filterChainProxy,
+				new MockHttpServletRequest("GET", "/service" + (this.chains - 1) + "/items/1"));
+	}
+
+	@Benchmark
+	public MockHttpServletResponse noChain() throws Exception {
+		return ServletBenchmarks.doFilter(this.filterChainProxy, new MockHttpServletRequest("GET", "/static/app.js"));
+	}
+
+}
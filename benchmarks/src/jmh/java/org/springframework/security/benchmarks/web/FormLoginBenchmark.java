@@ -0,0 +1,174 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.benchmarks.web;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.csrf.HttpSessionCsrfTokenRepository;
+import org.springframework.security.web.csrf.XorCsrfTokenRequestAttributeHandler;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+
+/**
+ * Benchmarks an application that uses form login, from the first unauthenticated request
+ * through the login itself to the requests made with the resulting session.
+ *
+ * <p>
+ * The user's password is stored with {@code {noop}} so that the login measures the
+ * filter chain rather than the password hash.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g", "-XX:+UseParallelGC" })
+public class FormLoginBenchmark {
+
+	private AnnotationConfigWebApplicationContext context;
+
+	private Filter springSecurityFilterChain;
+
+	private final HttpSessionCsrfTokenRepository csrfTokenRepository = new HttpSessionCsrfTokenRepository();
+
+	private CsrfToken csrfToken;
+
+	private String maskedCsrfToken;
+
+	private MockHttpSession authenticatedSession;
+
+	@Setup
+	public void setup() throws Exception {
+		this.context = ServletBenchmarks.context(FormLoginConfig.class);
+		this.springSecurityFilterChain = ServletBenchmarks.springSecurityFilterChain(this.context);
+		MockHttpServletRequest request = ServletBenchmarks.request(this.context, "GET", "/login");
+		this.csrfToken = this.csrfTokenRepository.generateToken(request);
+		new XorCsrfTokenRequestAttributeHandler().handle(request, new MockHttpServletResponse(),
+				() -> this.csrfToken);
+		this.maskedCsrfToken = ((CsrfToken) request.getAttribute(CsrfToken.class.getName())).getToken();
+		this.authenticatedSession = new MockHttpSession(this.context.getServletContext());
+		this.authenticatedSession.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+				new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated("user", null,
+						AuthorityUtils.createAuthorityList("ROLE_USER"))));
+		ServletBenchmarks.verify("unauthenticatedRequest", unauthenticatedRequest(),
+				HttpServletResponse.SC_MOVED_TEMPORARILY);
+		ServletBenchmarks.verify("loginPage", loginPage(), HttpServletResponse.SC_OK);
+		ServletBenchmarks.verify("login", login(), HttpServletResponse.SC_MOVED_TEMPORARILY);
+		ServletBenchmarks.verify("invalidLogin", invalidLogin(), HttpServletResponse.SC_MOVED_TEMPORARILY);
+		ServletBenchmarks.verify("authenticatedRequest", authenticatedRequest(), HttpServletResponse.SC_OK);
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public MockHttpServletResponse unauthenticatedRequest() throws Exception {
+		return ServletBenchmarks.doFilter(this.springSecurityFilterChain,
+				ServletBenchmarks.request(this.context, "GET", "/resource"));
+	}
+
+	@Benchmark
+	public MockHttpServletResponse loginPage() throws Exception {
+		return ServletBenchmarks.doFilter(this.springSecurityFilterChain,
+				ServletBenchmarks.request(this.context, "GET", "/login"));
+	}
+
+	@Benchmark
+	public MockHttpServletResponse login() throws Exception {
+		return login("password");
+	}
+
+	@Benchmark
+	public MockHttpServletResponse invalidLogin() throws Exception {
+		return login("invalid");
+	}
+
+	@Benchmark
+	public MockHttpServletResponse authenticatedRequest() throws Exception {
+		MockHttpServletRequest request = ServletBenchmarks.request(this.context, "GET", "/resource");
+		request.setSession(this.authenticatedSession);
+		return ServletBenchmarks.doFilter(this.springSecurityFilterChain, request);
+	}
+
+	private MockHttpServletResponse login(String password) throws Exception {
+		MockHttpServletRequest request = ServletBenchmarks.request(this.context, "POST", "/login");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		request.setSession(new MockHttpSession(this.context.getServletContext()));
+		this.csrfTokenRepository.saveToken(this.csrfToken, request, response);
+		request.setParameter("username", "user");
+		request.setParameter("password", password);
+		request.setParameter(this.csrfToken.getParameterName(), this.maskedCsrfToken);
+		return ServletBenchmarks.doFilter(this.springSecurityFilterChain, request, response);
+	}
+
+	@Configuration
+	@EnableWebSecurity
+	static class FormLoginConfig {
+
+		@Bean
+		SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+			// @formatter:off
+			http
+				.authorizeHttpRequests((authorize) -> authorize
+					.anyRequest().authenticated()
+				)
+				.formLogin(Customizer.withDefaults());
+			// @formatter:on
+			return http.build();
+		}
+
+		@Bean
+		UserDetailsService userDetailsService() {
+			return new InMemoryUserDetailsManager(
+					User.withUsername("user").password("{noop}password").roles("USER").build());
+		}
+
+	}
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.benchmarks.web;
+
+import java.security.KeyPair;
+import java.security.interfaces.RSAPublicKey;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.benchmarks.TestJwts;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+
+/**
+ * Benchmarks a stateless resource server that authenticates each request with an RS256
+ * signed JWT.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g", "-XX:+UseParallelGC" })
+public class JwtResourceServerBenchmark {
+
+	static final KeyPair KEY_PAIR = TestJwts.generateKeyPair();
+
+	private AnnotationConfigWebApplicationContext context;
+
+	private Filter springSecurityFilterChain;
+
+	private String readToken;
+
+	private String writeToken;
+
+	private String untrustedToken;
+
+	@Setup
+	public void setup() throws Exception {
+		this.context = ServletBenchmarks.context(JwtResourceServerConfig.class);
+		this.springSecurityFilterChain = ServletBenchmarks.springSecurityFilterChain(this.context);
+		this.readToken = TestJwts.token(KEY_PAIR, "message:read");
+		this.writeToken = TestJwts.token(KEY_PAIR, "message:write");
+		this.untrustedToken = TestJwts.token(TestJwts.generateKeyPair(), "message:read");
+		ServletBenchmarks.verify("validToken", validToken(), HttpServletResponse.SC_OK);
+		ServletBenchmarks.verify("insufficientScope", insufficientScope(), HttpServletResponse.SC_FORBIDDEN);
+		ServletBenchmarks.verify("untrustedToken", untrustedToken(), HttpServletResponse.SC_UNAUTHORIZED);
+		ServletBenchmarks.verify("missingToken", missingToken(), HttpServletResponse.SC_UNAUTHORIZED);
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public MockHttpServletResponse validToken() throws Exception {
+		return messages(this.readToken);
+	}
+
+	@Benchmark
+	public MockHttpServletResponse insufficientScope() throws Exception {
+		return messages(this.writeToken);
+	}
+
+	@Benchmark
+	public MockHttpServletResponse untrustedToken() throws Exception {
+		return messages(this.untrustedToken);
+	}
+
+	@Benchmark
+	public MockHttpServletResponse missingToken() throws Exception {
+		return ServletBenchmarks.doFilter(this.springSecurityFilterChain,
+				ServletBenchmarks.request(this.context, "GET", "/messages"));
+	}
+
+	private MockHttpServletResponse messages(String token) throws Exception {
+		MockHttpServletRequest request = ServletBenchmarks.request(this.context, "GET", "/messages");
+		request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+		return ServletBenchmarks.doFilter(this.springSecurityFilterChain, request);
+	}
+
+	@Configuration
+	@EnableWebSecurity
+	static class JwtResourceServerConfig {
+
+		@Bean
+		SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+			// @formatter:off
+			http
+				.authorizeHttpRequests((authorize) -> authorize
+					.requestMatchers("/messages/**").hasAuthority("SCOPE_message:read")
+					.anyRequest().authenticated()
+				)
+				.sessionManagement((session) -> session
+					.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+				)
+				.oauth2ResourceServer((oauth2) -> oauth2
+					.jwt(Customizer.withDefaults())
+				);
+			// @formatter:on
+			return http.build();
+		}
+
+		@Bean
+		JwtDecoder jwtDecoder() {
+			return NimbusJwtDecoder.withPublicKey((RSAPublicKey) KEY_PAIR.getPublic()).build();
+		}
+
+	}
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.benchmarks.web;
+
+import java.io.IOException;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.web.context.AbstractSecurityWebApplicationInitializer;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+
+/**
+ * Support for benchmarks that drive a {@code FilterChainProxy} built by
+ * {@code HttpSecurity} with mock servlet objects.
+ *
+ * <p>
+ * Each benchmark verifies the response of every scenario once during its setup so that
+ * a change in behavior cannot silently turn a benchmark into a measurement of a
+ * different code path.
+ */
+final class ServletBenchmarks {
+
+	/**
+	 * The {@link FilterChain} that is invoked when the request makes it through the
+	 * security filters.
+	 */
+	static final FilterChain APPLICATION = (request, response) -> ((HttpServletResponse) response)
+		.setStatus(HttpServletResponse.SC_OK);
+
+	private ServletBenchmarks() {
+	}
+
+	/**
+	 * Refresh a web application context for the given configuration classes.
+	 * @param configurations the configuration classes
+	 * @return the refreshed context
+	 */
+	static AnnotationConfigWebApplicationContext context(Class<?>... configurations) {
+		AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
+		context.setServletContext(new MockServletContext());
+		context.register(configurations);
+		context.refresh();
+		return context;
+	}
+
+	/**
+	 * Look up the {@code springSecurityFilterChain} of the given context.
+	 * @param context the context
+	 * @return the security filter
+	 */
+	static Filter springSecurityFilterChain(AnnotationConfigWebApplicationContext context) {
+		return context.getBean(AbstractSecurityWebApplicationInitializer.DEFAULT_FILTER_NAME, Filter.class);
+	}
+
+	static MockHttpServletRequest request(AnnotationConfigWebApplicationContext context, String method, String uri) {
+		return new MockHttpServletRequest(context.getServletContext(), method, uri);
+	}
+
+	static MockHttpServletResponse doFilter(Filter filter, MockHttpServletRequest request)
+			throws IOException, ServletException {
+		return doFilter(filter, request, new MockHttpServletResponse());
+	}
+
+	static MockHttpServletResponse doFilter(Filter filter, MockHttpServletRequest request,
+			MockHttpServletResponse response) throws IOException, ServletException {
+		filter.doFilter(request, response, APPLICATION);
+		return response;
+	}
+
+	/**
+	 * Verify that a scenario produced the expected status.
+	 * @param scenario the name of the scenario
+	 * @param response the response of the scenario
+	 * @param status the expected status
+	 * @throws IllegalStateException if the status is not the expected one
+	 */
+	static void verify(String scenario, MockHttpServletResponse response, int status) {
+		if (response.getStatus() != status) {
+			throw new IllegalStateException("Expected " + scenario + " to respond with " + status + " but was "
+					+ response.getStatus());
+		}
+	}
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.benchmarks.web;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.csrf.HttpSessionCsrfTokenRepository;
+import org.springframework.security.web.csrf.XorCsrfTokenRequestAttributeHandler;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+
+/**
+ * Benchmarks the requests of a user who is already logged in to a stateful application
+ * that stores the security context and the CSRF token in the HTTP session.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g", "-XX:+UseParallelGC" })
+public class SessionCsrfBenchmark {
+
+	private AnnotationConfigWebApplicationContext context;
+
+	private Filter springSecurityFilterChain;
+
+	private MockHttpSession session;
+
+	private CsrfToken csrfToken;
+
+	private String maskedCsrfToken;
+
+	@Setup
+	public void setup() throws Exception {
+		this.context = ServletBenchmarks.context(SessionCsrfConfig.class);
+		this.springSecurityFilterChain = ServletBenchmarks.springSecurityFilterChain(this.context);
+		MockHttpServletRequest request = ServletBenchmarks.request(this.context, "GET", "/");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.session = new MockHttpSession(this.context.getServletContext());
+		request.setSession(this.session);
+		HttpSessionCsrfTokenRepository csrfTokenRepository = new HttpSessionCsrfTokenRepository();
+		this.csrfToken = csrfTokenRepository.generateToken(request);
+		csrfTokenRepository.saveToken(this.csrfToken, request, response);
+		new XorCsrfTokenRequestAttributeHandler().handle(request, response, () -> this.csrfToken);
+		this.maskedCsrfToken = ((CsrfToken) request.getAttribute(CsrfToken.class.getName())).getToken();
+		this.session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+				new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated("user", null,
+						AuthorityUtils.createAuthorityList("ROLE_USER"))));
+		ServletBenchmarks.verify("get", get(), HttpServletResponse.SC_OK);
+		ServletBenchmarks.verify("postWithCsrfToken", postWithCsrfToken(), HttpServletResponse.SC_OK);
+		ServletBenchmarks.verify("postWithoutCsrfToken", postWithoutCsrfToken(), HttpServletResponse.SC_FORBIDDEN);
+		ServletBenchmarks.verify("adminDenied", adminDenied(), HttpServletResponse.SC_FORBIDDEN);
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public MockHttpServletResponse get() throws Exception {
+		return ServletBenchmarks.doFilter(this.springSecurityFilterChain, request("GET", "/messages"));
+	}
+
+	@Benchmark
+	public MockHttpServletResponse postWithCsrfToken() throws Exception {
+		MockHttpServletRequest request = request("POST", "/messages");
+		request.addHeader(this.csrfToken.getHeaderName(), this.maskedCsrfToken);
+		return ServletBenchmarks.doFilter(this.springSecurityFilterChain, request);
+	}
+
+	@Benchmark
+	public MockHttpServletResponse postWithoutCsrfToken() throws Exception {
+		return ServletBenchmarks.doFilter(this.springSecurityFilterChain, request("POST", "/messages"));
+	}
+
+	@Benchmark
+	public MockHttpServletResponse adminDenied() throws Exception {
+		return ServletBenchmarks.doFilter(this.springSecurityFilterChain, request("GET", "/admin/messages"));
+	}
+
+	private MockHttpServletRequest request(String method, String uri) {
+		MockHttpServletRequest request = ServletBenchmarks.request(this.context, method, uri);
+		request.setSession(this.session);
+		return request;
+	}
+
+	@Configuration
+	@EnableWebSecurity
+	static class SessionCsrfConfig {
+
+		@Bean
+		SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+			// @formatter:off
+			http
+				.authorizeHttpRequests((authorize) -> authorize
+					.requestMatchers("/admin/**").hasRole("ADMIN")
+					.anyRequest().authenticated()
+				)
+				.formLogin(Customizer.withDefaults())
+				.logout(Customizer.withDefaults());
+			// @formatter:on
+			return http.build();
+		}
+
+		@Bean
+		UserDetailsService userDetailsService() {
+			return new InMemoryUserDetailsManager(
+					User.withUsername("user").password("{noop}password").roles("USER").build());
+		}
+
+	}
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.benchmarks.web;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+
+/**
+ * Benchmarks a stateless API that authenticates each request with HTTP Basic and does not
+ * use the HTTP session, the request cache or CSRF protection.
+ *
+ * <p>
+ * The user's password is stored with {@code {noop}} so that the benchmark measures the
+ * filter chain rather than the password hash.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g", "-XX:+UseParallelGC" })
+public class StatelessApiBenchmark {
+
+	private AnnotationConfigWebApplicationContext context;
+
+	private Filter springSecurityFilterChain;
+
+	private final String authorization = "Basic "
+			+ Base64.getEncoder().encodeToString("user:password".getBytes(StandardCharsets.UTF_8));
+
+	@Setup
+	public void setup() throws Exception {
+		this.context = ServletBenchmarks.context(StatelessApiConfig.class);
+		this.springSecurityFilterChain = ServletBenchmarks.springSecurityFilterChain(this.context);
+		ServletBenchmarks.verify("publicRequest", publicRequest(), HttpServletResponse.SC_OK);
+		ServletBenchmarks.verify("authenticatedRequest", authenticatedRequest(), HttpServletResponse.SC_OK);
+		ServletBenchmarks.verify("unauthenticatedRequest", unauthenticatedRequest(),
+				HttpServletResponse.SC_UNAUTHORIZED);
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public MockHttpServletResponse publicRequest() throws Exception {
+		return ServletBenchmarks.doFilter(this.springSecurityFilterChain,
+				ServletBenchmarks.request(this.context, "GET", "/api/public/status"));
+	}
+
+	@Benchmark
+	public MockHttpServletResponse authenticatedRequest() throws Exception {
+		MockHttpServletRequest request = ServletBenchmarks.request(this.context, "GET", "/api/messages");
+		request.addHeader(HttpHeaders.AUTHORIZATION, this.authorization);
+		return ServletBenchmarks.doFilter(this.springSecurityFilterChain, request);
+	}
+
+	@Benchmark
+	public MockHttpServletResponse unauthenticatedRequest() throws Exception {
+		return ServletBenchmarks.doFilter(this.springSecurityFilterChain,
+				ServletBenchmarks.request(this.context, "GET", "/api/messages"));
+	}
+
+	@Configuration
+	@EnableWebSecurity
+	static class StatelessApiConfig {
+
+		@Bean
+		SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+			// @formatter:off
+			http
+				.authorizeHttpRequests((authorize) -> authorize
+					.requestMatchers("/api/public/**").permitAll()
+					.anyRequest().authenticated()
+				)
+				.sessionManagement((session) -> session
+					.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+				)
+				.requestCache(AbstractHttpConfigurer::disable)
+				.csrf(AbstractHttpConfigurer::disable)
+				.httpBasic(Customizer.withDefaults());
+			// @formatter:on
+			return http.build();
+		}
+
+		@Bean
+		UserDetailsService userDetailsService() {
+			return new InMemoryUserDetailsManager(
+					User.withUsername("user").password("{noop}password").roles("USER").build());
+		}
+
+	}
+
+}
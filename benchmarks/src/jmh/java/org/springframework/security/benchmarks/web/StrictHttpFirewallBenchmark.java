@@ -0,0 +1,83 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.benchmarks.web;
+
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.firewall.RequestRejectedException;
+import org.springframework.security.web.firewall.StrictHttpFirewall;
+
+/**
+ * Benchmarks the URL validation of {@link StrictHttpFirewall} for a typical request and
+ * for a request that is rejected.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g", "-XX:+UseParallelGC" })
+public class StrictHttpFirewallBenchmark {
+
+	private final StrictHttpFirewall firewall = new StrictHttpFirewall();
+
+	private MockHttpServletRequest allowed;
+
+	private MockHttpServletRequest rejected;
+
+	@Setup
+	public void setup() {
+		this.allowed = new MockHttpServletRequest("GET", "/app/api/v1/customers/42/orders");
+		this.allowed.setContextPath("/app");
+		this.allowed.setServletPath("/api");
+		this.allowed.setPathInfo("/v1/customers/42/orders");
+		this.rejected = new MockHttpServletRequest("GET", "/app/api/v1/customers/42/../orders");
+		this.rejected.setContextPath("/app");
+		this.rejected.setServletPath("/api");
+		this.rejected.setPathInfo("/v1/customers/42/../orders");
+	}
+
+	@Benchmark
+	public HttpServletRequest allowed() {
+		return this.firewall.getFirewalledRequest(this.allowed);
+	}
+
+	@Benchmark
+	public RequestRejectedException rejected() {
+		try {
+			this.firewall.getFirewalledRequest(this.rejected);
+			throw new IllegalStateException("Expected the request to be rejected");
+		}
+		catch (RequestRejectedException ex) {
+			return ex;
+		}
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.benchmarks.web;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.security.crypto.codec.Utf8;
+import org.springframework.security.web.csrf.XorCsrfTokenCodec;
+import org.springframework.security.web.csrf.XorCsrfTokenRequestAttributeHandler;
+
+/**
+ * Compares masking and unmasking a CSRF token with {@link XorCsrfTokenCodec} against the
+ * implementation that {@link XorCsrfTokenRequestAttributeHandler} used before, which
+ * shares a single {@link SecureRandom}. Several threads are used so that contention on
+ * the {@link SecureRandom} shows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g", "-XX:+UseParallelGC" })
+public class XorCsrfTokenBenchmark {
+
+	private final String token = UUID.randomUUID().toString();
+
+	private final SecureRandom secureRandom = new SecureRandom();
+
+	@Benchmark
+	public String sharedSecureRandom() {
+		return unmask(mask(this.secureRandom, this.token), this.token);
+	}
+
+	@Benchmark
+	public String codec() {
+		return XorCsrfTokenCodec.unmask(XorCsrfTokenCodec.mask(this.token), this.token);
+	}
+
+	private static String mask(SecureRandom secureRandom, String token) {
+		byte[] tokenBytes = Utf8.encode(token);
+		byte[] randomBytes = new byte[tokenBytes.length];
+		secureRandom.nextBytes(randomBytes);
+		byte[] xoredBytes = xor(randomBytes, tokenBytes);
+		byte[] combinedBytes = new byte[tokenBytes.length + randomBytes.length];
+		System.arraycopy(randomBytes, 0, combinedBytes, 0, randomBytes.length);
+		System.arraycopy(xoredBytes, 0, combinedBytes, randomBytes.length, xoredBytes.length);
+		return Base64.getUrlEncoder().encodeToString(combinedBytes);
+	}
+
+	private static String unmask(String actualToken, String token) {
+		byte[] actualBytes = Base64.getUrlDecoder().decode(actualToken);
+		int tokenSize = Utf8.encode(token).length;
+		byte[] xoredCsrf = new byte[tokenSize];
+		byte[] randomBytes = new byte[tokenSize];
+		System.arraycopy(actualBytes, 0, randomBytes, 0, tokenSize);
+		System.arraycopy(actualBytes, tokenSize, xoredCsrf, 0, tokenSize);
+		return Utf8.decode(xor(randomBytes, xoredCsrf));
+	}
+
+	private static byte[] xor(byte[] randomBytes, byte[] csrfBytes) {
+		byte[] xoredCsrf = csrfBytes.clone();
+		for (int i = 0; i < xoredCsrf.length; i++) {
+			xoredCsrf[i] ^= randomBytes[i];
+		}
+		return xoredCsrf;
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.benchmarks.web.server;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.web.server.WebFilter;
+
+/**
+ * Benchmarks exchanges that carry no credentials, both for a public path and for a path
+ * that requires authentication.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g", "-XX:+UseParallelGC" })
+public class ReactiveAnonymousBenchmark {
+
+	private AnnotationConfigApplicationContext context;
+
+	private WebFilter webFilterChainProxy;
+
+	@Setup
+	public void setup() {
+		this.context = ReactiveBenchmarks.context(AnonymousConfig.class);
+		this.webFilterChainProxy = ReactiveBenchmarks.webFilterChainProxy(this.context);
+		ReactiveBenchmarks.verify("publicExchange", this::publicExchange, HttpStatus.OK);
+		ReactiveBenchmarks.verify("unauthenticatedExchange", this::unauthenticatedExchange, HttpStatus.UNAUTHORIZED);
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public MockServerWebExchange publicExchange() {
+		return ReactiveBenchmarks.filter(this.webFilterChainProxy, MockServerHttpRequest.get("/public/status"));
+	}
+
+	@Benchmark
+	public MockServerWebExchange unauthenticatedExchange() {
+		return ReactiveBenchmarks.filter(this.webFilterChainProxy, MockServerHttpRequest.get("/messages"));
+	}
+
+	@Configuration
+	@EnableWebFluxSecurity
+	static class AnonymousConfig {
+
+		@Bean
+		SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http) {
+			// @formatter:off
+			http
+				.authorizeExchange((authorize) -> authorize
+					.pathMatchers("/public/**").permitAll()
+					.anyExchange().authenticated()
+				);
+			// @formatter:on
+			return http.build();
+		}
+
+	}
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.benchmarks.web.server;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import reactor.core.publisher.Hooks;
+import reactor.core.publisher.Mono;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.web.server.WebFilterChainProxy;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+/**
+ * Support for benchmarks that drive a {@link WebFilterChainProxy} built by
+ * {@code ServerHttpSecurity} with {@link MockServerWebExchange}s.
+ *
+ * <p>
+ * Each benchmark verifies the response of every scenario once during its setup. While
+ * doing so, it counts the Reactor operators that are assembled for the exchange, since
+ * the depth of the operator chain is a large part of what security costs per exchange.
+ * {@link ReactorOperatorsProfiler} reports these counts with the results.
+ */
+final class ReactiveBenchmarks {
+
+	/**
+	 * The {@link WebFilterChain} that is invoked when the exchange makes it through the
+	 * security filters.
+	 */
+	static final WebFilterChain APPLICATION = (exchange) -> {
+		exchange.getResponse().setStatusCode(HttpStatus.OK);
+		return Mono.empty();
+	};
+
+	private static final String OPERATOR_COUNTER = ReactiveBenchmarks.class.getName();
+
+	private static final Map<String, Long> operators = new ConcurrentHashMap<>();
+
+	private ReactiveBenchmarks() {
+	}
+
+	/**
+	 * Refresh an application context for the given configuration classes.
+	 * @param configurations the configuration classes
+	 * @return the refreshed context
+	 */
+	static AnnotationConfigApplicationContext context(Class<?>... configurations) {
+		return new AnnotationConfigApplicationContext(configurations);
+	}
+
+	/**
+	 * Look up the {@link WebFilterChainProxy} of the given context.
+	 * @param context the context
+	 * @return the security filter
+	 */
+	static WebFilter webFilterChainProxy(AnnotationConfigApplicationContext context) {
+		return context.getBean(WebFilterChainProxy.class);
+	}
+
+	static MockServerWebExchange filter(WebFilter filter, MockServerHttpRequest.BaseBuilder<?> request) {
+		MockServerWebExchange exchange = MockServerWebExchange.from(request);
+		filter.filter(exchange, APPLICATION).block();
+		return exchange;
+	}
+
+	/**
+	 * Run a scenario once, verifying that it produced the expected status and recording
+	 * how many Reactor operators were assembled while doing so.
+	 * @param scenario the name of the scenario
+	 * @param exchange the scenario
+	 * @param status the expected status
+	 * @throws IllegalStateException if the status is not the expected one
+	 */
+	static void verify(String scenario, Supplier<MockServerWebExchange> exchange, HttpStatus status) {
+		AtomicLong operators = new AtomicLong();
+		Hooks.onEachOperator(OPERATOR_COUNTER, (publisher) -> {
+			operators.incrementAndGet();
+			return publisher;
+		});
+		MockServerWebExchange result;
+		try {
+			result = exchange.get();
+		}
+		finally {
+			Hooks.resetOnEachOperator(OPERATOR_COUNTER);
+		}
+		if (!status.equals(result.getResponse().getStatusCode())) {
+			throw new IllegalStateException("Expected " + scenario + " to respond with " + status + " but was "
+					+ result.getResponse().getStatusCode());
+		}
+		ReactiveBenchmarks.operators.put(scenario, operators.get());
+	}
+
+	/**
+	 * The number of Reactor operators that were assembled when the given scenario was
+	 * {@link #verify verified}.
+	 * @param scenario the name of the scenario, which is the name of its benchmark method
+	 * @return the number of operators, or {@code null} if the scenario was not verified
+	 */
+	static Long operators(String scenario) {
+		return operators.get(scenario);
+	}
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.benchmarks.web.server;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.web.server.WebFilter;
+
+/**
+ * Benchmarks exchanges that authenticate with HTTP Basic.
+ *
+ * <p>
+ * The user's password is stored with {@code {noop}} so that the benchmark measures the
+ * filter chain rather than the password hash. The password is still checked on the
+ * bounded elastic scheduler, which is included in the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g", "-XX:+UseParallelGC" })
+public class ReactiveHttpBasicBenchmark {
+
+	private AnnotationConfigApplicationContext context;
+
+	private WebFilter webFilterChainProxy;
+
+	private final String validCredentials = basic("user:password");
+
+	private final String invalidCredentials = basic("user:invalid");
+
+	@Setup
+	public void setup() {
+		this.context = ReactiveBenchmarks.context(HttpBasicConfig.class);
+		this.webFilterChainProxy = ReactiveBenchmarks.webFilterChainProxy(this.context);
+		ReactiveBenchmarks.verify("validCredentials", this::validCredentials, HttpStatus.OK);
+		ReactiveBenchmarks.verify("invalidCredentials", this::invalidCredentials, HttpStatus.UNAUTHORIZED);
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public MockServerWebExchange validCredentials() {
+		return ReactiveBenchmarks.filter(this.webFilterChainProxy,
+				MockServerHttpRequest.get("/messages").header(HttpHeaders.AUTHORIZATION, this.validCredentials));
+	}
+
+	@Benchmark
+	public MockServerWebExchange invalidCredentials() {
+		return ReactiveBenchmarks.filter(this.webFilterChainProxy,
+				MockServerHttpRequest.get("/messages").header(HttpHeaders.AUTHORIZATION, this.invalidCredentials));
+	}
+
+	private static String basic(String credentials) {
+		return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Configuration
+	@EnableWebFluxSecurity
+	static class HttpBasicConfig {
+
+		@Bean
+		SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http) {
+			// @formatter:off
+			http
+				.authorizeExchange((authorize) -> authorize
+					.anyExchange().authenticated()
+				)
+				.httpBasic(Customizer.withDefaults());
+			// @formatter:on
+			return http.build();
+		}
+
+		@Bean
+		MapReactiveUserDetailsService userDetailsService() {
+			return new MapReactiveUserDetailsService(
+					User.withUsername("user").password("{noop}password").roles("USER").build());
+		}
+
+	}
+
+}
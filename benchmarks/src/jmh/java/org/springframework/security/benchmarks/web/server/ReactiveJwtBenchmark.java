@@ -0,0 +1,143 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.benchmarks.web.server;
+
+import java.security.KeyPair;
+import java.security.interfaces.RSAPublicKey;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.benchmarks.TestJwts;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.web.server.WebFilter;
+
+/**
+ * Benchmarks exchanges that authenticate with an RS256 signed JWT.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g", "-XX:+UseParallelGC" })
+public class ReactiveJwtBenchmark {
+
+	static final KeyPair KEY_PAIR = TestJwts.generateKeyPair();
+
+	private AnnotationConfigApplicationContext context;
+
+	private WebFilter webFilterChainProxy;
+
+	private String readToken;
+
+	private String writeToken;
+
+	private String untrustedToken;
+
+	@Setup
+	public void setup() {
+		this.context = ReactiveBenchmarks.context(JwtConfig.class);
+		this.webFilterChainProxy = ReactiveBenchmarks.webFilterChainProxy(this.context);
+		this.readToken = "Bearer " + TestJwts.token(KEY_PAIR, "message:read");
+		this.writeToken = "Bearer " + TestJwts.token(KEY_PAIR, "message:write");
+		this.untrustedToken = "Bearer " + TestJwts.token(TestJwts.generateKeyPair(), "message:read");
+		ReactiveBenchmarks.verify("validToken", this::validToken, HttpStatus.OK);
+		ReactiveBenchmarks.verify("insufficientScope", this::insufficientScope, HttpStatus.FORBIDDEN);
+		ReactiveBenchmarks.verify("untrustedToken", this::untrustedToken, HttpStatus.UNAUTHORIZED);
+		ReactiveBenchmarks.verify("missingToken", this::missingToken, HttpStatus.UNAUTHORIZED);
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public MockServerWebExchange validToken() {
+		return messages(this.readToken);
+	}
+
+	@Benchmark
+	public MockServerWebExchange insufficientScope() {
+		return messages(this.writeToken);
+	}
+
+	@Benchmark
+	public MockServerWebExchange untrustedToken() {
+		return messages(this.untrustedToken);
+	}
+
+	@Benchmark
+	public MockServerWebExchange missingToken() {
+		return ReactiveBenchmarks.filter(this.webFilterChainProxy, MockServerHttpRequest.get("/messages"));
+	}
+
+	private MockServerWebExchange messages(String authorization) {
+		return ReactiveBenchmarks.filter(this.webFilterChainProxy,
+				MockServerHttpRequest.get("/messages").header(HttpHeaders.AUTHORIZATION, authorization));
+	}
+
+	@Configuration
+	@EnableWebFluxSecurity
+	static class JwtConfig {
+
+		@Bean
+		SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http) {
+			// @formatter:off
+			http
+				.authorizeExchange((authorize) -> authorize
+					.pathMatchers("/messages/**").hasAuthority("SCOPE_message:read")
+					.anyExchange().authenticated()
+				)
+				.oauth2ResourceServer((oauth2) -> oauth2
+					.jwt(Customizer.withDefaults())
+				);
+			// @formatter:on
+			return http.build();
+		}
+
+		@Bean
+		ReactiveJwtDecoder jwtDecoder() {
+			return NimbusReactiveJwtDecoder.withPublicKey((RSAPublicKey) KEY_PAIR.getPublic()).build();
+		}
+
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.benchmarks.web.server;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+import org.springframework.security.oauth2.server.resource.introspection.BadOpaqueTokenException;
+import org.springframework.security.oauth2.server.resource.introspection.OAuth2IntrospectionAuthenticatedPrincipal;
+import org.springframework.security.oauth2.server.resource.introspection.ReactiveOpaqueTokenIntrospector;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.web.server.WebFilter;
+
+/**
+ * Benchmarks exchanges that authenticate with an opaque token.
+ *
+ * <p>
+ * The introspection endpoint is replaced by an in-memory
+ * {@link ReactiveOpaqueTokenIntrospector} so that the benchmark measures the filter
+ * chain rather than the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g", "-XX:+UseParallelGC" })
+public class ReactiveOpaqueTokenBenchmark {
+
+	private AnnotationConfigApplicationContext context;
+
+	private WebFilter webFilterChainProxy;
+
+	@Setup
+	public void setup() {
+		this.context = ReactiveBenchmarks.context(OpaqueTokenConfig.class);
+		this.webFilterChainProxy = ReactiveBenchmarks.webFilterChainProxy(this.context);
+		ReactiveBenchmarks.verify("validToken", this::validToken, HttpStatus.OK);
+		ReactiveBenchmarks.verify("invalidToken", this::invalidToken, HttpStatus.UNAUTHORIZED);
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.context.close();
+	}
+
+	@Benchmark
+	public MockServerWebExchange validToken() {
+		return messages("Bearer active");
+	}
+
+	@Benchmark
+	public MockServerWebExchange invalidToken() {
+		return messages("Bearer inactive");
+	}
+
+	private MockServerWebExchange messages(String authorization) {
+		return ReactiveBenchmarks.filter(this.webFilterChainProxy,
+				MockServerHttpRequest.get("/messages").header(HttpHeaders.AUTHORIZATION, authorization));
+	}
+
+	@Configuration
+	@EnableWebFluxSecurity
+	static class OpaqueTokenConfig {
+
+		private static final OAuth2AuthenticatedPrincipal PRINCIPAL = new OAuth2IntrospectionAuthenticatedPrincipal(
+				Map.of("sub", "user", "active", true, "scope", "message:read"),
+				AuthorityUtils.createAuthorityList("SCOPE_message:read"));
+
+		@Bean
+		SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http) {
+			// @formatter:off
+			http
+				.authorizeExchange((authorize) -> authorize
+					.pathMatchers("/messages/**").hasAuthority("SCOPE_message:read")
+					.anyExchange().authenticated()
+				)
+				.oauth2ResourceServer((oauth2) -> oauth2
+					.opaqueToken(Customizer.withDefaults())
+				);
+			// @formatter:on
+			return http.build();
+		}
+
+		@Bean
+		ReactiveOpaqueTokenIntrospector introspector() {
+			return (token) -> "active".equals(token) ? Mono.just(PRINCIPAL)
+					: Mono.error(new BadOpaqueTokenException("Provided token isn't active"));
+		}
+
+	}
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.benchmarks.web.server;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+/**
+ * Reports how many Reactor operators are assembled per exchange by the reactive
+ * benchmarks, as counted by {@link ReactiveBenchmarks#verify} during their setup. For
+ * example:
+ *
+ * <pre>
+ * ./gradlew :spring-security-benchmarks:jmh -Pjmh.includes=Reactive \
+ *     -Pjmh.profilers=gc,org.springframework.security.benchmarks.web.server.ReactorOperatorsProfiler
+ * </pre>
+ */
+public class ReactorOperatorsProfiler implements InternalProfiler {
+
+	@Override
+	public String getDescription() {
+		return "Reactor operators assembled per exchange";
+	}
+
+	@Override
+	public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+	}
+
+	@Override
+	public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams,
+			IterationParams iterationParams, IterationResult result) {
+		String benchmark = benchmarkParams.getBenchmark();
+		Long operators = ReactiveBenchmarks.operators(benchmark.substring(benchmark.lastIndexOf('.') + 1));
+		if (operators == null) {
+			return List.of();
+		}
+		return List.of(new ScalarResult("reactor.operators", operators, "operators/exchange", AggregationPolicy.AVG));
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.benchmarks.web.server;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.web.server.firewall.ServerExchangeRejectedException;
+import org.springframework.security.web.server.firewall.StrictServerWebExchangeFirewall;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Benchmarks the URL validation of {@link StrictServerWebExchangeFirewall} for a typical
+ * exchange and for an exchange that is rejected.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g", "-XX:+UseParallelGC" })
+public class StrictServerWebExchangeFirewallBenchmark {
+
+	private final StrictServerWebExchangeFirewall firewall = new StrictServerWebExchangeFirewall();
+
+	@Benchmark
+	public ServerWebExchange allowed() {
+		return this.firewall
+			.getFirewalledExchange(MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/customers/42/orders")))
+			.block();
+	}
+
+	@Benchmark
+	public ServerExchangeRejectedException rejected() {
+		try {
+			this.firewall
+				.getFirewalledExchange(
+						MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/customers/42/../orders")))
+				.block();
+			throw new IllegalStateException("Expected the exchange to be rejected");
+		}
+		catch (ServerExchangeRejectedException ex) {
+			return ex;
+		}
+	}
+
+}
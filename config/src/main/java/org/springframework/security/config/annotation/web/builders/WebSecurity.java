@@ -124,6 +124,8 @@ public final class WebSecurity extends AbstractConfiguredSecurityBuilder<Filter,
 
 	private boolean debugEnabled;
 
+	private boolean indexFilterChains;
+
 	private WebInvocationPrivilegeEvaluator privilegeEvaluator;
 
 	private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
@@ -219,6 +221,20 @@ public final class WebSecurity extends AbstractConfiguredSecurityBuilder<Filter,
 		return this;
 	}
 
+	/**
+	 * Controls whether the {@link SecurityFilterChain}s are indexed by their request
+	 * matcher path prefix, so that only the chains that could match a request are
+	 * evaluated. Chains are still evaluated in the order they are declared.
+	 * @param indexFilterChains if true, indexes the filter chains. Default is false.
+	 * @return the {@link WebSecurity} for further customization.
+	 * @since 7.1
+	 * @see FilterChainProxy#setIndexFilterChains(boolean)
+	 */
+	public WebSecurity indexFilterChains(boolean indexFilterChains) {
+		this.indexFilterChains = indexFilterChains;
+		return this;
+	}
+
 	/**
 	 * <p>
 	 * Adds builders to create {@link SecurityFilterChain} instances.
@@ -351,6 +367,7 @@ public final class WebSecurity extends AbstractConfiguredSecurityBuilder<Filter,
 					new HttpStatusRequestRejectedHandler());
 			filterChainProxy.setRequestRejectedHandler(requestRejectedHandler);
 		}
+		filterChainProxy.setIndexFilterChains(this.indexFilterChains);
 		filterChainProxy.setFilterChainValidator(new WebSecurityFilterChainValidator());
 		filterChainProxy.setFilterChainDecorator(getFilterChainDecorator());
 		filterChainProxy.afterPropertiesSet();
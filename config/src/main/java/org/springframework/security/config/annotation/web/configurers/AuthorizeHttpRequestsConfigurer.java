@@ -197,6 +197,21 @@ public final class AuthorizeHttpRequestsConfigurer<H extends HttpSecurityBuilder
 			return new AuthorizedUrl(requestMatchers, AuthorizeHttpRequestsConfigurer.this.authorizationManagerFactory);
 		}
 
+		/**
+		 * Index the configured {@link RequestMatcher}s by path prefix and HTTP method so
+		 * that only the mappings that could match a request are evaluated. Mappings are
+		 * still evaluated in the order they were declared.
+		 * @param indexed whether to index the mappings, defaults to {@code false}
+		 * @return the {@link AuthorizationManagerRequestMatcherRegistry} for further
+		 * customizations
+		 * @since 7.1
+		 * @see RequestMatcherDelegatingAuthorizationManager.Builder#indexed(boolean)
+		 */
+		public AuthorizationManagerRequestMatcherRegistry indexed(boolean indexed) {
+			this.managerBuilder.indexed(indexed);
+			return this;
+		}
+
 		/**
 		 * Adds an {@link ObjectPostProcessor} for this class.
 		 * @param objectPostProcessor the {@link ObjectPostProcessor} to use
@@ -473,6 +473,7 @@ public final class SessionManagementConfigurer<H extends HttpSecurityBuilder<H>>
 			}
 		}
 		concurrentSessionFilter.setSecurityContextHolderStrategy(getSecurityContextHolderStrategy());
+		registerDelegateApplicationListener(http, concurrentSessionFilter);
 		return concurrentSessionFilter;
 	}
 
@@ -24,6 +24,7 @@ import org.jspecify.annotations.Nullable;
 import org.springframework.security.access.PermissionEvaluator;
 import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
 import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authorization.AuthenticationSnapshot;
 import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.authorization.AuthorizationManagerFactory;
 import org.springframework.security.authorization.AuthorizationResult;
@@ -107,11 +108,17 @@ public abstract class SecurityExpressionRoot<T extends @Nullable Object> impleme
 	 * @since 7.0
 	 */
 	public SecurityExpressionRoot(Supplier<? extends @Nullable Authentication> authentication, T object) {
-		this.authentication = SingletonSupplier.of(() -> {
-			Authentication value = authentication.get();
-			Assert.notNull(value, "Authentication object cannot be null");
-			return value;
-		});
+		if (authentication instanceof AuthenticationSnapshot snapshot) {
+			// already memoized, and keeps the reachable authorities cached
+			this.authentication = snapshot;
+		}
+		else {
+			this.authentication = SingletonSupplier.of(() -> {
+				Authentication value = authentication.get();
+				Assert.notNull(value, "Authentication object cannot be null");
+				return value;
+			});
+		}
 		this.object = object;
 	}
 
@@ -17,6 +17,8 @@
 package org.springframework.security.access.expression.method;
 
 import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -24,6 +26,10 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -37,6 +43,9 @@ import org.springframework.core.log.LogMessage;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.security.access.PermissionCacheOptimizer;
 import org.springframework.security.access.expression.AbstractSecurityExpressionHandler;
@@ -47,6 +56,7 @@ import org.springframework.security.authorization.AuthorizationManagerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.parameters.DefaultSecurityParameterNameDiscoverer;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * The standard implementation of {@code MethodSecurityExpressionHandler}.
@@ -71,10 +81,17 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 
 	private ParameterNameDiscoverer parameterNameDiscoverer = new DefaultSecurityParameterNameDiscoverer();
 
+	private ParameterNameDiscoverer cachingParameterNameDiscoverer = new CachingParameterNameDiscoverer(
+			this.parameterNameDiscoverer);
+
 	private @Nullable PermissionCacheOptimizer permissionCacheOptimizer = null;
 
 	private String defaultRolePrefix = DEFAULT_ROLE_PREFIX;
 
+	private @Nullable Executor filterExecutor;
+
+	private int parallelFilterThreshold = 10_000;
+
 	public DefaultMethodSecurityExpressionHandler() {
 	}
 
@@ -94,7 +111,7 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 			MethodInvocation mi) {
 		MethodSecurityExpressionOperations root = createSecurityExpressionRoot(authentication, mi);
 		MethodSecurityEvaluationContext ctx = new MethodSecurityEvaluationContext(root, mi,
-				getParameterNameDiscoverer());
+				getEvaluationParameterNameDiscoverer());
 		Optional.ofNullable(getBeanResolver()).ifPresent(ctx::setBeanResolver);
 		return ctx;
 	}
@@ -159,12 +176,7 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 		if (this.permissionCacheOptimizer != null) {
 			this.permissionCacheOptimizer.cachePermissionsFor(rootObject.getAuthentication(), filterTarget);
 		}
-		for (T filterObject : filterTarget) {
-			rootObject.setFilterObject(filterObject);
-			if (ExpressionUtils.evaluateAsBoolean(filterExpression, ctx)) {
-				retain.add(filterObject);
-			}
-		}
+		retain(filterTarget, filterExpression, ctx, rootObject, retain);
 		this.logger.debug(LogMessage.format("Retaining elements: %s", retain));
 		try {
 			filterTarget.clear();
@@ -187,12 +199,7 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 			this.permissionCacheOptimizer.cachePermissionsFor(rootObject.getAuthentication(),
 					Arrays.asList(filterTarget));
 		}
-		for (Object filterObject : filterTarget) {
-			rootObject.setFilterObject(filterObject);
-			if (ExpressionUtils.evaluateAsBoolean(filterExpression, ctx)) {
-				retain.add(filterObject);
-			}
-		}
+		retain(Arrays.asList(filterTarget), filterExpression, ctx, rootObject, retain);
 		this.logger.debug(LogMessage.format("Retaining elements: %s", retain));
 		Object[] filtered = (Object[]) Array.newInstance(filterTarget.getClass().getComponentType(), retain.size());
 		for (int i = 0; i < retain.size(); i++) {
@@ -201,6 +208,88 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 		return filtered;
 	}
 
+	private <T> void retain(Collection<T> filterTarget, Expression filterExpression, EvaluationContext ctx,
+			MethodSecurityExpressionOperations rootObject, List<T> retain) {
+		Executor executor = this.filterExecutor;
+		if (executor != null && filterTarget.size() >= this.parallelFilterThreshold
+				&& rootObject.getClass() == MethodSecurityExpressionRoot.class
+				&& ctx.getClass() == MethodSecurityEvaluationContext.class) {
+			List<T> elements = (filterTarget instanceof RandomAccess && filterTarget instanceof List<T> list) ? list
+					: new ArrayList<>(filterTarget);
+			retainInParallel(elements, filterExpression, (MethodSecurityEvaluationContext) ctx,
+					(MethodSecurityExpressionRoot) rootObject, executor, retain);
+			return;
+		}
+		for (T filterObject : filterTarget) {
+			rootObject.setFilterObject(filterObject);
+			if (ExpressionUtils.evaluateAsBoolean(filterExpression, ctx)) {
+				retain.add(filterObject);
+			}
+		}
+	}
+
+	private <T> void retainInParallel(List<T> filterTarget, Expression filterExpression,
+			MethodSecurityEvaluationContext ctx, MethodSecurityExpressionRoot rootObject, Executor executor,
+			List<T> retain) {
+		int size = filterTarget.size();
+		int chunkSize = this.parallelFilterThreshold;
+		List<CompletableFuture<List<T>>> chunks = new ArrayList<>();
+		for (int from = 0; from < size; from += chunkSize) {
+			List<T> chunk = filterTarget.subList(from, Math.min(from + chunkSize, size));
+			chunks.add(CompletableFuture.supplyAsync(() -> {
+				MethodSecurityExpressionRoot chunkRoot = copySecurityExpressionRoot(rootObject);
+				EvaluationContext chunkCtx = createFilterEvaluationContext(chunkRoot, ctx);
+				List<T> retained = new ArrayList<>(chunk.size());
+				for (T filterObject : chunk) {
+					chunkRoot.setFilterObject(filterObject);
+					if (ExpressionUtils.evaluateAsBoolean(filterExpression, chunkCtx)) {
+						retained.add(filterObject);
+					}
+				}
+				return retained;
+			}, executor));
+		}
+		try {
+			for (CompletableFuture<List<T>> chunk : chunks) {
+				retain.addAll(chunk.join());
+			}
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw ex;
+		}
+	}
+
+	private MethodSecurityExpressionRoot copySecurityExpressionRoot(MethodSecurityExpressionRoot rootObject) {
+		MethodSecurityExpressionRoot copy = (MethodSecurityExpressionRoot) createSecurityExpressionRoot(
+				rootObject::getAuthentication, rootObject.getMethodInvocation());
+		copy.setReturnObject(rootObject.getReturnObject());
+		return copy;
+	}
+
+	/**
+	 * Create a context for one chunk that evaluates like {@code parent}: it shares its
+	 * resolvers and accessors, and looks up any variable it does not define itself in
+	 * {@code parent}.
+	 */
+	private EvaluationContext createFilterEvaluationContext(MethodSecurityExpressionRoot rootObject,
+			MethodSecurityEvaluationContext parent) {
+		MethodSecurityEvaluationContext ctx = new MethodSecurityEvaluationContext(rootObject,
+				rootObject.getMethodInvocation(), getEvaluationParameterNameDiscoverer()) {
+
+			@Override
+			public @Nullable Object lookupVariable(String name) {
+				Object variable = super.lookupVariable(name);
+				return (variable != null) ? variable : parent.lookupVariable(name);
+			}
+
+		};
+		parent.applyDelegatesTo(ctx);
+		return ctx;
+	}
+
 	private <K, V> Object filterMap(Map<K, V> filterTarget, Expression filterExpression, EvaluationContext ctx,
 			MethodSecurityExpressionOperations rootObject) {
 		Map<K, V> retain = new LinkedHashMap<>(filterTarget.size());
@@ -265,6 +354,7 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 	 */
 	public void setParameterNameDiscoverer(ParameterNameDiscoverer parameterNameDiscoverer) {
 		this.parameterNameDiscoverer = parameterNameDiscoverer;
+		this.cachingParameterNameDiscoverer = new CachingParameterNameDiscoverer(parameterNameDiscoverer);
 	}
 
 	/**
@@ -274,6 +364,66 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 		return this.parameterNameDiscoverer;
 	}
 
+	private ParameterNameDiscoverer getEvaluationParameterNameDiscoverer() {
+		ParameterNameDiscoverer parameterNameDiscoverer = getParameterNameDiscoverer();
+		return (parameterNameDiscoverer != this.parameterNameDiscoverer) ? parameterNameDiscoverer
+				: this.cachingParameterNameDiscoverer;
+	}
+
+	/**
+	 * Sets the {@link SpelCompilerMode} to parse expressions with. With
+	 * {@link SpelCompilerMode#MIXED}, an expression that has been evaluated a few times is
+	 * compiled to bytecode and falls back to interpretation whenever the compiled form no
+	 * longer applies, for example because an argument has a different type. With
+	 * {@link SpelCompilerMode#IMMEDIATE}, an expression is compiled after its first
+	 * evaluation and evaluation fails if the compiled form no longer applies.
+	 *
+	 * <p>
+	 * This replaces the {@link #setExpressionParser expression parser} and so needs to be
+	 * called before any expression is parsed. By default, expressions are interpreted
+	 * unless the {@code spring.expression.compiler.mode} property says otherwise.
+	 * @param compilerMode the {@link SpelCompilerMode} to use
+	 * @since 7.1
+	 */
+	public void setCompilerMode(SpelCompilerMode compilerMode) {
+		Assert.notNull(compilerMode, "compilerMode cannot be null");
+		setExpressionParser(new SpelExpressionParser(new SpelParserConfiguration(compilerMode, null)));
+	}
+
+	/**
+	 * Sets the {@link Executor} to filter large collections and arrays with. When set,
+	 * filter targets of at least {@link #setParallelFilterThreshold(int) the threshold}
+	 * are split into chunks of that many elements, each of which is evaluated on the
+	 * {@code executor} with its own copy of the expression root object. Each chunk's
+	 * context uses the variables, bean resolver and other delegates of the original
+	 * context. The elements that are retained keep their order.
+	 *
+	 * <p>
+	 * Since expressions may consult the {@code SecurityContext}, the {@code executor}
+	 * should propagate it, for example by being a
+	 * {@link org.springframework.security.concurrent.DelegatingSecurityContextExecutor}.
+	 * By default, filter targets are evaluated on the calling thread.
+	 * @param filterExecutor the {@link Executor} to use
+	 * @since 7.1
+	 */
+	public void setFilterExecutor(Executor filterExecutor) {
+		Assert.notNull(filterExecutor, "filterExecutor cannot be null");
+		this.filterExecutor = filterExecutor;
+	}
+
+	/**
+	 * Sets the number of elements from which a filter target is evaluated in parallel, and
+	 * the number of elements in each chunk that is evaluated in parallel. Only applies
+	 * when a {@link #setFilterExecutor(Executor) filter executor} is set. The default is
+	 * 10,000.
+	 * @param parallelFilterThreshold the number of elements, greater than zero
+	 * @since 7.1
+	 */
+	public void setParallelFilterThreshold(int parallelFilterThreshold) {
+		Assert.isTrue(parallelFilterThreshold > 0, "parallelFilterThreshold must be greater than zero");
+		this.parallelFilterThreshold = parallelFilterThreshold;
+	}
+
 	public void setPermissionCacheOptimizer(PermissionCacheOptimizer permissionCacheOptimizer) {
 		this.permissionCacheOptimizer = permissionCacheOptimizer;
 	}
@@ -324,4 +474,36 @@ public class DefaultMethodSecurityExpressionHandler extends AbstractSecurityExpr
 		return this.defaultRolePrefix;
 	}
 
+	/**
+	 * Remembers the parameter names of each method, since looking up the annotations that
+	 * name them is repeated for every evaluation of an expression otherwise.
+	 */
+	private static final class CachingParameterNameDiscoverer implements ParameterNameDiscoverer {
+
+		private static final String[] NO_PARAMETER_NAMES = new String[0];
+
+		private final ParameterNameDiscoverer delegate;
+
+		private final Map<Method, String[]> parameterNames = new ConcurrentReferenceHashMap<>();
+
+		private CachingParameterNameDiscoverer(ParameterNameDiscoverer delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public String @Nullable [] getParameterNames(Method method) {
+			String[] parameterNames = this.parameterNames.computeIfAbsent(method, (m) -> {
+				String[] names = this.delegate.getParameterNames(m);
+				return (names != null) ? names : NO_PARAMETER_NAMES;
+			});
+			return (parameterNames != NO_PARAMETER_NAMES) ? parameterNames : null;
+		}
+
+		@Override
+		public String @Nullable [] getParameterNames(Constructor<?> ctor) {
+			return this.delegate.getParameterNames(ctor);
+		}
+
+	}
+
 }
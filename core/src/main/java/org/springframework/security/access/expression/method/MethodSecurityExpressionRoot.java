@@ -41,9 +41,12 @@ class MethodSecurityExpressionRoot extends SecurityExpressionRoot<MethodInvocati
 
 	private @Nullable Object target;
 
+	private final MethodInvocation methodInvocation;
+
 	MethodSecurityExpressionRoot(Supplier<? extends @Nullable Authentication> authentication,
 			MethodInvocation methodInvocation) {
 		super(authentication, methodInvocation);
+		this.methodInvocation = methodInvocation;
 	}
 
 	@Override
@@ -81,4 +84,8 @@ class MethodSecurityExpressionRoot extends SecurityExpressionRoot<MethodInvocati
 		return this.target;
 	}
 
+	MethodInvocation getMethodInvocation() {
+		return this.methodInvocation;
+	}
+
 }
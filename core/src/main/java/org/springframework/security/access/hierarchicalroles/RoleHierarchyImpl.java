@@ -17,15 +17,21 @@
 package org.springframework.security.access.hierarchicalroles;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
 
 import org.springframework.core.log.LogMessage;
 import org.springframework.security.core.GrantedAuthority;
@@ -75,6 +81,12 @@ import org.springframework.util.Assert;
  * In addition to shorter rules this will also make your access rules more readable and
  * your intentions clearer.
  *
+ * <p>
+ * The expansions of the most recently seen lists of authority names are cached, so that
+ * authorization checks for users holding the same authorities do not expand the
+ * hierarchy again. Each result still contains the caller's own {@link GrantedAuthority}
+ * instances.
+ *
  * @author Michael Mayr
  * @author Josh Cummings
  */
@@ -82,14 +94,34 @@ public final class RoleHierarchyImpl implements RoleHierarchy {
 
 	private static final Log logger = LogFactory.getLog(RoleHierarchyImpl.class);
 
+	private static final int CACHE_SIZE = 256;
+
 	/**
 	 * {@code rolesReachableInOneOrMoreStepsMap} is a Map that under the key of a specific
 	 * role name contains a set of all roles reachable from this role in 1 or more steps
 	 */
 	private final Map<String, Set<GrantedAuthority>> rolesReachableInOneOrMoreStepsMap;
 
+	/**
+	 * {@code roleIndexes} assigns each role named in the hierarchy a bit in the
+	 * {@link BitSet} of reachable roles
+	 */
+	private final Map<String, Integer> roleIndexes;
+
+	/**
+	 * {@code roleIndexesReachableInOneOrMoreSteps} holds the same roles as
+	 * {@code rolesReachableInOneOrMoreStepsMap} as bits of {@code roleIndexes}
+	 */
+	private final Map<String, BitSet> roleIndexesReachableInOneOrMoreSteps;
+
+	private final AtomicReferenceArray<@Nullable ReachableRoles> cache = new AtomicReferenceArray<>(
+			CACHE_SIZE);
+
 	private RoleHierarchyImpl(Map<String, Set<GrantedAuthority>> hierarchy) {
 		this.rolesReachableInOneOrMoreStepsMap = buildRolesReachableInOneOrMoreStepsMap(hierarchy);
+		this.roleIndexes = new HashMap<>();
+		this.roleIndexesReachableInOneOrMoreSteps = buildRoleIndexesReachableInOneOrMoreSteps(
+				this.rolesReachableInOneOrMoreStepsMap, this.roleIndexes);
 	}
 
 	/**
@@ -137,35 +169,130 @@ public final class RoleHierarchyImpl implements RoleHierarchy {
 		if (authorities == null || authorities.isEmpty()) {
 			return AuthorityUtils.NO_AUTHORITIES;
 		}
-		Set<GrantedAuthority> reachableRoles = new HashSet<>();
+		ReachableRoles reachable = getReachableRoles(authorities);
+		List<GrantedAuthority> reachableRoles = new ArrayList<>(reachable.size());
+		int i = 0;
+		for (GrantedAuthority authority : authorities) {
+			if (reachable.kept.get(i++)) {
+				reachableRoles.add(authority);
+			}
+		}
+		reachableRoles.addAll(reachable.implied);
+		logger.debug(LogMessage.format(
+				"getReachableGrantedAuthorities() - From the roles %s one can reach %s in zero or more steps.",
+				authorities, reachableRoles));
+		return reachableRoles;
+	}
+
+	/**
+	 * Determines whether any of the given role names can be reached from the given
+	 * authorities. Each role name that is part of the hierarchy is checked in constant
+	 * time against the cached reachable roles of {@code authorities}.
+	 * @param authorities the authorities to start from
+	 * @param roles the role names to look for
+	 * @return {@code true} if at least one of {@code roles} is reachable
+	 * @since 7.1
+	 */
+	public boolean hasAnyReachableAuthority(Collection<? extends GrantedAuthority> authorities,
+			Collection<String> roles) {
+		if (authorities == null || authorities.isEmpty()) {
+			return false;
+		}
+		ReachableRoles reachable = getReachableRoles(authorities);
+		for (String role : roles) {
+			Integer index = this.roleIndexes.get(role);
+			if ((index != null) ? reachable.roles.get(index) : reachable.unindexed.contains(role)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private ReachableRoles getReachableRoles(Collection<? extends GrantedAuthority> authorities) {
+		int fingerprint = 1;
+		for (GrantedAuthority authority : authorities) {
+			String name = authority.getAuthority();
+			if (name == null) {
+				// the result must hold this very instance, so it cannot be shared
+				return computeReachableRoles(authorities, 0);
+			}
+			fingerprint = 31 * fingerprint + name.hashCode();
+		}
+		int slot = (fingerprint ^ (fingerprint >>> 16)) & (CACHE_SIZE - 1);
+		ReachableRoles cached = this.cache.get(slot);
+		if (cached != null && cached.isFor(fingerprint, authorities)) {
+			return cached;
+		}
+		ReachableRoles reachable = computeReachableRoles(authorities, fingerprint);
+		this.cache.set(slot, reachable);
+		return reachable;
+	}
+
+	private ReachableRoles computeReachableRoles(Collection<? extends GrantedAuthority> authorities, int fingerprint) {
+		String[] names = new String[authorities.size()];
+		BitSet kept = new BitSet(names.length);
+		List<GrantedAuthority> implied = new ArrayList<>();
 		Set<String> processedNames = new HashSet<>();
+		BitSet roles = new BitSet(this.roleIndexes.size());
+		Set<String> unindexed = new HashSet<>();
+		int i = 0;
 		for (GrantedAuthority authority : authorities) {
+			int position = i++;
+			String name = authority.getAuthority();
+			names[position] = name;
 			// Do not process authorities without string representation
-			if (authority.getAuthority() == null) {
-				reachableRoles.add(authority);
+			if (name == null) {
+				kept.set(position);
 				continue;
 			}
 			// Do not process already processed roles
-			if (!processedNames.add(authority.getAuthority())) {
+			if (!processedNames.add(name)) {
 				continue;
 			}
 			// Add original authority
-			reachableRoles.add(authority);
+			kept.set(position);
+			Integer index = this.roleIndexes.get(name);
+			if (index == null) {
+				unindexed.add(name);
+				continue; // No hierarchy for the role
+			}
+			roles.set(index);
 			// Add roles reachable in one or more steps
-			Set<GrantedAuthority> lowerRoles = this.rolesReachableInOneOrMoreStepsMap.get(authority.getAuthority());
+			Set<GrantedAuthority> lowerRoles = this.rolesReachableInOneOrMoreStepsMap.get(name);
 			if (lowerRoles == null) {
-				continue; // No hierarchy for the role
+				continue; // No roles below the role
 			}
 			for (GrantedAuthority role : lowerRoles) {
 				if (processedNames.add(role.getAuthority())) {
-					reachableRoles.add(role);
+					implied.add(role);
 				}
 			}
+			BitSet lowerRoleIndexes = this.roleIndexesReachableInOneOrMoreSteps.get(name);
+			if (lowerRoleIndexes != null) {
+				roles.or(lowerRoleIndexes);
+			}
 		}
-		logger.debug(LogMessage.format(
-				"getReachableGrantedAuthorities() - From the roles %s one can reach %s in zero or more steps.",
-				authorities, reachableRoles));
-		return new ArrayList<>(reachableRoles);
+		return new ReachableRoles(fingerprint, names, kept, implied, roles, unindexed);
+	}
+
+	/**
+	 * Assign every role that appears in the hierarchy, either as a higher or as a lower
+	 * role, its own index in {@code roleIndexes} and translate the map of roles reachable
+	 * in one or more steps into sets of those indexes.
+	 */
+	private static Map<String, BitSet> buildRoleIndexesReachableInOneOrMoreSteps(
+			Map<String, Set<GrantedAuthority>> rolesReachableInOneOrMoreStepsMap, Map<String, Integer> roleIndexes) {
+		Map<String, BitSet> roleIndexesReachableInOneOrMoreSteps = new HashMap<>();
+		for (Map.Entry<String, Set<GrantedAuthority>> entry : rolesReachableInOneOrMoreStepsMap.entrySet()) {
+			roleIndexes.computeIfAbsent(entry.getKey(), (role) -> roleIndexes.size());
+			BitSet lowerRoleIndexes = new BitSet();
+			for (GrantedAuthority lowerRole : entry.getValue()) {
+				int index = roleIndexes.computeIfAbsent(lowerRole.getAuthority(), (role) -> roleIndexes.size());
+				lowerRoleIndexes.set(index);
+			}
+			roleIndexesReachableInOneOrMoreSteps.put(entry.getKey(), lowerRoleIndexes);
+		}
+		return roleIndexesReachableInOneOrMoreSteps;
 	}
 
 	/**
@@ -230,6 +357,53 @@ public final class RoleHierarchyImpl implements RoleHierarchy {
 		return rolesReachableInOneOrMoreStepsMap;
 	}
 
+	/**
+	 * The roles reachable from a list of authority names: which of the given authorities
+	 * are kept, which roles the hierarchy adds to them, and the same as role indexes.
+	 */
+	private static final class ReachableRoles {
+
+		private final int fingerprint;
+
+		private final @Nullable String[] names;
+
+		private final BitSet kept;
+
+		private final List<GrantedAuthority> implied;
+
+		private final BitSet roles;
+
+		private final Set<String> unindexed;
+
+		private ReachableRoles(int fingerprint, @Nullable String[] names, BitSet kept, List<GrantedAuthority> implied,
+				BitSet roles, Set<String> unindexed) {
+			this.fingerprint = fingerprint;
+			this.names = names;
+			this.kept = kept;
+			this.implied = Collections.unmodifiableList(implied);
+			this.roles = roles;
+			this.unindexed = unindexed;
+		}
+
+		private int size() {
+			return this.kept.cardinality() + this.implied.size();
+		}
+
+		private boolean isFor(int fingerprint, Collection<? extends GrantedAuthority> authorities) {
+			if (this.fingerprint != fingerprint || this.names.length != authorities.size()) {
+				return false;
+			}
+			int i = 0;
+			for (GrantedAuthority authority : authorities) {
+				if (i == this.names.length || !Objects.equals(authority.getAuthority(), this.names[i++])) {
+					return false;
+				}
+			}
+			return i == this.names.length;
+		}
+
+	}
+
 	/**
 	 * Builder class for constructing a {@link RoleHierarchyImpl} based on a hierarchical
 	 * role structure.
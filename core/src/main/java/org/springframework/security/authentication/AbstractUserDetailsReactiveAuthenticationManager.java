@@ -29,6 +29,7 @@ import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.security.authentication.password.CompromisedPasswordChecker;
 import org.springframework.security.authentication.password.CompromisedPasswordDecision;
 import org.springframework.security.authentication.password.CompromisedPasswordException;
+import org.springframework.security.authentication.password.PasswordVerificationExecutor;
 import org.springframework.security.authentication.password.ReactiveCompromisedPasswordChecker;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.SpringSecurityMessageSource;
@@ -71,6 +72,8 @@ public abstract class AbstractUserDetailsReactiveAuthenticationManager
 
 	private @Nullable ReactiveCompromisedPasswordChecker compromisedPasswordChecker;
 
+	private @Nullable PasswordVerificationExecutor passwordVerificationExecutor;
+
 	private void defaultPreAuthenticationChecks(UserDetails user) {
 		if (!user.isAccountNonLocked()) {
 			this.logger.debug("User account is locked");
@@ -105,8 +108,7 @@ public abstract class AbstractUserDetailsReactiveAuthenticationManager
 		// @formatter:off
 		return retrieveUser(username)
 				.doOnNext(this.preAuthenticationChecks::check)
-				.publishOn(this.scheduler)
-				.filter((userDetails) -> this.passwordEncoder.matches(presentedPassword, userDetails.getPassword()))
+				.transform((user) -> matches(user, presentedPassword))
 				.switchIfEmpty(Mono.defer(() -> Mono.error(new BadCredentialsException("Invalid Credentials"))))
 				.flatMap((userDetails) -> checkCompromisedPassword(presentedPassword).thenReturn(userDetails))
 				.flatMap((userDetails) -> upgradeEncodingIfNecessary(userDetails, presentedPassword))
@@ -115,6 +117,18 @@ public abstract class AbstractUserDetailsReactiveAuthenticationManager
 		// @formatter:on
 	}
 
+	private Mono<UserDetails> matches(Mono<UserDetails> user, @Nullable String presentedPassword) {
+		PasswordVerificationExecutor executor = this.passwordVerificationExecutor;
+		if (executor == null) {
+			return user.publishOn(this.scheduler)
+				.filter((userDetails) -> this.passwordEncoder.matches(presentedPassword, userDetails.getPassword()));
+		}
+		return user
+			.filterWhen((userDetails) -> Mono.defer(() -> Mono
+				.fromFuture(executor.matchesAsync(this.passwordEncoder, presentedPassword, userDetails.getPassword()))))
+			.publishOn(this.scheduler);
+	}
+
 	private Mono<Void> checkCompromisedPassword(@Nullable String password) {
 		if (this.compromisedPasswordChecker == null) {
 			return Mono.empty();
@@ -168,6 +182,21 @@ public abstract class AbstractUserDetailsReactiveAuthenticationManager
 		this.scheduler = scheduler;
 	}
 
+	/**
+	 * Sets the {@link PasswordVerificationExecutor} on which presented passwords are
+	 * verified instead of the {@link #setScheduler(Scheduler) scheduler}. Authentication
+	 * then continues on the {@link #setScheduler(Scheduler) scheduler}, so that the
+	 * executor threads only verify passwords. When the executor is saturated,
+	 * authentication fails with an {@link AuthenticationServiceException} without
+	 * verifying the password. Defaults to {@code null}.
+	 * @param passwordVerificationExecutor the {@link PasswordVerificationExecutor} to use
+	 * @since 7.1
+	 */
+	public void setPasswordVerificationExecutor(PasswordVerificationExecutor passwordVerificationExecutor) {
+		Assert.notNull(passwordVerificationExecutor, "passwordVerificationExecutor cannot be null");
+		this.passwordVerificationExecutor = passwordVerificationExecutor;
+	}
+
 	/**
 	 * Sets the service to use for upgrading passwords on successful authentication.
 	 * @param userDetailsPasswordService the service to use
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authentication;
+
+import io.micrometer.common.KeyValues;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationConvention;
+import io.micrometer.observation.ObservationRegistry;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.util.Assert;
+
+/**
+ * An {@link AuthenticationProvider} that observes each authentication attempt of the
+ * provider it delegates to, so that the latency of the individual providers of a
+ * {@link ProviderManager} can be told apart from the overall authentication observed by
+ * {@link ObservationAuthenticationManager}.
+ *
+ * <p>
+ * By default, the observations are named {@code spring.security.authentication.providers}
+ * and carry the same key values as those of {@link AuthenticationObservationConvention},
+ * with {@code authentication.method} naming the provider.
+ *
+ * @since 7.1
+ */
+public final class ObservationAuthenticationProvider implements AuthenticationProvider {
+
+	private final ObservationRegistry registry;
+
+	private final AuthenticationProvider delegate;
+
+	private ObservationConvention<AuthenticationObservationContext> convention = new ProviderObservationConvention();
+
+	public ObservationAuthenticationProvider(ObservationRegistry registry, AuthenticationProvider delegate) {
+		Assert.notNull(registry, "observationRegistry cannot be null");
+		Assert.notNull(delegate, "authenticationProvider cannot be null");
+		this.registry = registry;
+		this.delegate = delegate;
+	}
+
+	@Override
+	@SuppressWarnings("NullAway") // Dataflow analysis limitation
+	public @Nullable Authentication authenticate(Authentication authentication) throws AuthenticationException {
+		AuthenticationObservationContext context = new AuthenticationObservationContext();
+		context.setAuthenticationRequest(authentication);
+		context.setAuthenticationManagerClass(this.delegate.getClass());
+		return Observation.createNotStarted(this.convention, () -> context, this.registry).observe(() -> {
+			Authentication result = this.delegate.authenticate(authentication);
+			if (result != null) {
+				context.setAuthenticationResult(result);
+			}
+			return result;
+		});
+	}
+
+	@Override
+	public boolean supports(Class<?> authentication) {
+		return this.delegate.supports(authentication);
+	}
+
+	/**
+	 * Use the provided convention for reporting observation data
+	 * @param convention The provided convention
+	 */
+	public void setObservationConvention(ObservationConvention<AuthenticationObservationContext> convention) {
+		Assert.notNull(convention, "The observation convention cannot be null");
+		this.convention = convention;
+	}
+
+	private static final class ProviderObservationConvention
+			implements ObservationConvention<AuthenticationObservationContext> {
+
+		private final AuthenticationObservationConvention delegate = new AuthenticationObservationConvention();
+
+		@Override
+		public String getName() {
+			return "spring.security.authentication.providers";
+		}
+
+		@Override
+		public String getContextualName(AuthenticationObservationContext context) {
+			return this.delegate.getContextualName(context);
+		}
+
+		@Override
+		public KeyValues getLowCardinalityKeyValues(AuthenticationObservationContext context) {
+			return this.delegate.getLowCardinalityKeyValues(context);
+		}
+
+		@Override
+		public boolean supportsContext(Observation.Context context) {
+			return this.delegate.supportsContext(context);
+		}
+
+	}
+
+}
@@ -16,9 +16,17 @@
 
 package org.springframework.security.authentication;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -102,6 +110,10 @@ public class ProviderManager implements AuthenticationManager, MessageSourceAwar
 
 	private boolean eraseCredentialsAfterAuthentication = true;
 
+	private @Nullable Executor providerExecutor;
+
+	private @Nullable Duration providerTimeout;
+
 	/**
 	 * Construct a {@link ProviderManager} using the given {@link AuthenticationProvider}s
 	 * @param providers the {@link AuthenticationProvider}s to use
@@ -171,44 +183,62 @@ public class ProviderManager implements AuthenticationManager, MessageSourceAwar
 		Authentication parentResult = null;
 		int currentPosition = 0;
 		int size = this.providers.size();
-		for (AuthenticationProvider provider : getProviders()) {
-			if (!provider.supports(toTest)) {
-				continue;
-			}
-			if (logger.isTraceEnabled()) {
-				logger.trace(LogMessage.format("Authenticating request with %s (%d/%d)",
-						provider.getClass().getSimpleName(), ++currentPosition, size));
-			}
+		Executor providerExecutor = this.providerExecutor;
+		if (providerExecutor != null) {
 			try {
-				result = provider.authenticate(authentication);
-				if (result != null) {
-					copyDetails(authentication, result);
-					break;
-				}
-			}
-			catch (AccountStatusException ex) {
-				prepareException(ex, authentication);
-				logger.debug(LogMessage.format("Authentication failed for user '%s' since their account status is %s",
-						authentication.getName(), ex.getMessage()), ex);
-				// SEC-546: Avoid polling additional providers if auth failure is due to
-				// invalid account status
-				throw ex;
+				result = authenticateConcurrently(authentication, toTest, providerExecutor);
 			}
-			catch (InternalAuthenticationServiceException ex) {
+			catch (AccountStatusException | InternalAuthenticationServiceException ex) {
 				prepareException(ex, authentication);
-				logger.debug(LogMessage.format("Authentication service failed internally for user '%s'",
-						authentication.getName()), ex);
-				// SEC-546: Avoid polling additional providers if auth failure is due to
-				// invalid account status
+				logger.debug(LogMessage.format("Authentication failed for user '%s' since %s", authentication.getName(),
+						ex.getMessage()), ex);
 				throw ex;
 			}
 			catch (AuthenticationException ex) {
-				ex.setAuthenticationRequest(authentication);
-				logger.debug(LogMessage.format("Authentication failed with provider %s since %s",
-						provider.getClass().getSimpleName(), ex.getMessage()));
 				lastException = ex;
 			}
 		}
+		else {
+			for (AuthenticationProvider provider : getProviders()) {
+				if (!provider.supports(toTest)) {
+					continue;
+				}
+				if (logger.isTraceEnabled()) {
+					logger.trace(LogMessage.format("Authenticating request with %s (%d/%d)",
+							provider.getClass().getSimpleName(), ++currentPosition, size));
+				}
+				try {
+					result = provider.authenticate(authentication);
+					if (result != null) {
+						copyDetails(authentication, result);
+						break;
+					}
+				}
+				catch (AccountStatusException ex) {
+					prepareException(ex, authentication);
+					logger.debug(LogMessage.format(
+							"Authentication failed for user '%s' since their account status is %s",
+							authentication.getName(), ex.getMessage()), ex);
+					// SEC-546: Avoid polling additional providers if auth failure is due to
+					// invalid account status
+					throw ex;
+				}
+				catch (InternalAuthenticationServiceException ex) {
+					prepareException(ex, authentication);
+					logger.debug(LogMessage.format("Authentication service failed internally for user '%s'",
+							authentication.getName()), ex);
+					// SEC-546: Avoid polling additional providers if auth failure is due to
+					// invalid account status
+					throw ex;
+				}
+				catch (AuthenticationException ex) {
+					ex.setAuthenticationRequest(authentication);
+					logger.debug(LogMessage.format("Authentication failed with provider %s since %s",
+							provider.getClass().getSimpleName(), ex.getMessage()));
+					lastException = ex;
+				}
+			}
+		}
 		if (result == null && this.parent != null) {
 			// Allow the parent to try.
 			try {
@@ -265,6 +295,115 @@ public class ProviderManager implements AuthenticationManager, MessageSourceAwar
 		throw lastException;
 	}
 
+	private @Nullable Authentication authenticateConcurrently(Authentication authentication,
+			Class<? extends Authentication> toTest, Executor executor) {
+		List<AuthenticationProvider> providers = new ArrayList<>();
+		for (AuthenticationProvider provider : getProviders()) {
+			if (provider.supports(toTest)) {
+				providers.add(provider);
+			}
+		}
+		if (providers.isEmpty()) {
+			return null;
+		}
+		Duration timeout = this.providerTimeout;
+		if (providers.size() == 1 && timeout == null) {
+			return authenticate(providers.get(0), authentication);
+		}
+		CompletionService<Attempt> completionService = new ExecutorCompletionService<>(executor);
+		List<Future<Attempt>> futures = new ArrayList<>(providers.size());
+		@Nullable Attempt[] attempts = new Attempt[providers.size()];
+		long deadline = (timeout != null) ? System.nanoTime() + timeout.toNanos() : 0;
+		try {
+			for (int i = 0; i < providers.size(); i++) {
+				int index = i;
+				AuthenticationProvider provider = providers.get(i);
+				futures.add(completionService.submit(() -> attempt(index, provider, authentication)));
+			}
+			// SEC-546: a provider's response is only used once every provider before it
+			// has failed, so that the result is the same as trying them in order
+			int next = 0;
+			while (next < attempts.length) {
+				Attempt attempt = attempts[next];
+				if (attempt == null) {
+					Future<Attempt> completed = (timeout != null)
+							? completionService.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)
+							: completionService.take();
+					if (completed == null) {
+						for (int i = next; i < attempts.length; i++) {
+							if (attempts[i] == null) {
+								attempts[i] = new Attempt(i, null, new AuthenticationServiceException(
+										providers.get(i).getClass().getSimpleName() + " did not respond within "
+												+ timeout));
+							}
+						}
+					}
+					else {
+						Attempt done = completed.get();
+						attempts[done.index()] = done;
+					}
+					continue;
+				}
+				Authentication result = attempt.result();
+				if (result != null) {
+					return result;
+				}
+				AuthenticationException failure = attempt.failure();
+				if (failure instanceof AccountStatusException
+						|| failure instanceof InternalAuthenticationServiceException) {
+					throw failure;
+				}
+				next++;
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new AuthenticationServiceException("Interrupted while waiting for the AuthenticationProviders", ex);
+		}
+		catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (ex.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw new IllegalStateException(ex.getCause());
+		}
+		finally {
+			for (Future<Attempt> future : futures) {
+				future.cancel(true);
+			}
+		}
+		for (int i = attempts.length - 1; i >= 0; i--) {
+			Attempt attempt = attempts[i];
+			AuthenticationException failure = (attempt != null) ? attempt.failure() : null;
+			if (failure != null) {
+				failure.setAuthenticationRequest(authentication);
+				throw failure;
+			}
+		}
+		return null;
+	}
+
+	private Attempt attempt(int index, AuthenticationProvider provider, Authentication authentication) {
+		try {
+			return new Attempt(index, authenticate(provider, authentication), null);
+		}
+		catch (AuthenticationException ex) {
+			logger.debug(LogMessage.format("Authentication failed with provider %s since %s",
+					provider.getClass().getSimpleName(), ex.getMessage()));
+			return new Attempt(index, null, ex);
+		}
+	}
+
+	private @Nullable Authentication authenticate(AuthenticationProvider provider, Authentication authentication) {
+		Authentication result = provider.authenticate(authentication);
+		if (result != null) {
+			copyDetails(authentication, result);
+		}
+		return result;
+	}
+
 	@SuppressWarnings("deprecation")
 	private void prepareException(AuthenticationException ex, Authentication auth) {
 		ex.setAuthenticationRequest(auth);
@@ -313,6 +452,53 @@ public class ProviderManager implements AuthenticationManager, MessageSourceAwar
 		return this.eraseCredentialsAfterAuthentication;
 	}
 
+	/**
+	 * Sets the {@link Executor} on which the {@link AuthenticationProvider}s that support
+	 * an {@link Authentication} request are tried at the same time rather than one after
+	 * the other. The result is the same as trying them in order: the response of a
+	 * provider is only used once every provider before it in the list has failed, so the
+	 * first provider to return a non-null response determines the result, unless an
+	 * earlier provider throws an {@link AccountStatusException} or an
+	 * {@link InternalAuthenticationServiceException}, which is thrown instead. If every
+	 * provider fails, the exception of the last provider in the list is used. Once the
+	 * result is known, the providers that are still running are cancelled.
+	 * <p>
+	 * This suits lists of providers that each call a different remote system, where
+	 * waiting for one to fail before trying the next adds up their latencies. Defaults
+	 * to {@code null}, meaning that providers are tried in order on the calling thread.
+	 * <p>
+	 * <b>NOTE:</b> Providers run on the threads of the executor, without the state bound
+	 * to the calling thread, such as the
+	 * {@link org.springframework.security.core.context.SecurityContextHolder},
+	 * {@code RequestContextHolder} or {@code LocaleContextHolder}, unless the executor
+	 * propagates it, for example a
+	 * {@link org.springframework.security.concurrent.DelegatingSecurityContextExecutor}.
+	 * Providers are cancelled with {@link Future#cancel(boolean) cancel(true)}, which
+	 * interrupts their threads, so blocking calls in progress, such as JDBC queries or
+	 * LDAP binds, may be interrupted and fail.
+	 * @param providerExecutor the {@link Executor} to use
+	 * @since 7.1
+	 */
+	public void setProviderExecutor(Executor providerExecutor) {
+		Assert.notNull(providerExecutor, "providerExecutor cannot be null");
+		this.providerExecutor = providerExecutor;
+	}
+
+	/**
+	 * Sets how long to wait for the {@link AuthenticationProvider}s when they are tried
+	 * on the {@link #setProviderExecutor(Executor) provider executor}. Providers that do
+	 * not respond in time are cancelled and fail with an
+	 * {@link AuthenticationServiceException}. Defaults to {@code null}, meaning that
+	 * there is no time limit.
+	 * @param providerTimeout the maximum time to wait
+	 * @since 7.1
+	 */
+	public void setProviderTimeout(Duration providerTimeout) {
+		Assert.notNull(providerTimeout, "providerTimeout cannot be null");
+		Assert.isTrue(!providerTimeout.isNegative() && !providerTimeout.isZero(), "providerTimeout must be positive");
+		this.providerTimeout = providerTimeout;
+	}
+
 	private static final class NullEventPublisher implements AuthenticationEventPublisher {
 
 		@Override
@@ -325,4 +511,8 @@ public class ProviderManager implements AuthenticationManager, MessageSourceAwar
 
 	}
 
+	private record Attempt(int index, @Nullable Authentication result, @Nullable AuthenticationException failure) {
+
+	}
+
 }
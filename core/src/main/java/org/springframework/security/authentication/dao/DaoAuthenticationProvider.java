@@ -27,6 +27,7 @@ import org.springframework.security.authentication.InternalAuthenticationService
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.authentication.password.CompromisedPasswordChecker;
 import org.springframework.security.authentication.password.CompromisedPasswordException;
+import org.springframework.security.authentication.password.PasswordVerificationExecutor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -72,6 +73,12 @@ public class DaoAuthenticationProvider extends AbstractUserDetailsAuthentication
 
 	private @Nullable CompromisedPasswordChecker compromisedPasswordChecker;
 
+	private @Nullable PasswordVerificationExecutor passwordVerificationExecutor;
+
+	private @Nullable VerifiedCredentialsCache verifiedCredentialsCache;
+
+	private @Nullable PasswordUpgradePipeline passwordUpgradePipeline;
+
 	public DaoAuthenticationProvider(UserDetailsService userDetailsService) {
 		Assert.notNull(userDetailsService, "userDetailsService cannot be null");
 		this.userDetailsService = userDetailsService;
@@ -86,11 +93,18 @@ public class DaoAuthenticationProvider extends AbstractUserDetailsAuthentication
 				.getMessage("AbstractUserDetailsAuthenticationProvider.badCredentials", "Bad credentials"));
 		}
 		String presentedPassword = authentication.getCredentials().toString();
-		if (!this.passwordEncoder.get().matches(presentedPassword, userDetails.getPassword())) {
+		VerifiedCredentialsCache verifiedCredentialsCache = this.verifiedCredentialsCache;
+		if (verifiedCredentialsCache != null && verifiedCredentialsCache.isVerified(userDetails, presentedPassword)) {
+			return;
+		}
+		if (!matches(presentedPassword, userDetails.getPassword())) {
 			this.logger.debug("Failed to authenticate since password does not match stored value");
 			throw new BadCredentialsException(this.messages
 				.getMessage("AbstractUserDetailsAuthenticationProvider.badCredentials", "Bad credentials"));
 		}
+		if (verifiedCredentialsCache != null) {
+			verifiedCredentialsCache.verified(userDetails, presentedPassword);
+		}
 	}
 
 	@Override
@@ -133,12 +147,20 @@ public class DaoAuthenticationProvider extends AbstractUserDetailsAuthentication
 			throw new CompromisedPasswordException("The provided password is compromised, please change your password");
 		}
 		String existingEncodedPassword = user.getPassword();
+		PasswordUpgradePipeline passwordUpgradePipeline = this.passwordUpgradePipeline;
 		boolean upgradeEncoding = existingEncodedPassword != null
-				&& !Objects.equals(this.userDetailsPasswordService, UserDetailsPasswordService.NOOP)
+				&& (passwordUpgradePipeline != null
+						|| !Objects.equals(this.userDetailsPasswordService, UserDetailsPasswordService.NOOP))
 				&& this.passwordEncoder.get().upgradeEncoding(existingEncodedPassword);
-		if (upgradeEncoding) {
+		if (upgradeEncoding && passwordUpgradePipeline != null) {
+			passwordUpgradePipeline.submit(user, presentedPassword);
+		}
+		else if (upgradeEncoding) {
 			String newPassword = this.passwordEncoder.get().encode(presentedPassword);
 			user = this.userDetailsPasswordService.updatePassword(user, newPassword);
+			if (this.verifiedCredentialsCache != null) {
+				this.verifiedCredentialsCache.evict(user.getUsername());
+			}
 		}
 		return super.createSuccessAuthentication(principal, authentication, user);
 	}
@@ -153,10 +175,18 @@ public class DaoAuthenticationProvider extends AbstractUserDetailsAuthentication
 		if (authentication.getCredentials() != null) {
 			Assert.notNull(this.userNotFoundEncodedPassword, "userNotFoundEncodedPassword cannot be null");
 			String presentedPassword = authentication.getCredentials().toString();
-			this.passwordEncoder.get().matches(presentedPassword, this.userNotFoundEncodedPassword);
+			matches(presentedPassword, this.userNotFoundEncodedPassword);
 		}
 	}
 
+	private boolean matches(String presentedPassword, @Nullable String encodedPassword) {
+		if (this.passwordVerificationExecutor == null) {
+			return this.passwordEncoder.get().matches(presentedPassword, encodedPassword);
+		}
+		return this.passwordVerificationExecutor.matches(this.passwordEncoder.get(), presentedPassword,
+				encodedPassword);
+	}
+
 	/**
 	 * Sets the PasswordEncoder instance to be used to encode and validate passwords. If
 	 * not set, the password will be compared using
@@ -194,4 +224,46 @@ public class DaoAuthenticationProvider extends AbstractUserDetailsAuthentication
 		this.compromisedPasswordChecker = compromisedPasswordChecker;
 	}
 
+	/**
+	 * Sets the {@link PasswordVerificationExecutor} on which presented passwords are
+	 * verified. When set, the calling thread waits for the verification to complete, and
+	 * an {@link org.springframework.security.authentication.AuthenticationServiceException}
+	 * is thrown without verifying the password when the executor is saturated. Defaults
+	 * to {@code null}, meaning that passwords are verified on the calling thread.
+	 * @param passwordVerificationExecutor the {@link PasswordVerificationExecutor} to use
+	 * @since 7.1
+	 */
+	public void setPasswordVerificationExecutor(PasswordVerificationExecutor passwordVerificationExecutor) {
+		Assert.notNull(passwordVerificationExecutor, "passwordVerificationExecutor cannot be null");
+		this.passwordVerificationExecutor = passwordVerificationExecutor;
+	}
+
+	/**
+	 * Sets the {@link VerifiedCredentialsCache} used to skip verifying a presented
+	 * password that was recently verified against the same stored password. This is
+	 * intended for clients that present the same credentials on every request, such as
+	 * HTTP Basic clients. Defaults to {@code null}, meaning that every presented password
+	 * is verified.
+	 * @param verifiedCredentialsCache the {@link VerifiedCredentialsCache} to use
+	 * @since 7.1
+	 */
+	public void setVerifiedCredentialsCache(VerifiedCredentialsCache verifiedCredentialsCache) {
+		Assert.notNull(verifiedCredentialsCache, "verifiedCredentialsCache cannot be null");
+		this.verifiedCredentialsCache = verifiedCredentialsCache;
+	}
+
+	/**
+	 * Sets the {@link PasswordUpgradePipeline} to which password encoding upgrades are
+	 * submitted instead of being encoded and stored with the
+	 * {@link #setUserDetailsPasswordService(UserDetailsPasswordService)
+	 * UserDetailsPasswordService} before the authentication completes. Defaults to
+	 * {@code null}.
+	 * @param passwordUpgradePipeline the {@link PasswordUpgradePipeline} to use
+	 * @since 7.1
+	 */
+	public void setPasswordUpgradePipeline(PasswordUpgradePipeline passwordUpgradePipeline) {
+		Assert.notNull(passwordUpgradePipeline, "passwordUpgradePipeline cannot be null");
+		this.passwordUpgradePipeline = passwordUpgradePipeline;
+	}
+
 }
@@ -0,0 +1,437 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authentication.dao;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.core.log.LogMessage;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.Assert;
+
+/**
+ * Upgrades the encoding of passwords in the background rather than in the request that
+ * authenticated the user.
+ *
+ * <p>
+ * When {@link PasswordEncoder#upgradeEncoding(String)} reports that a stored password
+ * should be re-encoded, {@link DaoAuthenticationProvider} normally encodes the presented
+ * password and stores it through a {@link UserDetailsPasswordService} before completing
+ * the authentication. While migrating many users away from a legacy encoding, that adds a
+ * second expensive hash and a write to each of their logins. Given this pipeline, the
+ * provider instead {@link #submit(UserDetails, CharSequence) submits} the upgrade and
+ * completes the authentication right away.
+ *
+ * <p>
+ * Submitted upgrades are collected per user, so repeated logins of the same user are
+ * upgraded once, and at most {@link #setMaxPendingUpgrades(int) a fixed number} are kept;
+ * further upgrades are dropped and will be submitted again on a later login. Every
+ * {@link #setFlushInterval(Duration) flush interval}, up to
+ * {@link #setBatchSize(int) a batch} of pending upgrades is encoded on a pool of
+ * background threads and then written. Once the pipeline is {@link #close() closed},
+ * submitted upgrades are dropped.
+ *
+ * <p>
+ * Before writing, the user is loaded again and the upgrade is skipped if the stored
+ * password is no longer the one that was upgraded. This check and the write are not
+ * atomic, so a password changed between the two can still be overwritten with the
+ * upgrade of the previous password. The {@link UserDetails} given to
+ * {@link UserDetailsPasswordService#updatePassword(UserDetails, String)} carries the
+ * stored password that was checked, so an implementation can close this window by only
+ * updating the password if it is still the same, for example with
+ * {@code UPDATE users SET password = ? WHERE username = ? AND password = ?}.
+ *
+ * <p>
+ * Note that the presented password is held in memory until its upgrade is encoded, or
+ * discarded once it has been pending for longer than the
+ * {@link #setMaxPendingTime(Duration) maximum pending time}.
+ *
+ * @since 7.1
+ * @see DaoAuthenticationProvider#setPasswordUpgradePipeline(PasswordUpgradePipeline)
+ */
+public final class PasswordUpgradePipeline implements AutoCloseable {
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final UserDetailsService userDetailsService;
+
+	private final UserDetailsPasswordService userDetailsPasswordService;
+
+	private final PasswordEncoder passwordEncoder;
+
+	private final Map<String, PendingUpgrade> pending = new ConcurrentHashMap<>();
+
+	private final LongAdder submittedCount = new LongAdder();
+
+	private final LongAdder droppedCount = new LongAdder();
+
+	private final LongAdder upgradedCount = new LongAdder();
+
+	private final LongAdder skippedCount = new LongAdder();
+
+	private final LongAdder failedCount = new LongAdder();
+
+	private final ExecutorService encodingExecutor;
+
+	private final ScheduledExecutorService scheduler;
+
+	private int maxPendingUpgrades = 10_000;
+
+	private int batchSize = 100;
+
+	private Duration flushInterval = Duration.ofSeconds(1);
+
+	private Duration maxPendingTime = Duration.ofMinutes(1);
+
+	private Clock clock = Clock.systemUTC();
+
+	private volatile boolean started;
+
+	private volatile boolean closed;
+
+	/**
+	 * Create a pipeline that encodes upgrades on half of the available processors.
+	 * @param userDetailsService the {@link UserDetailsService} used to check the stored
+	 * password before writing an upgrade
+	 * @param userDetailsPasswordService the {@link UserDetailsPasswordService} used to
+	 * write upgrades
+	 * @param passwordEncoder the {@link PasswordEncoder} used to encode upgrades
+	 */
+	public PasswordUpgradePipeline(UserDetailsService userDetailsService,
+			UserDetailsPasswordService userDetailsPasswordService, PasswordEncoder passwordEncoder) {
+		this(userDetailsService, userDetailsPasswordService, passwordEncoder,
+				Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+	}
+
+	/**
+	 * Create a pipeline.
+	 * @param userDetailsService the {@link UserDetailsService} used to check the stored
+	 * password before writing an upgrade
+	 * @param userDetailsPasswordService the {@link UserDetailsPasswordService} used to
+	 * write upgrades
+	 * @param passwordEncoder the {@link PasswordEncoder} used to encode upgrades
+	 * @param encodingThreads the number of threads that encode upgrades
+	 */
+	public PasswordUpgradePipeline(UserDetailsService userDetailsService,
+			UserDetailsPasswordService userDetailsPasswordService, PasswordEncoder passwordEncoder,
+			int encodingThreads) {
+		Assert.notNull(userDetailsService, "userDetailsService cannot be null");
+		Assert.notNull(userDetailsPasswordService, "userDetailsPasswordService cannot be null");
+		Assert.notNull(passwordEncoder, "passwordEncoder cannot be null");
+		Assert.isTrue(encodingThreads > 0, "encodingThreads must be greater than 0");
+		this.userDetailsService = userDetailsService;
+		this.userDetailsPasswordService = userDetailsPasswordService;
+		this.passwordEncoder = passwordEncoder;
+		this.encodingExecutor = Executors.newFixedThreadPool(encodingThreads, threadFactory("password-upgrade-"));
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory("password-upgrade-flush-"));
+	}
+
+	private static CustomizableThreadFactory threadFactory(String prefix) {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+		threadFactory.setDaemon(true);
+		return threadFactory;
+	}
+
+	/**
+	 * Submit the upgrade of the stored password of the given user. The first submission
+	 * starts flushing upgrades every {@link #setFlushInterval(Duration) flush interval}.
+	 * @param user the user whose stored password should be upgraded
+	 * @param presentedPassword the password the user authenticated with
+	 * @return {@code true} if the upgrade is pending, {@code false} if it was dropped
+	 * because too many upgrades are pending or the pipeline is closed
+	 */
+	public boolean submit(UserDetails user, CharSequence presentedPassword) {
+		Assert.notNull(user, "user cannot be null");
+		Assert.notNull(presentedPassword, "presentedPassword cannot be null");
+		String username = user.getUsername();
+		if (this.closed || !startIfNecessary()
+				|| (this.pending.size() >= this.maxPendingUpgrades && !this.pending.containsKey(username))) {
+			this.droppedCount.increment();
+			return false;
+		}
+		PendingUpgrade upgrade = new PendingUpgrade(username, user.getPassword(), presentedPassword,
+				this.clock.instant());
+		this.pending.put(username, upgrade);
+		if (this.closed && this.pending.remove(username, upgrade)) {
+			// closed while submitting, after the pending upgrades were written
+			this.droppedCount.increment();
+			return false;
+		}
+		this.submittedCount.increment();
+		return true;
+	}
+
+	private boolean startIfNecessary() {
+		if (this.started) {
+			return true;
+		}
+		synchronized (this.scheduler) {
+			if (this.closed) {
+				return false;
+			}
+			if (!this.started) {
+				long interval = this.flushInterval.toMillis();
+				this.scheduler.scheduleWithFixedDelay(this::flushSafely, interval, interval, TimeUnit.MILLISECONDS);
+				this.started = true;
+			}
+			return true;
+		}
+	}
+
+	private void flushSafely() {
+		try {
+			flush();
+		}
+		catch (RuntimeException ex) {
+			this.logger.warn("Failed to upgrade password encodings", ex);
+		}
+	}
+
+	/**
+	 * Discard the pending upgrades that have been pending for longer than the
+	 * {@link #setMaxPendingTime(Duration) maximum pending time}, then encode and write up
+	 * to {@link #setBatchSize(int) a batch} of pending upgrades, waiting until they are
+	 * written.
+	 * @return the number of upgrades that were taken from the pending upgrades, not
+	 * counting those that were discarded
+	 */
+	public int flush() {
+		discardExpired();
+		List<PendingUpgrade> batch = new ArrayList<>(Math.min(this.batchSize, this.pending.size()));
+		Iterator<Map.Entry<String, PendingUpgrade>> upgrades = this.pending.entrySet().iterator();
+		while (batch.size() < this.batchSize && upgrades.hasNext()) {
+			Map.Entry<String, PendingUpgrade> upgrade = upgrades.next();
+			if (this.pending.remove(upgrade.getKey(), upgrade.getValue())) {
+				batch.add(upgrade.getValue());
+			}
+		}
+		if (batch.isEmpty()) {
+			return 0;
+		}
+		List<CompletableFuture<@Nullable String>> encoded = new ArrayList<>(batch.size());
+		for (PendingUpgrade upgrade : batch) {
+			encoded.add(CompletableFuture.supplyAsync(() -> encode(upgrade), this.encodingExecutor));
+		}
+		for (int i = 0; i < batch.size(); i++) {
+			String newPassword = encoded.get(i).join();
+			if (newPassword != null) {
+				write(batch.get(i), newPassword);
+			}
+		}
+		this.logger.debug(LogMessage.format("Processed %d password upgrades, %d pending", batch.size(),
+				this.pending.size()));
+		return batch.size();
+	}
+
+	private void discardExpired() {
+		Instant submittedBefore = this.clock.instant().minus(this.maxPendingTime);
+		for (PendingUpgrade upgrade : this.pending.values()) {
+			if (upgrade.submittedAt().isBefore(submittedBefore)
+					&& this.pending.remove(upgrade.username(), upgrade)) {
+				this.droppedCount.increment();
+			}
+		}
+	}
+
+	private @Nullable String encode(PendingUpgrade upgrade) {
+		try {
+			return this.passwordEncoder.encode(upgrade.presentedPassword());
+		}
+		catch (RuntimeException ex) {
+			this.failedCount.increment();
+			this.logger.debug(LogMessage.format("Failed to encode the password upgrade of '%s'",
+					upgrade.username()), ex);
+			return null;
+		}
+	}
+
+	private void write(PendingUpgrade upgrade, String newPassword) {
+		try {
+			UserDetails current = this.userDetailsService.loadUserByUsername(upgrade.username());
+			if (!Objects.equals(current.getPassword(), upgrade.encodedPassword())) {
+				this.skippedCount.increment();
+				return;
+			}
+			this.userDetailsPasswordService.updatePassword(current, newPassword);
+			this.upgradedCount.increment();
+		}
+		catch (UsernameNotFoundException ex) {
+			this.skippedCount.increment();
+		}
+		catch (RuntimeException ex) {
+			this.failedCount.increment();
+			this.logger.debug(LogMessage.format("Failed to write the password upgrade of '%s'", upgrade.username()),
+					ex);
+		}
+	}
+
+	/**
+	 * The number of upgrades that were submitted, including those that replaced a pending
+	 * upgrade of the same user.
+	 * @return the number of submitted upgrades
+	 */
+	public long getSubmittedCount() {
+		return this.submittedCount.sum();
+	}
+
+	/**
+	 * The number of upgrades that were dropped because too many upgrades were pending,
+	 * because they were pending for longer than the {@link #setMaxPendingTime(Duration)
+	 * maximum pending time} or because the pipeline was closed.
+	 * @return the number of dropped upgrades
+	 */
+	public long getDroppedCount() {
+		return this.droppedCount.sum();
+	}
+
+	/**
+	 * The number of upgrades waiting to be encoded and written.
+	 * @return the number of pending upgrades
+	 */
+	public int getPendingCount() {
+		return this.pending.size();
+	}
+
+	/**
+	 * The number of upgrades that were written.
+	 * @return the number of upgraded passwords
+	 */
+	public long getUpgradedCount() {
+		return this.upgradedCount.sum();
+	}
+
+	/**
+	 * The number of upgrades that were not written because the stored password had
+	 * changed or the user no longer exists.
+	 * @return the number of skipped upgrades
+	 */
+	public long getSkippedCount() {
+		return this.skippedCount.sum();
+	}
+
+	/**
+	 * The number of upgrades that could not be encoded or written.
+	 * @return the number of failed upgrades
+	 */
+	public long getFailedCount() {
+		return this.failedCount.sum();
+	}
+
+	/**
+	 * Sets the maximum number of pending upgrades. Defaults to {@code 10000}.
+	 * @param maxPendingUpgrades the maximum number of pending upgrades
+	 */
+	public void setMaxPendingUpgrades(int maxPendingUpgrades) {
+		Assert.isTrue(maxPendingUpgrades > 0, "maxPendingUpgrades must be greater than 0");
+		this.maxPendingUpgrades = maxPendingUpgrades;
+	}
+
+	/**
+	 * Sets the maximum number of upgrades encoded and written by each flush. Defaults to
+	 * {@code 100}.
+	 * @param batchSize the batch size
+	 */
+	public void setBatchSize(int batchSize) {
+		Assert.isTrue(batchSize > 0, "batchSize must be greater than 0");
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Sets the delay between flushes. Defaults to one second. Has no effect once the
+	 * first upgrade was submitted.
+	 * @param flushInterval the delay between flushes
+	 */
+	public void setFlushInterval(Duration flushInterval) {
+		Assert.notNull(flushInterval, "flushInterval cannot be null");
+		Assert.isTrue(flushInterval.toMillis() > 0, "flushInterval must be at least one millisecond");
+		this.flushInterval = flushInterval;
+	}
+
+	/**
+	 * Sets how long an upgrade may be pending before it is discarded, which bounds how
+	 * long presented passwords are held in memory. Discarded upgrades will be submitted
+	 * again on a later login. Defaults to one minute.
+	 * @param maxPendingTime the maximum pending time
+	 */
+	public void setMaxPendingTime(Duration maxPendingTime) {
+		Assert.notNull(maxPendingTime, "maxPendingTime cannot be null");
+		Assert.isTrue(!maxPendingTime.isNegative() && !maxPendingTime.isZero(), "maxPendingTime must be positive");
+		this.maxPendingTime = maxPendingTime;
+	}
+
+	/**
+	 * Sets the {@link Clock} used to determine how long upgrades have been pending.
+	 * Defaults to {@link Clock#systemUTC()}.
+	 * @param clock the {@link Clock} to use
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	/**
+	 * Stop flushing and write the upgrades that are still pending. Upgrades submitted
+	 * afterwards are dropped.
+	 */
+	@Override
+	public void close() {
+		synchronized (this.scheduler) {
+			this.closed = true;
+		}
+		this.scheduler.shutdown();
+		try {
+			this.scheduler.awaitTermination(1, TimeUnit.MINUTES);
+			while (flush() > 0) {
+				// write the remaining batches
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		finally {
+			this.encodingExecutor.shutdown();
+		}
+	}
+
+	private record PendingUpgrade(String username, @Nullable String encodedPassword, CharSequence presentedPassword,
+			Instant submittedAt) {
+
+	}
+
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authentication.dao;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.util.Assert;
+
+/**
+ * A bounded, short-lived record of the credentials that {@link DaoAuthenticationProvider}
+ * recently verified, so that clients that present the same credentials on every request,
+ * for example with HTTP Basic, do not pay for a full password hash each time.
+ *
+ * <p>
+ * Entries are keyed by an HMAC-SHA256 of the username, the stored encoded password and the
+ * presented password, computed with a random key that is generated for each cache and
+ * never leaves it. Neither the presented nor the encoded password is kept. Because the
+ * stored encoded password is part of the key, an entry no longer matches once the
+ * password of the user changes, whether through a {@link UserDetailsPasswordService} or
+ * otherwise, and {@link #evict(String)} can be used to drop the entries of a user
+ * immediately.
+ *
+ * <p>
+ * The cache holds at most a fixed number of entries, replacing an older entry when a new
+ * one maps to the same slot, and an entry is only used until its time to live elapses.
+ *
+ * @since 7.1
+ * @see DaoAuthenticationProvider#setVerifiedCredentialsCache(VerifiedCredentialsCache)
+ */
+public final class VerifiedCredentialsCache {
+
+	private static final String ALGORITHM = "HmacSHA256";
+
+	private final Mac mac;
+
+	private final long timeToLiveMillis;
+
+	private final AtomicReferenceArray<@Nullable Entry> entries;
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private Clock clock = Clock.systemUTC();
+
+	/**
+	 * Create a cache that holds up to 1024 verifications for 30 seconds each.
+	 */
+	public VerifiedCredentialsCache() {
+		this(Duration.ofSeconds(30), 1024);
+	}
+
+	/**
+	 * Create a cache.
+	 * @param timeToLive how long a verification is remembered
+	 * @param maximumSize the maximum number of verifications to remember, rounded up to a
+	 * power of two
+	 */
+	public VerifiedCredentialsCache(Duration timeToLive, int maximumSize) {
+		Assert.notNull(timeToLive, "timeToLive cannot be null");
+		Assert.isTrue(!timeToLive.isNegative() && !timeToLive.isZero(), "timeToLive must be positive");
+		Assert.isTrue(maximumSize > 0 && maximumSize <= (1 << 30), "maximumSize must be between 1 and 2^30");
+		this.timeToLiveMillis = timeToLive.toMillis();
+		this.entries = new AtomicReferenceArray<>(
+				(maximumSize == 1) ? 1 : Integer.highestOneBit(maximumSize - 1) << 1);
+		byte[] key = new byte[32];
+		new SecureRandom().nextBytes(key);
+		try {
+			this.mac = Mac.getInstance(ALGORITHM);
+			this.mac.init(new SecretKeySpec(key, ALGORITHM));
+		}
+		catch (GeneralSecurityException ex) {
+			throw new IllegalStateException("Unable to initialize " + ALGORITHM, ex);
+		}
+	}
+
+	/**
+	 * Whether the presented password was recently verified against the stored password of
+	 * the user.
+	 * @param user the user
+	 * @param presentedPassword the presented password
+	 * @return {@code true} if the verification can be skipped
+	 */
+	public boolean isVerified(UserDetails user, String presentedPassword) {
+		String encodedPassword = user.getPassword();
+		if (encodedPassword == null) {
+			this.missCount.increment();
+			return false;
+		}
+		byte[] digest = digest(user.getUsername(), encodedPassword, presentedPassword);
+		Entry entry = this.entries.get(slot(digest));
+		if (entry != null && entry.expiresAt() > this.clock.millis() && MessageDigest.isEqual(entry.digest(), digest)) {
+			this.hitCount.increment();
+			return true;
+		}
+		this.missCount.increment();
+		return false;
+	}
+
+	/**
+	 * Remember that the presented password matches the stored password of the user.
+	 * @param user the user
+	 * @param presentedPassword the presented password
+	 */
+	public void verified(UserDetails user, String presentedPassword) {
+		String encodedPassword = user.getPassword();
+		if (encodedPassword == null) {
+			return;
+		}
+		byte[] digest = digest(user.getUsername(), encodedPassword, presentedPassword);
+		this.entries.set(slot(digest),
+				new Entry(digest, user.getUsername(), this.clock.millis() + this.timeToLiveMillis));
+	}
+
+	/**
+	 * Forget the verifications of the given user, for example after changing their
+	 * password.
+	 * @param username the username
+	 */
+	public void evict(String username) {
+		for (int i = 0; i < this.entries.length(); i++) {
+			Entry entry = this.entries.get(i);
+			if (entry != null && entry.username().equals(username)) {
+				this.entries.compareAndSet(i, entry, null);
+			}
+		}
+	}
+
+	/**
+	 * The number of authentications that skipped the password verification.
+	 * @return the number of hits
+	 */
+	public long getHitCount() {
+		return this.hitCount.sum();
+	}
+
+	/**
+	 * The number of authentications that had to verify the password.
+	 * @return the number of misses
+	 */
+	public long getMissCount() {
+		return this.missCount.sum();
+	}
+
+	/**
+	 * The fraction of authentications that skipped the password verification.
+	 * @return the hit rate, or {@code 0} if the cache was not used yet
+	 */
+	public double getHitRate() {
+		long hits = getHitCount();
+		long total = hits + getMissCount();
+		return (total != 0) ? (double) hits / total : 0;
+	}
+
+	/**
+	 * Sets the {@link Clock} used to expire verifications. The default is
+	 * {@link Clock#systemUTC()}.
+	 * @param clock the {@link Clock} to use
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	private int slot(byte[] digest) {
+		int hash = (digest[0] & 0xff) | (digest[1] & 0xff) << 8 | (digest[2] & 0xff) << 16 | (digest[3] & 0xff) << 24;
+		return hash & (this.entries.length() - 1);
+	}
+
+	private byte[] digest(String username, String encodedPassword, String presentedPassword) {
+		Mac mac = mac();
+		update(mac, username);
+		update(mac, encodedPassword);
+		update(mac, presentedPassword);
+		return mac.doFinal();
+	}
+
+	private Mac mac() {
+		try {
+			return (Mac) this.mac.clone();
+		}
+		catch (CloneNotSupportedException ex) {
+			throw new IllegalStateException(ALGORITHM + " cannot be cloned", ex);
+		}
+	}
+
+	private static void update(Mac mac, String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		mac.update((byte) (bytes.length >>> 24));
+		mac.update((byte) (bytes.length >>> 16));
+		mac.update((byte) (bytes.length >>> 8));
+		mac.update((byte) bytes.length);
+		mac.update(bytes);
+	}
+
+	private record Entry(byte[] digest, String username, long expiresAt) {
+
+	}
+
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authentication.password;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.Assert;
+
+/**
+ * Verifies passwords with a {@link PasswordEncoder} on a dedicated, bounded pool of
+ * threads.
+ *
+ * <p>
+ * Adaptive password hashes are deliberately expensive, so verifying them on the threads
+ * that handle requests lets a burst of logins occupy every one of those threads. This
+ * executor limits the number of verifications that run at the same time to the number of
+ * threads it was created with and the number that may wait to the capacity of its queue.
+ * When both are exhausted, a verification is rejected immediately with an
+ * {@link AuthenticationServiceException} rather than adding to the backlog.
+ *
+ * <p>
+ * The executor reports the number of verifications waiting in its queue, the number that
+ * were rejected and the time spent hashing, so that the pool can be sized from observed
+ * behavior.
+ *
+ * @since 7.1
+ */
+public final class PasswordVerificationExecutor implements AutoCloseable {
+
+	private final ThreadPoolExecutor executor;
+
+	private final LongAdder rejectedCount = new LongAdder();
+
+	private final LongAdder verificationCount = new LongAdder();
+
+	private final LongAdder totalHashingNanos = new LongAdder();
+
+	private final AtomicLong maxHashingNanos = new AtomicLong();
+
+	/**
+	 * Create an executor with one thread per available processor and a queue that holds
+	 * as many verifications as there are threads.
+	 */
+	public PasswordVerificationExecutor() {
+		this(Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Create an executor.
+	 * @param threads the number of verifications that may run at the same time
+	 * @param queueCapacity the number of verifications that may wait for a thread before
+	 * further verifications are rejected
+	 */
+	public PasswordVerificationExecutor(int threads, int queueCapacity) {
+		Assert.isTrue(threads > 0, "threads must be greater than 0");
+		Assert.isTrue(queueCapacity > 0, "queueCapacity must be greater than 0");
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-verification-");
+		threadFactory.setDaemon(true);
+		this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	/**
+	 * Verify the password on this executor, blocking the calling thread until the
+	 * verification completes.
+	 * @param passwordEncoder the {@link PasswordEncoder} to use
+	 * @param rawPassword the presented password
+	 * @param encodedPassword the stored password
+	 * @return the result of {@link PasswordEncoder#matches(CharSequence, String)}
+	 * @throws AuthenticationServiceException if the executor is saturated
+	 */
+	public boolean matches(PasswordEncoder passwordEncoder, @Nullable CharSequence rawPassword,
+			@Nullable String encodedPassword) {
+		try {
+			return submit(passwordEncoder, rawPassword, encodedPassword).join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * Verify the password on this executor without blocking the calling thread.
+	 * @param passwordEncoder the {@link PasswordEncoder} to use
+	 * @param rawPassword the presented password
+	 * @param encodedPassword the stored password
+	 * @return a {@link CompletableFuture} of the result of
+	 * {@link PasswordEncoder#matches(CharSequence, String)}
+	 * @throws AuthenticationServiceException if the executor is saturated
+	 */
+	public CompletableFuture<Boolean> matchesAsync(PasswordEncoder passwordEncoder, @Nullable CharSequence rawPassword,
+			@Nullable String encodedPassword) {
+		return submit(passwordEncoder, rawPassword, encodedPassword);
+	}
+
+	private CompletableFuture<Boolean> submit(PasswordEncoder passwordEncoder, @Nullable CharSequence rawPassword,
+			@Nullable String encodedPassword) {
+		Assert.notNull(passwordEncoder, "passwordEncoder cannot be null");
+		try {
+			return CompletableFuture.supplyAsync(() -> {
+				long start = System.nanoTime();
+				try {
+					return passwordEncoder.matches(rawPassword, encodedPassword);
+				}
+				finally {
+					recordHashingTime(System.nanoTime() - start);
+				}
+			}, this.executor);
+		}
+		catch (RejectedExecutionException ex) {
+			this.rejectedCount.increment();
+			throw new AuthenticationServiceException("Too many concurrent password verifications", ex);
+		}
+	}
+
+	private void recordHashingTime(long nanos) {
+		this.verificationCount.increment();
+		this.totalHashingNanos.add(nanos);
+		this.maxHashingNanos.accumulateAndGet(nanos, Math::max);
+	}
+
+	/**
+	 * The number of verifications waiting for a thread.
+	 * @return the current queue depth
+	 */
+	public int getQueueDepth() {
+		return this.executor.getQueue().size();
+	}
+
+	/**
+	 * The number of verifications that are currently running.
+	 * @return the number of active verifications
+	 */
+	public int getActiveCount() {
+		return this.executor.getActiveCount();
+	}
+
+	/**
+	 * The number of verifications that were rejected because the executor was saturated.
+	 * @return the number of rejected verifications
+	 */
+	public long getRejectedCount() {
+		return this.rejectedCount.sum();
+	}
+
+	/**
+	 * The number of verifications that completed, successfully or not.
+	 * @return the number of completed verifications
+	 */
+	public long getVerificationCount() {
+		return this.verificationCount.sum();
+	}
+
+	/**
+	 * The total time spent in {@link PasswordEncoder#matches(CharSequence, String)},
+	 * excluding the time spent waiting in the queue.
+	 * @return the total hashing time in nanoseconds
+	 */
+	public long getTotalHashingNanos() {
+		return this.totalHashingNanos.sum();
+	}
+
+	/**
+	 * The longest time spent in a single
+	 * {@link PasswordEncoder#matches(CharSequence, String)}.
+	 * @return the maximum hashing time in nanoseconds
+	 */
+	public long getMaxHashingNanos() {
+		return this.maxHashingNanos.get();
+	}
+
+	/**
+	 * Stop accepting verifications, letting those already submitted complete.
+	 */
+	@Override
+	public void close() {
+		this.executor.shutdown();
+	}
+
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authorization;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link Supplier} of the current {@link Authentication} that looks it up in the
+ * {@link SecurityContextHolderStrategy} at most once and that remembers the authorities
+ * reachable from it through a {@link RoleHierarchy}.
+ *
+ * <p>
+ * A snapshot is passed to the {@link AuthorizationManager} and the
+ * {@link AuthorizationEventPublisher} involved in an authorization, so that they share
+ * one lookup. {@link AuthorizationManager}s that are given a snapshot may use
+ * {@link #getReachableAuthorities(RoleHierarchy)} instead of consulting the
+ * {@link RoleHierarchy} on each check.
+ *
+ * <p>
+ * A snapshot can also be {@link #bind(SecurityContextHolderStrategy) bound} to the
+ * current thread for the processing of a request, in which case
+ * {@link #current(SecurityContextHolderStrategy)} hands it out to the later
+ * authorizations of that request, for example to each secured method invoked while
+ * handling it. It is only handed out for the same {@link SecurityContextHolderStrategy},
+ * and as long as that strategy still holds the {@link SecurityContext} and the
+ * {@link Authentication} that the snapshot looked up.
+ *
+ * @since 7.1
+ */
+public final class AuthenticationSnapshot implements Supplier<Authentication> {
+
+	private static final ThreadLocal<AuthenticationSnapshot> bound = new ThreadLocal<>();
+
+	private final SecurityContextHolderStrategy securityContextHolderStrategy;
+
+	private @Nullable SecurityContext context;
+
+	private @Nullable Authentication authentication;
+
+	private @Nullable RoleHierarchy roleHierarchy;
+
+	private @Nullable Collection<? extends GrantedAuthority> reachableAuthorities;
+
+	private AuthenticationSnapshot(SecurityContextHolderStrategy securityContextHolderStrategy) {
+		this.securityContextHolderStrategy = securityContextHolderStrategy;
+	}
+
+	/**
+	 * Create a snapshot of the {@link Authentication} in the given
+	 * {@link SecurityContextHolderStrategy}.
+	 * @param securityContextHolderStrategy the {@link SecurityContextHolderStrategy} to
+	 * use
+	 * @return the snapshot
+	 */
+	public static AuthenticationSnapshot of(SecurityContextHolderStrategy securityContextHolderStrategy) {
+		Assert.notNull(securityContextHolderStrategy, "securityContextHolderStrategy cannot be null");
+		return new AuthenticationSnapshot(securityContextHolderStrategy);
+	}
+
+	/**
+	 * Create a snapshot of the {@link Authentication} in the given
+	 * {@link SecurityContextHolderStrategy} and bind it to the current thread until the
+	 * returned {@link Binding} is closed.
+	 * @param securityContextHolderStrategy the {@link SecurityContextHolderStrategy} to
+	 * use
+	 * @return the {@link Binding} of the snapshot
+	 */
+	public static Binding bind(SecurityContextHolderStrategy securityContextHolderStrategy) {
+		AuthenticationSnapshot snapshot = of(securityContextHolderStrategy);
+		Binding binding = new Binding(snapshot, bound.get());
+		bound.set(snapshot);
+		return binding;
+	}
+
+	/**
+	 * Obtain the snapshot bound to the current thread, if it was taken from the given
+	 * {@link SecurityContextHolderStrategy} and still reflects its
+	 * {@link SecurityContext}, or a new snapshot otherwise.
+	 * @param securityContextHolderStrategy the {@link SecurityContextHolderStrategy} to
+	 * use
+	 * @return the snapshot
+	 */
+	public static AuthenticationSnapshot current(SecurityContextHolderStrategy securityContextHolderStrategy) {
+		AuthenticationSnapshot snapshot = bound.get();
+		if (snapshot != null && snapshot.isCurrent(securityContextHolderStrategy)) {
+			return snapshot;
+		}
+		return of(securityContextHolderStrategy);
+	}
+
+	private boolean isCurrent(SecurityContextHolderStrategy securityContextHolderStrategy) {
+		if (this.securityContextHolderStrategy != securityContextHolderStrategy) {
+			return false;
+		}
+		if (this.authentication == null) {
+			// not looked up yet, so it will read the current context
+			return true;
+		}
+		SecurityContext context = securityContextHolderStrategy.getContext();
+		return context == this.context && context.getAuthentication() == this.authentication;
+	}
+
+	/**
+	 * Look up the {@link Authentication} in the {@link SecurityContextHolderStrategy},
+	 * unless it was already looked up.
+	 * @return the {@link Authentication}
+	 * @throws AuthenticationCredentialsNotFoundException if there is no
+	 * {@link Authentication} in the {@link SecurityContext}
+	 */
+	@Override
+	public Authentication get() {
+		Authentication authentication = this.authentication;
+		if (authentication != null) {
+			return authentication;
+		}
+		SecurityContext context = this.securityContextHolderStrategy.getContext();
+		authentication = context.getAuthentication();
+		if (authentication == null) {
+			throw new AuthenticationCredentialsNotFoundException(
+					"An Authentication object was not found in the SecurityContext");
+		}
+		this.context = context;
+		this.authentication = authentication;
+		return authentication;
+	}
+
+	/**
+	 * The authorities reachable from the {@link Authentication}'s authorities through
+	 * the given {@link RoleHierarchy}, computed only once for the same
+	 * {@link RoleHierarchy}.
+	 * @param roleHierarchy the {@link RoleHierarchy} to use
+	 * @return the reachable authorities
+	 */
+	public Collection<? extends GrantedAuthority> getReachableAuthorities(RoleHierarchy roleHierarchy) {
+		Authentication authentication = get();
+		Collection<? extends GrantedAuthority> reachableAuthorities = this.reachableAuthorities;
+		if (reachableAuthorities == null || this.roleHierarchy != roleHierarchy) {
+			reachableAuthorities = roleHierarchy.getReachableGrantedAuthorities(authentication.getAuthorities());
+			this.roleHierarchy = roleHierarchy;
+			this.reachableAuthorities = reachableAuthorities;
+		}
+		return reachableAuthorities;
+	}
+
+	/**
+	 * The period during which a snapshot is bound to the thread that created it.
+	 *
+	 * @since 7.1
+	 */
+	public static final class Binding implements AutoCloseable {
+
+		private final AuthenticationSnapshot snapshot;
+
+		private final @Nullable AuthenticationSnapshot previous;
+
+		private Binding(AuthenticationSnapshot snapshot, @Nullable AuthenticationSnapshot previous) {
+			this.snapshot = snapshot;
+			this.previous = previous;
+		}
+
+		/**
+		 * The snapshot that was bound.
+		 * @return the snapshot
+		 */
+		public AuthenticationSnapshot getSnapshot() {
+			return this.snapshot;
+		}
+
+		/**
+		 * Unbind the snapshot, restoring the snapshot that was bound before, if any.
+		 */
+		@Override
+		public void close() {
+			if (this.previous == null) {
+				bound.remove();
+			}
+			else {
+				bound.set(this.previous);
+			}
+		}
+
+	}
+
+}
@@ -23,6 +23,7 @@ import org.jspecify.annotations.Nullable;
 
 import org.springframework.security.access.hierarchicalroles.NullRoleHierarchy;
 import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.AuthorityUtils;
@@ -59,16 +60,28 @@ public final class AuthoritiesAuthorizationManager implements AuthorizationManag
 	@Override
 	public AuthorizationResult authorize(Supplier<? extends @Nullable Authentication> authentication,
 			Collection<String> authorities) {
-		boolean granted = isGranted(authentication.get(), authorities);
+		boolean granted = isGranted(authentication, authorities);
 		return new AuthorityAuthorizationDecision(granted, AuthorityUtils.createAuthorityList(authorities));
 	}
 
-	private boolean isGranted(Authentication authentication, Collection<String> authorities) {
-		return authentication != null && isAuthorized(authentication, authorities);
+	private boolean isGranted(Supplier<? extends @Nullable Authentication> authentication,
+			Collection<String> authorities) {
+		Authentication current = authentication.get();
+		if (current == null) {
+			return false;
+		}
+		if (this.roleHierarchy instanceof RoleHierarchyImpl roleHierarchyImpl) {
+			return roleHierarchyImpl.hasAnyReachableAuthority(current.getAuthorities(), authorities);
+		}
+		if (authentication instanceof AuthenticationSnapshot snapshot) {
+			return isAuthorized(snapshot.getReachableAuthorities(this.roleHierarchy), authorities);
+		}
+		return isAuthorized(getGrantedAuthorities(current), authorities);
 	}
 
-	private boolean isAuthorized(Authentication authentication, Collection<String> authorities) {
-		for (GrantedAuthority grantedAuthority : getGrantedAuthorities(authentication)) {
+	private boolean isAuthorized(Collection<? extends GrantedAuthority> grantedAuthorities,
+			Collection<String> authorities) {
+		for (GrantedAuthority grantedAuthority : grantedAuthorities) {
 			String authority = grantedAuthority.getAuthority();
 			if (authority == null) {
 				continue;
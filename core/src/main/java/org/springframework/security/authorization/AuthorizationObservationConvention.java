@@ -57,11 +57,20 @@ public final class AuthorizationObservationConvention
 
 	/**
 	 * {@inheritDoc}
+	 * <p>
+	 * When the decision was made by evaluating an expression, the expression is added as
+	 * {@code spring.security.authorization.expression}. It is not added otherwise, so
+	 * that authorizations that do not use expressions keep the same key values.
 	 */
 	@Override
 	public KeyValues getHighCardinalityKeyValues(AuthorizationObservationContext<?> context) {
-		return KeyValues.of("spring.security.authentication.authorities", getAuthorities(context))
+		KeyValues keyValues = KeyValues.of("spring.security.authentication.authorities", getAuthorities(context))
 			.and("spring.security.authorization.decision.details", getDecisionDetails(context));
+		if (context.getAuthorizationResult() instanceof ExpressionAuthorizationDecision decision) {
+			return keyValues.and("spring.security.authorization.expression",
+					decision.getExpression().getExpressionString());
+		}
+		return keyValues;
 	}
 
 	@Override
@@ -29,7 +29,7 @@ import org.springframework.aop.Pointcut;
 import org.springframework.core.log.LogMessage;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PostAuthorize;
-import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authorization.AuthenticationSnapshot;
 import org.springframework.security.authorization.AuthorizationDeniedException;
 import org.springframework.security.authorization.AuthorizationEventPublisher;
 import org.springframework.security.authorization.AuthorizationManager;
@@ -183,9 +183,10 @@ public final class AuthorizationManagerAfterMethodInterceptor implements Authori
 	private @Nullable Object attemptAuthorization(MethodInvocation mi, @Nullable Object result) {
 		this.logger.debug(LogMessage.of(() -> "Authorizing method invocation " + mi));
 		MethodInvocationResult object = new MethodInvocationResult(mi, result);
-		AuthorizationResult authorizationResult = this.authorizationManager.authorize(this::getAuthentication, object);
+		AuthenticationSnapshot authentication = AuthenticationSnapshot.current(this.securityContextHolderStrategy.get());
+		AuthorizationResult authorizationResult = this.authorizationManager.authorize(authentication, object);
 		if (authorizationResult != null) {
-			this.eventPublisher.publishAuthorizationEvent(this::getAuthentication, object, authorizationResult);
+			this.eventPublisher.publishAuthorizationEvent(authentication, object, authorizationResult);
 		}
 		if (authorizationResult != null && !authorizationResult.isGranted()) {
 			this.logger.debug(LogMessage.of(() -> "Failed to authorize " + mi + " with authorization manager "
@@ -203,13 +204,4 @@ public final class AuthorizationManagerAfterMethodInterceptor implements Authori
 		return this.defaultHandler.handleDeniedInvocationResult(mi, result);
 	}
 
-	private Authentication getAuthentication() {
-		Authentication authentication = this.securityContextHolderStrategy.get().getContext().getAuthentication();
-		if (authentication == null) {
-			throw new AuthenticationCredentialsNotFoundException(
-					"An Authentication object was not found in the SecurityContext");
-		}
-		return authentication;
-	}
-
 }
@@ -33,7 +33,7 @@ import org.springframework.core.log.LogMessage;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authorization.AuthenticationSnapshot;
 import org.springframework.security.authorization.AuthorizationDeniedException;
 import org.springframework.security.authorization.AuthorizationEventPublisher;
 import org.springframework.security.authorization.AuthorizationManager;
@@ -247,15 +247,16 @@ public final class AuthorizationManagerBeforeMethodInterceptor implements Author
 
 	private @Nullable Object attemptAuthorization(MethodInvocation mi) throws Throwable {
 		this.logger.debug(LogMessage.of(() -> "Authorizing method invocation " + mi));
+		AuthenticationSnapshot authentication = AuthenticationSnapshot.current(this.securityContextHolderStrategy.get());
 		AuthorizationResult result;
 		try {
-			result = this.authorizationManager.authorize(this::getAuthentication, mi);
+			result = this.authorizationManager.authorize(authentication, mi);
 		}
 		catch (AuthorizationDeniedException denied) {
 			return handle(mi, denied);
 		}
 		if (result != null) {
-			this.eventPublisher.publishAuthorizationEvent(this::getAuthentication, mi, result);
+			this.eventPublisher.publishAuthorizationEvent(authentication, mi, result);
 		}
 		if (result != null && !result.isGranted()) {
 			this.logger.debug(LogMessage.of(() -> "Failed to authorize " + mi + " with authorization manager "
@@ -292,13 +293,4 @@ public final class AuthorizationManagerBeforeMethodInterceptor implements Author
 		return this.defaultHandler.handleDeniedInvocation(mi, result);
 	}
 
-	private Authentication getAuthentication() {
-		Authentication authentication = this.securityContextHolderStrategy.get().getContext().getAuthentication();
-		if (authentication == null) {
-			throw new AuthenticationCredentialsNotFoundException(
-					"An Authentication object was not found in the SecurityContext");
-		}
-		return authentication;
-	}
-
 }
@@ -122,15 +122,11 @@ public final class PostFilterAuthorizationReactiveMethodInterceptor implements A
 	}
 
 	private Mono<?> filterSingleValue(Publisher<?> publisher, EvaluationContext ctx, ExpressionAttribute attribute) {
-		return Mono.from(publisher)
-			.doOnNext((result) -> setFilterObject(ctx, result))
-			.flatMap((result) -> postFilter(ctx, result, attribute));
+		return Mono.from(publisher).flatMap((result) -> postFilter(ctx, result, attribute));
 	}
 
 	private Flux<?> filterMultiValue(Publisher<?> publisher, EvaluationContext ctx, ExpressionAttribute attribute) {
-		return Flux.from(publisher)
-			.doOnNext((result) -> setFilterObject(ctx, result))
-			.flatMap((result) -> postFilter(ctx, result, attribute));
+		return Flux.from(publisher).flatMap((result) -> postFilter(ctx, result, attribute));
 	}
 
 	private void setFilterObject(EvaluationContext ctx, Object result) {
@@ -143,8 +139,8 @@ public final class PostFilterAuthorizationReactiveMethodInterceptor implements A
 	}
 
 	private Mono<?> postFilter(EvaluationContext ctx, Object result, ExpressionAttribute attribute) {
-		return ReactiveExpressionUtils.evaluateAsBoolean(attribute.getExpression(), ctx)
-			.flatMap((granted) -> granted ? Mono.just(result) : Mono.empty());
+		setFilterObject(ctx, result);
+		return ReactiveExpressionUtils.filter(attribute.getExpression(), ctx, result);
 	}
 
 	@Override
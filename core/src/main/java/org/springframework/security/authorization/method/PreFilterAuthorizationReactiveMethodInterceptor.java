@@ -171,22 +171,24 @@ public final class PreFilterAuthorizationReactiveMethodInterceptor implements Au
 	private Mono<?> filterSingleValue(Publisher<?> filterTarget, Expression filterExpression, EvaluationContext ctx) {
 		MethodSecurityExpressionOperations rootObject = (MethodSecurityExpressionOperations) ctx.getRootObject()
 			.getValue();
-		return Mono.from(filterTarget).filterWhen((filterObject) -> {
+		return Mono.from(filterTarget).flatMap((filterObject) -> {
 			if (rootObject != null) {
 				rootObject.setFilterObject(filterObject);
 			}
-			return ReactiveExpressionUtils.evaluateAsBoolean(filterExpression, ctx);
+			return ReactiveExpressionUtils.filter(filterExpression, ctx, filterObject);
 		});
 	}
 
 	private Flux<?> filterMultiValue(Publisher<?> filterTarget, Expression filterExpression, EvaluationContext ctx) {
 		MethodSecurityExpressionOperations rootObject = (MethodSecurityExpressionOperations) ctx.getRootObject()
 			.getValue();
-		return Flux.from(filterTarget).filterWhen((filterObject) -> {
+		// concatMap keeps the order of the elements and emits those whose expression
+		// evaluates to a boolean without subscribing to an inner Mono
+		return Flux.from(filterTarget).concatMap((filterObject) -> {
 			if (rootObject != null) {
 				rootObject.setFilterObject(filterObject);
 			}
-			return ReactiveExpressionUtils.evaluateAsBoolean(filterExpression, ctx);
+			return ReactiveExpressionUtils.filter(filterExpression, ctx, filterObject);
 		});
 	}
 
@@ -82,22 +82,47 @@ final class ReactiveExpressionUtils {
 				return Mono.error(() -> new IllegalArgumentException(
 						"Failed to evaluate expression '" + expr.getExpressionString() + "'", ex));
 			}
-			if (value instanceof Boolean) {
-				return Mono.just((Boolean) value);
-			}
-			if (value instanceof Mono<?>) {
-				Mono<?> monoValue = (Mono<?>) value;
-				// @formatter:off
-				return monoValue
-						.filter(Boolean.class::isInstance)
-						.map(Boolean.class::cast)
-						.switchIfEmpty(createInvalidReturnTypeMono(expr));
-				// @formatter:on
-			}
-			return createInvalidReturnTypeMono(expr);
+			return adaptAsBoolean(expr, value);
 		});
 	}
 
+	/**
+	 * Evaluates {@code expr} right away and emits {@code filterObject} if it evaluates to
+	 * {@code true}. A {@link Boolean} result is turned into {@link Mono#just} or
+	 * {@link Mono#empty}, which {@code flatMap} consumes without subscribing to them, so
+	 * that filtering large {@code Flux}es does not pay for a subscription per element.
+	 */
+	static <T> Mono<T> filter(Expression expr, EvaluationContext ctx, T filterObject) {
+		Object value;
+		try {
+			value = expr.getValue(ctx);
+		}
+		catch (EvaluationException ex) {
+			return Mono.error(() -> new IllegalArgumentException(
+					"Failed to evaluate expression '" + expr.getExpressionString() + "'", ex));
+		}
+		if (value instanceof Boolean granted) {
+			return granted ? Mono.just(filterObject) : Mono.empty();
+		}
+		return adaptAsBoolean(expr, value).flatMap((granted) -> granted ? Mono.just(filterObject) : Mono.empty());
+	}
+
+	private static Mono<Boolean> adaptAsBoolean(Expression expr, @Nullable Object value) {
+		if (value instanceof Boolean) {
+			return Mono.just((Boolean) value);
+		}
+		if (value instanceof Mono<?>) {
+			Mono<?> monoValue = (Mono<?>) value;
+			// @formatter:off
+			return monoValue
+					.filter(Boolean.class::isInstance)
+					.map(Boolean.class::cast)
+					.switchIfEmpty(createInvalidReturnTypeMono(expr));
+			// @formatter:on
+		}
+		return createInvalidReturnTypeMono(expr);
+	}
+
 	private static <T> Mono<T> createInvalidReturnTypeMono(Expression expr) {
 		return Mono.error(() -> new IllegalStateException("Expression: '" + expr.getExpressionString()
 				+ "' must return boolean, Mono<Boolean>, AuthorizationResult, or Mono<AuthorizationResult>"));
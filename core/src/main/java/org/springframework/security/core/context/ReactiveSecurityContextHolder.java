@@ -16,6 +16,7 @@
 
 package org.springframework.security.core.context;
 
+import java.time.Duration;
 import java.util.function.Function;
 
 import reactor.core.publisher.Mono;
@@ -33,6 +34,8 @@ public final class ReactiveSecurityContextHolder {
 
 	private static final Class<?> SECURITY_CONTEXT_KEY = SecurityContext.class;
 
+	private static final Duration RESOLVED = Duration.ofMillis(Long.MAX_VALUE);
+
 	private ReactiveSecurityContextHolder() {
 	}
 
@@ -41,20 +44,8 @@ public final class ReactiveSecurityContextHolder {
 	 * @return the {@code Mono<SecurityContext>}
 	 */
 	public static Mono<SecurityContext> getContext() {
-		// @formatter:off
-		return Mono.deferContextual(Mono::just)
-				.cast(Context.class)
-				.filter(ReactiveSecurityContextHolder::hasSecurityContext)
-				.flatMap(ReactiveSecurityContextHolder::getSecurityContext);
-		// @formatter:on
-	}
-
-	private static boolean hasSecurityContext(Context context) {
-		return context.hasKey(SECURITY_CONTEXT_KEY);
-	}
-
-	private static Mono<SecurityContext> getSecurityContext(Context context) {
-		return context.<Mono<SecurityContext>>get(SECURITY_CONTEXT_KEY);
+		return Mono.deferContextual((context) -> context.hasKey(SECURITY_CONTEXT_KEY)
+				? context.<Mono<SecurityContext>>get(SECURITY_CONTEXT_KEY) : Mono.empty());
 	}
 
 	/**
@@ -77,6 +68,22 @@ public final class ReactiveSecurityContextHolder {
 		return Context.of(SECURITY_CONTEXT_KEY, securityContext);
 	}
 
+	/**
+	 * Creates a Reactor {@link Context} that contains the {@code Mono<SecurityContext>}
+	 * like {@link #withSecurityContext(Mono)}, except that the {@code Mono} is only
+	 * subscribed to by the first {@link #getContext()} and later calls reuse the resolved
+	 * {@link SecurityContext}, or the absence of one. An error is not reused, so the next
+	 * call subscribes again.
+	 * @param securityContext the {@code Mono<SecurityContext>} to resolve once
+	 * @return a Reactor {@link Context} that contains the {@code Mono<SecurityContext>}
+	 * @since 7.1
+	 */
+	public static Context withResolvedSecurityContext(Mono<? extends SecurityContext> securityContext) {
+		Mono<SecurityContext> resolved = securityContext.cast(SecurityContext.class)
+			.cache((context) -> RESOLVED, (ex) -> Duration.ZERO, () -> RESOLVED);
+		return withSecurityContext(resolved);
+	}
+
 	/**
 	 * A shortcut for {@link #withSecurityContext(Mono)}
 	 * @param authentication the {@link Authentication} to be used
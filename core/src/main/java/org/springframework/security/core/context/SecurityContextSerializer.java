@@ -0,0 +1,46 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.context;
+
+/**
+ * A strategy for converting a {@link SecurityContext} to and from bytes, for example to
+ * store it in an {@code HttpSession} that is replicated or persisted.
+ *
+ * @since 7.1
+ */
+public interface SecurityContextSerializer {
+
+	/**
+	 * Serialize the given {@link SecurityContext}.
+	 * @param context the {@link SecurityContext} to serialize
+	 * @return the serialized {@link SecurityContext}
+	 * @throws IllegalArgumentException if the {@link SecurityContext} cannot be
+	 * serialized
+	 */
+	byte[] serialize(SecurityContext context);
+
+	/**
+	 * Deserialize a {@link SecurityContext} previously serialized by
+	 * {@link #serialize(SecurityContext)}.
+	 * @param serialized the serialized {@link SecurityContext}
+	 * @return the {@link SecurityContext}
+	 * @throws IllegalArgumentException if the bytes cannot be deserialized, for example
+	 * because they were written in an unsupported format
+	 */
+	SecurityContext deserialize(byte[] serialized);
+
+}
@@ -0,0 +1,409 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.log.LogMessage;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link SessionRegistry} for applications with a very large number of sessions.
+ *
+ * <p>
+ * Unlike {@link SessionRegistryImpl}, sessions that have not been used for longer than a
+ * maximum inactive interval are evicted even if no {@link SessionDestroyedEvent} is ever
+ * received for them, for example because the session was stored externally and expired
+ * there. Eviction uses a timing wheel: each session is placed in the slot of the time at
+ * which it was last seen, and only the slots whose time has come are inspected.
+ * {@link #refreshLastRequest(String)} records the time of the request and then inspects
+ * at most a small, fixed number of sessions from those slots, so that no request ever
+ * scans the whole registry. A session that was refreshed is moved to its new slot when
+ * its old one is inspected.
+ *
+ * <p>
+ * The sessions of each principal are kept in concurrent sets rather than
+ * copy-on-write sets, so registering and removing a session does not copy the other
+ * sessions of the principal. The number of sessions can also be bounded with
+ * {@link #setMaximumSessions(int)}, in which case the least recently used sessions are
+ * evicted first.
+ *
+ * <p>
+ * Like {@link SessionRegistryImpl}, this registry should be notified of destroyed
+ * sessions, for example with an {@code HttpSessionEventPublisher}.
+ *
+ * @since 7.1
+ */
+public final class ExpiringSessionRegistry implements SessionRegistry, ApplicationListener<AbstractSessionEvent> {
+
+	private static final int WHEEL_SIZE = 64;
+
+	private static final int SWEEP_BATCH_SIZE = 32;
+
+	private static final long NOT_STARTED = Long.MIN_VALUE;
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final ConcurrentMap<String, RegisteredSession> sessions = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<Object, Set<String>> principals = new ConcurrentHashMap<>();
+
+	private final List<Set<String>> wheel = new ArrayList<>(WHEEL_SIZE);
+
+	private final long tickMillis;
+
+	private final AtomicBoolean sweeping = new AtomicBoolean();
+
+	/**
+	 * The tick whose slot is being swept, guarded by {@link #sweeping}.
+	 */
+	private long sweepTick = NOT_STARTED;
+
+	/**
+	 * The sessions of {@link #sweepTick}'s slot that are left to inspect, guarded by
+	 * {@link #sweeping}.
+	 */
+	private @Nullable Iterator<String> sweepCursor;
+
+	private final LongAdder evictedSessionCount = new LongAdder();
+
+	private int maximumSessions = Integer.MAX_VALUE;
+
+	private Clock clock = Clock.systemUTC();
+
+	/**
+	 * Create an {@link ExpiringSessionRegistry} that evicts sessions that have not been
+	 * used for 30 minutes, the default session timeout of most servlet containers.
+	 */
+	public ExpiringSessionRegistry() {
+		this(Duration.ofMinutes(30));
+	}
+
+	/**
+	 * Create an {@link ExpiringSessionRegistry} that evicts sessions that have not been
+	 * used for the given interval. The interval should be at least the session timeout.
+	 * @param maxInactiveInterval the interval after which unused sessions are evicted
+	 */
+	public ExpiringSessionRegistry(Duration maxInactiveInterval) {
+		Assert.notNull(maxInactiveInterval, "maxInactiveInterval cannot be null");
+		Assert.isTrue(maxInactiveInterval.toMillis() >= WHEEL_SIZE,
+				() -> "maxInactiveInterval must be at least " + WHEEL_SIZE + " milliseconds");
+		this.tickMillis = maxInactiveInterval.toMillis() / WHEEL_SIZE;
+		for (int i = 0; i < WHEEL_SIZE; i++) {
+			this.wheel.add(ConcurrentHashMap.newKeySet());
+		}
+	}
+
+	@Override
+	public List<Object> getAllPrincipals() {
+		sweep();
+		return new ArrayList<>(this.principals.keySet());
+	}
+
+	@Override
+	public List<SessionInformation> getAllSessions(Object principal, boolean includeExpiredSessions) {
+		Set<String> sessionsUsedByPrincipal = this.principals.get(principal);
+		if (sessionsUsedByPrincipal == null) {
+			return Collections.emptyList();
+		}
+		List<SessionInformation> list = new ArrayList<>(sessionsUsedByPrincipal.size());
+		for (String sessionId : sessionsUsedByPrincipal) {
+			SessionInformation sessionInformation = this.sessions.get(sessionId);
+			if (sessionInformation == null) {
+				continue;
+			}
+			if (includeExpiredSessions || !sessionInformation.isExpired()) {
+				list.add(sessionInformation);
+			}
+		}
+		return list;
+	}
+
+	@Override
+	public @Nullable SessionInformation getSessionInformation(String sessionId) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		return this.sessions.get(sessionId);
+	}
+
+	@Override
+	public void onApplicationEvent(AbstractSessionEvent event) {
+		if (event instanceof SessionDestroyedEvent sessionDestroyedEvent) {
+			removeSessionInformation(sessionDestroyedEvent.getId());
+		}
+		else if (event instanceof SessionIdChangedEvent sessionIdChangedEvent) {
+			SessionInformation info = this.sessions.get(sessionIdChangedEvent.getOldSessionId());
+			if (info != null) {
+				removeSessionInformation(info.getSessionId());
+				registerNewSession(sessionIdChangedEvent.getNewSessionId(), info.getPrincipal());
+			}
+		}
+	}
+
+	@Override
+	public void refreshLastRequest(String sessionId) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		RegisteredSession session = this.sessions.get(sessionId);
+		if (session != null) {
+			session.refreshLastRequest(this.clock.millis());
+		}
+		sweep();
+	}
+
+	@Override
+	public void registerNewSession(String sessionId, Object principal) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		Assert.notNull(principal, "Principal required as per interface contract");
+		if (this.sessions.containsKey(sessionId)) {
+			removeSessionInformation(sessionId);
+		}
+		if (this.logger.isDebugEnabled()) {
+			this.logger.debug(LogMessage.format("Registering session %s, for principal %s", sessionId, principal));
+		}
+		RegisteredSession session = new RegisteredSession(this, principal, sessionId, this.clock.millis());
+		this.sessions.put(sessionId, session);
+		this.principals.computeIfAbsent(principal, (key) -> ConcurrentHashMap.newKeySet()).add(sessionId);
+		this.wheel.get(index(tick(session.lastRequest))).add(sessionId);
+		sweep();
+		if (this.sessions.size() > this.maximumSessions) {
+			evictLeastRecentlyUsed(sessionId);
+		}
+	}
+
+	@Override
+	public void removeSessionInformation(String sessionId) {
+		Assert.hasText(sessionId, "SessionId required as per interface contract");
+		RegisteredSession session = this.sessions.remove(sessionId);
+		if (session == null) {
+			return;
+		}
+		if (this.logger.isTraceEnabled()) {
+			this.logger.trace(LogMessage.format("Removing session %s from set of registered sessions", sessionId));
+		}
+		removeFromPrincipal(session);
+	}
+
+	/**
+	 * The number of sessions currently registered.
+	 * @return the number of sessions
+	 */
+	public int getSessionCount() {
+		return this.sessions.size();
+	}
+
+	/**
+	 * The number of principals that currently have at least one registered session.
+	 * @return the number of principals
+	 */
+	public int getPrincipalCount() {
+		return this.principals.size();
+	}
+
+	/**
+	 * The number of sessions that were evicted because they were not used for longer
+	 * than the maximum inactive interval or because the maximum number of sessions was
+	 * reached.
+	 * @return the number of evicted sessions
+	 */
+	public long getEvictedSessionCount() {
+		return this.evictedSessionCount.sum();
+	}
+
+	/**
+	 * Sets the maximum number of sessions to keep. When it is reached, the least recently
+	 * used sessions are evicted, which means that concurrent session control no longer
+	 * applies to them. By default, the number of sessions is not bounded.
+	 * @param maximumSessions the maximum number of sessions
+	 */
+	public void setMaximumSessions(int maximumSessions) {
+		Assert.isTrue(maximumSessions > 0, "maximumSessions must be greater than 0");
+		this.maximumSessions = maximumSessions;
+	}
+
+	/**
+	 * Sets the {@link Clock} used to record the last request of each session. The default
+	 * is {@link Clock#systemUTC()}.
+	 * @param clock the {@link Clock} to use
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	private void removeFromPrincipal(RegisteredSession session) {
+		this.principals.computeIfPresent(session.getPrincipal(), (key, sessionsUsedByPrincipal) -> {
+			sessionsUsedByPrincipal.remove(session.getSessionId());
+			return sessionsUsedByPrincipal.isEmpty() ? null : sessionsUsedByPrincipal;
+		});
+	}
+
+	/**
+	 * Inspect at most {@link #SWEEP_BATCH_SIZE} sessions from the slots of the wheel whose
+	 * time has come, continuing where the previous sweep stopped. Only one thread sweeps
+	 * at a time, and the others do not wait for it.
+	 */
+	private void sweep() {
+		if (!this.sweeping.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			long now = tick(this.clock.millis());
+			if (this.sweepTick == NOT_STARTED) {
+				this.sweepTick = now;
+				return;
+			}
+			int budget = SWEEP_BATCH_SIZE;
+			while (budget > 0) {
+				Iterator<String> cursor = this.sweepCursor;
+				if (cursor == null) {
+					if (this.sweepTick >= now) {
+						return;
+					}
+					this.sweepTick = Math.max(this.sweepTick + 1, now - WHEEL_SIZE + 1);
+					cursor = this.wheel.get(index(this.sweepTick)).iterator();
+				}
+				int index = index(this.sweepTick);
+				for (; budget > 0 && cursor.hasNext(); budget--) {
+					inspect(cursor, cursor.next(), index, now, WHEEL_SIZE);
+				}
+				this.sweepCursor = cursor.hasNext() ? cursor : null;
+			}
+		}
+		finally {
+			this.sweeping.set(false);
+		}
+	}
+
+	/**
+	 * Evict sessions from the oldest slots first until there are no more than
+	 * {@link #maximumSessions} sessions, never evicting the session that was just
+	 * registered.
+	 */
+	private void evictLeastRecentlyUsed(String registeredSessionId) {
+		long now = tick(this.clock.millis());
+		for (int age = WHEEL_SIZE - 1; age >= 0 && this.sessions.size() > this.maximumSessions; age--) {
+			int index = index(now - age);
+			for (Iterator<String> sessionIds = this.wheel.get(index).iterator(); sessionIds.hasNext()
+					&& this.sessions.size() > this.maximumSessions;) {
+				String sessionId = sessionIds.next();
+				if (!sessionId.equals(registeredSessionId)) {
+					inspect(sessionIds, sessionId, index, now, age);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Evict the given session of the given slot if it was last used at least
+	 * {@code maxAge} ticks ago, or move it to its current slot if it was used since it was
+	 * placed in this one.
+	 */
+	private void inspect(Iterator<String> sessionIds, String sessionId, int index, long now, long maxAge) {
+		RegisteredSession session = this.sessions.get(sessionId);
+		if (session == null) {
+			sessionIds.remove();
+			return;
+		}
+		long lastRequest = session.lastRequest;
+		long tick = tick(lastRequest);
+		if (now - tick >= maxAge) {
+			sessionIds.remove();
+			evict(session, lastRequest);
+		}
+		else if (index(tick) != index) {
+			sessionIds.remove();
+			this.wheel.get(index(tick)).add(sessionId);
+		}
+	}
+
+	/**
+	 * Evict the session, unless it was used again after {@code lastRequest}, in which case
+	 * it is put back in the slot of its last request.
+	 */
+	private void evict(RegisteredSession session, long lastRequest) {
+		String sessionId = session.getSessionId();
+		if (!this.sessions.remove(sessionId, session)) {
+			return;
+		}
+		if (session.lastRequest != lastRequest) {
+			if (this.sessions.putIfAbsent(sessionId, session) == null) {
+				this.wheel.get(index(tick(session.lastRequest))).add(sessionId);
+			}
+			return;
+		}
+		removeFromPrincipal(session);
+		this.evictedSessionCount.increment();
+		this.logger.debug(LogMessage.format("Evicted session %s, last used at %s", sessionId,
+				session.getLastRequest()));
+	}
+
+	private long tick(long millis) {
+		return millis / this.tickMillis;
+	}
+
+	private static int index(long tick) {
+		return (int) Math.floorMod(tick, (long) WHEEL_SIZE);
+	}
+
+	private static final class RegisteredSession extends SessionInformation {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient @Nullable ExpiringSessionRegistry registry;
+
+		private volatile long lastRequest;
+
+		RegisteredSession(ExpiringSessionRegistry registry, Object principal, String sessionId, long lastRequest) {
+			super(principal, sessionId, new Date(lastRequest));
+			this.registry = registry;
+			this.lastRequest = lastRequest;
+		}
+
+		@Override
+		public Date getLastRequest() {
+			return new Date(this.lastRequest);
+		}
+
+		@Override
+		public void refreshLastRequest() {
+			// a deserialized copy is no longer registered, so it has no registry clock
+			ExpiringSessionRegistry registry = this.registry;
+			refreshLastRequest((registry != null) ? registry.clock.millis() : System.currentTimeMillis());
+		}
+
+		void refreshLastRequest(long lastRequest) {
+			this.lastRequest = lastRequest;
+		}
+
+	}
+
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+import java.io.Serial;
+import java.security.Principal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import io.r2dbc.spi.Readable;
+import org.jspecify.annotations.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.util.Assert;
+
+/**
+ * An R2DBC implementation of {@link ReactiveSessionRegistry} that uses a
+ * {@link DatabaseClient} so that the sessions of a principal are shared by every node
+ * of a cluster, allowing maximum sessions to be enforced cluster-wide.
+ *
+ * <p>
+ * Sessions are stored by principal name, which is resolved the same way as
+ * {@link org.springframework.security.core.Authentication#getName()}. Looking up the
+ * sessions of a principal uses the index on the principal name, only considers sessions
+ * that have been accessed within the {@link #setMaxInactiveInterval(Duration) maximum
+ * inactive interval} and reads at most {@link #setMaxSessionsPerPrincipal(int)} of
+ * them, most recently used first. Sessions that are invalidated or no longer accessed
+ * are removed in a single statement by {@link #removeExpiredSessions()}, which is
+ * expected to be invoked periodically.
+ *
+ * <p>
+ * <b>NOTE:</b> This {@code R2dbcReactiveSessionRegistry} depends on the table
+ * definition described in
+ * "classpath:org/springframework/security/core/session/session-registry-schema.sql" and
+ * therefore MUST be defined in the database schema.
+ *
+ * @since 7.1
+ * @see InMemoryReactiveSessionRegistry
+ */
+public final class R2dbcReactiveSessionRegistry implements ReactiveSessionRegistry {
+
+	private static final String TABLE_NAME = "session_registry";
+
+	// @formatter:off
+	private static final String COLUMN_NAMES = "session_id, "
+			+ "principal_name, "
+			+ "last_access_time, "
+			+ "expired";
+	// @formatter:on
+
+	private static final String PK_FILTER = "session_id = :sessionId";
+
+	// the expired column is a numeric flag, since not every database has booleans
+	private static final int NOT_EXPIRED = 0;
+
+	private static final int EXPIRED = 1;
+
+	// @formatter:off
+	private static final String LOAD_SESSION_SQL = "SELECT " + COLUMN_NAMES
+			+ " FROM " + TABLE_NAME
+			+ " WHERE " + PK_FILTER;
+	// @formatter:on
+
+	// @formatter:off
+	private static final String LOAD_PRINCIPAL_SESSIONS_SQL = "SELECT " + COLUMN_NAMES
+			+ " FROM " + TABLE_NAME
+			+ " WHERE principal_name = :principalName"
+			+ " AND last_access_time >= :activeSince"
+			+ " AND expired = :expired"
+			+ " ORDER BY last_access_time DESC";
+	// @formatter:on
+
+	// @formatter:off
+	private static final String SAVE_SESSION_SQL = "INSERT INTO " + TABLE_NAME
+			+ " (" + COLUMN_NAMES + ") VALUES (:sessionId, :principalName, :lastAccessTime, :expired)";
+	// @formatter:on
+
+	// @formatter:off
+	private static final String UPDATE_SESSION_SQL = "UPDATE " + TABLE_NAME
+			+ " SET principal_name = :principalName,"
+			+ " last_access_time = :lastAccessTime,"
+			+ " expired = :expired"
+			+ " WHERE " + PK_FILTER;
+	// @formatter:on
+
+	// @formatter:off
+	private static final String UPDATE_LAST_ACCESS_TIME_SQL = "UPDATE " + TABLE_NAME
+			+ " SET last_access_time = :lastAccessTime"
+			+ " WHERE " + PK_FILTER;
+	// @formatter:on
+
+	// @formatter:off
+	private static final String EXPIRE_SESSION_SQL = "UPDATE " + TABLE_NAME
+			+ " SET expired = :expired"
+			+ " WHERE " + PK_FILTER;
+	// @formatter:on
+
+	private static final String REMOVE_SESSION_SQL = "DELETE FROM " + TABLE_NAME + " WHERE " + PK_FILTER;
+
+	// @formatter:off
+	private static final String REMOVE_EXPIRED_SESSIONS_SQL = "DELETE FROM " + TABLE_NAME
+			+ " WHERE last_access_time < :activeSince"
+			+ " OR expired = :expired";
+	// @formatter:on
+
+	private final DatabaseClient databaseClient;
+
+	private Duration maxInactiveInterval = Duration.ofMinutes(30);
+
+	private int maxSessionsPerPrincipal = 100;
+
+	private Clock clock = Clock.systemUTC();
+
+	/**
+	 * Constructs a {@code R2dbcReactiveSessionRegistry} using the provided parameters.
+	 * @param databaseClient the database client
+	 */
+	public R2dbcReactiveSessionRegistry(DatabaseClient databaseClient) {
+		Assert.notNull(databaseClient, "databaseClient cannot be null");
+		this.databaseClient = databaseClient;
+	}
+
+	@Override
+	public Flux<ReactiveSessionInformation> getAllSessions(Object principal) {
+		Assert.notNull(principal, "principal cannot be null");
+		return this.databaseClient.sql(LOAD_PRINCIPAL_SESSIONS_SQL)
+			.bind("principalName", principalName(principal))
+			.bind("activeSince", toLocalDateTime(this.clock.instant().minus(this.maxInactiveInterval)))
+			.bind("expired", NOT_EXPIRED)
+			.map((row) -> mapSession(row, principal))
+			.all()
+			.take(this.maxSessionsPerPrincipal);
+	}
+
+	/**
+	 * Saves the session, updating it when it is already stored and inserting it
+	 * otherwise. When another node inserts the same session between the update and the
+	 * insert, the insert fails with a {@link DataIntegrityViolationException} and the
+	 * update is applied again instead.
+	 * @param information the session to save
+	 * @return a {@link Mono} that completes once the session is saved
+	 */
+	@Override
+	public Mono<Void> saveSessionInformation(ReactiveSessionInformation information) {
+		Assert.notNull(information, "information cannot be null");
+		return saveSession(UPDATE_SESSION_SQL, information).filter((rowsUpdated) -> rowsUpdated > 0)
+			.switchIfEmpty(Mono.defer(() -> saveSession(SAVE_SESSION_SQL, information)))
+			.onErrorResume(DataIntegrityViolationException.class,
+					(ex) -> saveSession(UPDATE_SESSION_SQL, information))
+			.then();
+	}
+
+	private Mono<Long> saveSession(String sql, ReactiveSessionInformation information) {
+		return this.databaseClient.sql(sql)
+			.bind("sessionId", information.getSessionId())
+			.bind("principalName", principalName(information.getPrincipal()))
+			.bind("lastAccessTime", toLocalDateTime(information.getLastAccessTime()))
+			.bind("expired", information.isExpired() ? EXPIRED : NOT_EXPIRED)
+			.fetch()
+			.rowsUpdated();
+	}
+
+	@Override
+	public Mono<ReactiveSessionInformation> getSessionInformation(String sessionId) {
+		Assert.hasText(sessionId, "sessionId cannot be empty");
+		return this.databaseClient.sql(LOAD_SESSION_SQL)
+			.bind("sessionId", sessionId)
+			.map((row) -> mapSession(row, null))
+			.first();
+	}
+
+	@Override
+	public Mono<ReactiveSessionInformation> removeSessionInformation(String sessionId) {
+		return getSessionInformation(sessionId)
+			.flatMap((information) -> this.databaseClient.sql(REMOVE_SESSION_SQL)
+				.bind("sessionId", sessionId)
+				.then()
+				.thenReturn(information));
+	}
+
+	@Override
+	public Mono<ReactiveSessionInformation> updateLastAccessTime(String sessionId) {
+		Assert.hasText(sessionId, "sessionId cannot be empty");
+		return updateLastAccessTime(sessionId, this.clock.instant()).filter((rowsUpdated) -> rowsUpdated > 0)
+			.flatMap((rowsUpdated) -> getSessionInformation(sessionId));
+	}
+
+	private Mono<Long> updateLastAccessTime(String sessionId, Instant lastAccessTime) {
+		return this.databaseClient.sql(UPDATE_LAST_ACCESS_TIME_SQL)
+			.bind("sessionId", sessionId)
+			.bind("lastAccessTime", toLocalDateTime(lastAccessTime))
+			.fetch()
+			.rowsUpdated();
+	}
+
+	/**
+	 * Removes, in a single statement, the sessions that have been invalidated or that
+	 * have not been accessed within the {@link #setMaxInactiveInterval(Duration)
+	 * maximum inactive interval}.
+	 * @return the number of sessions that were removed
+	 */
+	public Mono<Long> removeExpiredSessions() {
+		return this.databaseClient.sql(REMOVE_EXPIRED_SESSIONS_SQL)
+			.bind("activeSince", toLocalDateTime(this.clock.instant().minus(this.maxInactiveInterval)))
+			.bind("expired", EXPIRED)
+			.fetch()
+			.rowsUpdated();
+	}
+
+	/**
+	 * Sets how long a session may go without being accessed before it is no longer
+	 * returned by {@link #getAllSessions(Object)} and is removed by
+	 * {@link #removeExpiredSessions()}. This should match the timeout of the sessions
+	 * themselves. The default is 30 minutes.
+	 * @param maxInactiveInterval the maximum inactive interval
+	 */
+	public void setMaxInactiveInterval(Duration maxInactiveInterval) {
+		Assert.notNull(maxInactiveInterval, "maxInactiveInterval cannot be null");
+		Assert.isTrue(!maxInactiveInterval.isNegative() && !maxInactiveInterval.isZero(),
+				"maxInactiveInterval must be positive");
+		this.maxInactiveInterval = maxInactiveInterval;
+	}
+
+	/**
+	 * Sets the maximum number of sessions that {@link #getAllSessions(Object)} reads for
+	 * a principal, bounding the cost of the lookup. This should be greater than the
+	 * maximum number of sessions allowed per principal. The default is 100.
+	 * @param maxSessionsPerPrincipal the maximum number of sessions to read
+	 */
+	public void setMaxSessionsPerPrincipal(int maxSessionsPerPrincipal) {
+		Assert.isTrue(maxSessionsPerPrincipal > 0, "maxSessionsPerPrincipal must be greater than 0");
+		this.maxSessionsPerPrincipal = maxSessionsPerPrincipal;
+	}
+
+	/**
+	 * Sets the {@link Clock} used when recording and comparing access times. The default
+	 * is {@link Clock#systemUTC()}.
+	 * @param clock the {@link Clock} to use
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+	private ReactiveSessionInformation mapSession(Readable row, @Nullable Object principal) {
+		String sessionId = row.get("session_id", String.class);
+		String principalName = row.get("principal_name", String.class);
+		LocalDateTime lastAccessTime = row.get("last_access_time", LocalDateTime.class);
+		Object expired = row.get("expired");
+		Assert.notNull(sessionId, "session_id cannot be null");
+		Assert.notNull(principalName, "principal_name cannot be null");
+		Assert.notNull(lastAccessTime, "last_access_time cannot be null");
+		return new R2dbcSessionInformation(this, (principal != null) ? principal : principalName, sessionId,
+				lastAccessTime.toInstant(ZoneOffset.UTC),
+				(expired instanceof Number flag) && flag.intValue() != NOT_EXPIRED);
+	}
+
+	private static String principalName(Object principal) {
+		if (principal instanceof UserDetails userDetails) {
+			return userDetails.getUsername();
+		}
+		if (principal instanceof AuthenticatedPrincipal authenticatedPrincipal) {
+			return authenticatedPrincipal.getName();
+		}
+		if (principal instanceof Principal namedPrincipal) {
+			return namedPrincipal.getName();
+		}
+		return principal.toString();
+	}
+
+	private static LocalDateTime toLocalDateTime(Instant instant) {
+		return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+	}
+
+	/**
+	 * A {@link ReactiveSessionInformation} whose invalidation and refresh are written to
+	 * the database, so that they are seen by every node.
+	 */
+	private static final class R2dbcSessionInformation extends ReactiveSessionInformation {
+
+		@Serial
+		private static final long serialVersionUID = 1L;
+
+		private final transient R2dbcReactiveSessionRegistry registry;
+
+		private final boolean expiredInDatabase;
+
+		private R2dbcSessionInformation(R2dbcReactiveSessionRegistry registry, Object principal, String sessionId,
+				Instant lastAccessTime, boolean expiredInDatabase) {
+			super(principal, sessionId, lastAccessTime);
+			this.registry = registry;
+			this.expiredInDatabase = expiredInDatabase;
+		}
+
+		@Override
+		public Mono<Void> invalidate() {
+			return this.registry.databaseClient.sql(EXPIRE_SESSION_SQL)
+				.bind("sessionId", getSessionId())
+				.bind("expired", EXPIRED)
+				.then()
+				.then(super.invalidate());
+		}
+
+		@Override
+		public Mono<Void> refreshLastRequest() {
+			Instant now = this.registry.clock.instant();
+			return this.registry.updateLastAccessTime(getSessionId(), now)
+				.doOnNext((rowsUpdated) -> setLastAccessTime(now))
+				.then();
+		}
+
+		@Override
+		public boolean isExpired() {
+			return this.expiredInDatabase || super.isExpired();
+		}
+
+	}
+
+}
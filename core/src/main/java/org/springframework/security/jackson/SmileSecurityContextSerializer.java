@@ -0,0 +1,116 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.jackson;
+
+import java.io.ByteArrayOutputStream;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.dataformat.smile.SmileMapper;
+import tools.jackson.dataformat.smile.SmileWriteFeature;
+
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextSerializer;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link SecurityContextSerializer} that writes the {@link SecurityContext} as
+ * <a href="https://github.com/FasterXML/smile-format-specification">Smile</a>, the binary
+ * counterpart of JSON, using the Spring Security Jackson modules.
+ *
+ * <p>
+ * Compared to Java serialization, only the state described by the Jackson mixins is
+ * written, and repeated short strings such as authorities and class names are written
+ * once and then referenced, which also means that they are read back as a single
+ * {@link String} instance. Each payload starts with a version byte so that the format can
+ * evolve without misreading previously stored contexts.
+ *
+ * <p>
+ * By default, the modules found by {@link SecurityJacksonModules} are used. When
+ * additional types need to be allowed, configure a {@link SmileMapper} instead:
+ *
+ * <pre>
+ *     ClassLoader loader = getClass().getClassLoader();
+ *     SmileMapper mapper = SmileMapper.builder()
+ *             .enable(SmileWriteFeature.CHECK_SHARED_STRING_VALUES)
+ *             .addModules(SecurityJacksonModules.getModules(loader, builder))
+ *             .build();
+ *     SecurityContextSerializer serializer = new SmileSecurityContextSerializer(mapper);
+ * </pre>
+ *
+ * @since 7.1
+ * @see SecurityJacksonModules
+ */
+public final class SmileSecurityContextSerializer implements SecurityContextSerializer {
+
+	static final byte VERSION = 1;
+
+	private final ObjectWriter writer;
+
+	private final ObjectReader reader;
+
+	/**
+	 * Create a {@link SmileSecurityContextSerializer} using the Spring Security Jackson
+	 * modules available in the class loader of this class.
+	 */
+	public SmileSecurityContextSerializer() {
+		this(SmileMapper.builder()
+			.enable(SmileWriteFeature.CHECK_SHARED_STRING_VALUES)
+			.addModules(SecurityJacksonModules.getModules(SmileSecurityContextSerializer.class.getClassLoader()))
+			.build());
+	}
+
+	/**
+	 * Create a {@link SmileSecurityContextSerializer} using the given {@link SmileMapper}.
+	 * @param mapper the {@link SmileMapper} to use, typically configured with the modules
+	 * returned by {@link SecurityJacksonModules}
+	 */
+	public SmileSecurityContextSerializer(SmileMapper mapper) {
+		Assert.notNull(mapper, "mapper cannot be null");
+		this.writer = mapper.writerFor(SecurityContext.class);
+		this.reader = mapper.readerFor(SecurityContext.class);
+	}
+
+	@Override
+	public byte[] serialize(SecurityContext context) {
+		Assert.notNull(context, "context cannot be null");
+		ByteArrayOutputStream serialized = new ByteArrayOutputStream(256);
+		serialized.write(VERSION);
+		try {
+			this.writer.writeValue(serialized, context);
+		}
+		catch (JacksonException ex) {
+			throw new IllegalArgumentException("Unable to serialize " + context, ex);
+		}
+		return serialized.toByteArray();
+	}
+
+	@Override
+	public SecurityContext deserialize(byte[] serialized) {
+		Assert.notNull(serialized, "serialized cannot be null");
+		Assert.isTrue(serialized.length > 0 && serialized[0] == VERSION,
+				"Unsupported serialized SecurityContext version");
+		try {
+			return this.reader.readValue(serialized, 1, serialized.length - 1);
+		}
+		catch (JacksonException ex) {
+			throw new IllegalArgumentException("Unable to deserialize SecurityContext", ex);
+		}
+	}
+
+}
@@ -0,0 +1,9 @@
+CREATE TABLE session_registry (
+  session_id varchar(100) NOT NULL,
+  principal_name varchar(200) NOT NULL,
+  last_access_time timestamp NOT NULL,
+  expired smallint DEFAULT 0 NOT NULL,
+  PRIMARY KEY (session_id)
+);
+CREATE INDEX session_registry_principal_ix ON session_registry (principal_name, last_access_time);
+CREATE INDEX session_registry_last_access_ix ON session_registry (last_access_time);
@@ -17,12 +17,14 @@
 package org.springframework.security.access.hierarchicalroles;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -310,4 +312,68 @@ public class RoleHierarchyImplTests {
 			.isThrownBy(() -> RoleHierarchyImpl.withDefaultRolePrefix().role("A").implies());
 	}
 
+	@Test
+	public void getReachableGrantedAuthoritiesWhenSameAuthoritiesThenEqualResult() {
+		RoleHierarchyImpl roleHierarchyImpl = RoleHierarchyImpl.fromHierarchy("ROLE_A > ROLE_B\nROLE_B > ROLE_C");
+		List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList("ROLE_A");
+		Collection<GrantedAuthority> reachable = roleHierarchyImpl.getReachableGrantedAuthorities(authorities);
+		assertThat(AuthorityUtils.authorityListToSet(reachable)).containsExactlyInAnyOrder("ROLE_A", "ROLE_B",
+				"ROLE_C");
+		assertThat(roleHierarchyImpl.getReachableGrantedAuthorities(authorities))
+			.containsExactlyInAnyOrderElementsOf(reachable);
+	}
+
+	@Test
+	public void getReachableGrantedAuthoritiesWhenResultModifiedThenLaterResultsUnaffected() {
+		RoleHierarchyImpl roleHierarchyImpl = RoleHierarchyImpl.fromHierarchy("ROLE_A > ROLE_B");
+		List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList("ROLE_A");
+		Collection<GrantedAuthority> reachable = roleHierarchyImpl.getReachableGrantedAuthorities(authorities);
+		reachable.add(new SimpleGrantedAuthority("ROLE_ADDED"));
+		assertThat(AuthorityUtils.authorityListToSet(roleHierarchyImpl.getReachableGrantedAuthorities(authorities)))
+			.containsExactlyInAnyOrder("ROLE_A", "ROLE_B");
+	}
+
+	@Test
+	public void getReachableGrantedAuthoritiesWhenSameNamesFromOtherAuthoritiesThenContainsOwnInstances() {
+		RoleHierarchyImpl roleHierarchyImpl = RoleHierarchyImpl.fromHierarchy("ROLE_A > ROLE_B");
+		GrantedAuthority first = new SimpleGrantedAuthority("ROLE_A");
+		GrantedAuthority second = new SimpleGrantedAuthority("ROLE_A");
+		assertThat(roleHierarchyImpl.getReachableGrantedAuthorities(List.of(first)))
+			.anySatisfy((authority) -> assertThat(authority).isSameAs(first));
+		assertThat(roleHierarchyImpl.getReachableGrantedAuthorities(List.of(second)))
+			.anySatisfy((authority) -> assertThat(authority).isSameAs(second));
+	}
+
+	@Test
+	public void getReachableGrantedAuthoritiesWhenAuthoritiesModifiedThenRecomputed() {
+		RoleHierarchyImpl roleHierarchyImpl = RoleHierarchyImpl.fromHierarchy("ROLE_A > ROLE_B\nROLE_C > ROLE_D");
+		List<GrantedAuthority> authorities = new ArrayList<>(AuthorityUtils.createAuthorityList("ROLE_A"));
+		assertThat(AuthorityUtils.authorityListToSet(roleHierarchyImpl.getReachableGrantedAuthorities(authorities)))
+			.containsExactlyInAnyOrder("ROLE_A", "ROLE_B");
+		authorities.set(0, new SimpleGrantedAuthority("ROLE_C"));
+		assertThat(AuthorityUtils.authorityListToSet(roleHierarchyImpl.getReachableGrantedAuthorities(authorities)))
+			.containsExactlyInAnyOrder("ROLE_C", "ROLE_D");
+		authorities.add(new SimpleGrantedAuthority("ROLE_A"));
+		assertThat(AuthorityUtils.authorityListToSet(roleHierarchyImpl.getReachableGrantedAuthorities(authorities)))
+			.containsExactlyInAnyOrder("ROLE_A", "ROLE_B", "ROLE_C", "ROLE_D");
+	}
+
+	@Test
+	public void hasAnyReachableAuthorityWhenReachableThenTrue() {
+		RoleHierarchyImpl roleHierarchyImpl = RoleHierarchyImpl.fromHierarchy("ROLE_A > ROLE_B\nROLE_B > ROLE_C");
+		List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList("ROLE_B", "ROLE_OTHER");
+		assertThat(roleHierarchyImpl.hasAnyReachableAuthority(authorities, List.of("ROLE_C"))).isTrue();
+		assertThat(roleHierarchyImpl.hasAnyReachableAuthority(authorities, List.of("ROLE_A", "ROLE_B"))).isTrue();
+		assertThat(roleHierarchyImpl.hasAnyReachableAuthority(authorities, List.of("ROLE_OTHER"))).isTrue();
+	}
+
+	@Test
+	public void hasAnyReachableAuthorityWhenNotReachableThenFalse() {
+		RoleHierarchyImpl roleHierarchyImpl = RoleHierarchyImpl.fromHierarchy("ROLE_A > ROLE_B\nROLE_B > ROLE_C");
+		List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList("ROLE_B");
+		assertThat(roleHierarchyImpl.hasAnyReachableAuthority(authorities, List.of("ROLE_A", "ROLE_UNKNOWN")))
+			.isFalse();
+		assertThat(roleHierarchyImpl.hasAnyReachableAuthority(List.of(), List.of("ROLE_B"))).isFalse();
+	}
+
 }
@@ -16,13 +16,19 @@
 
 package org.springframework.security.authentication;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
 
 import org.springframework.context.MessageSource;
 import org.springframework.security.core.Authentication;
@@ -328,6 +334,179 @@ public class ProviderManagerTests {
 		verifyNoMoreInteractions(publisher); // Child should not publish (duplicate event)
 	}
 
+	@Test
+	void setProviderExecutorWhenNullThenIllegalArgumentException() {
+		ProviderManager mgr = makeProviderManager();
+		assertThatIllegalArgumentException().isThrownBy(() -> mgr.setProviderExecutor(null));
+	}
+
+	@Test
+	void setProviderTimeoutWhenNotPositiveThenIllegalArgumentException() {
+		ProviderManager mgr = makeProviderManager();
+		assertThatIllegalArgumentException().isThrownBy(() -> mgr.setProviderTimeout(Duration.ZERO));
+	}
+
+	@Test
+	void authenticateWhenProviderExecutorThenFirstSuccessWinsAndOthersCancelled() throws Exception {
+		Authentication a = new TestingAuthenticationToken("user", "pass", "FACTOR");
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch cancelled = new CountDownLatch(1);
+		ProviderManager mgr = new ProviderManager(createProviderWhichAwaits(started, (invocation) -> a),
+				createProviderWhichBlocks(started, cancelled));
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			mgr.setProviderExecutor(executor);
+			assertThat(mgr.authenticate(a)).isSameAs(a);
+			assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void authenticateWhenProviderExecutorAndLaterProviderRespondsFirstThenEarlierProviderWins() {
+		Authentication a = new TestingAuthenticationToken("user", "pass", "FACTOR");
+		Authentication b = new TestingAuthenticationToken("other", "pass", "FACTOR");
+		ProviderManager mgr = new ProviderManager(createProviderWhichReturnsAfterDelay(a),
+				createProviderWhichReturns(b));
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			mgr.setProviderExecutor(executor);
+			assertThat(mgr.authenticate(createAuthenticationToken())).isSameAs(a);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void authenticateWhenProviderExecutorAndEarlierProviderFailsThenLaterProviderWins() {
+		Authentication a = new TestingAuthenticationToken("user", "pass", "FACTOR");
+		ProviderManager mgr = new ProviderManager(createProviderWhichThrows(new BadCredentialsException("first")),
+				createProviderWhichReturns(a));
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			mgr.setProviderExecutor(executor);
+			assertThat(mgr.authenticate(createAuthenticationToken())).isSameAs(a);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void authenticateWhenProviderExecutorAndAllFailThenLastProviderExceptionThrown() {
+		BadCredentialsException expected = new BadCredentialsException("last");
+		ProviderManager mgr = new ProviderManager(createProviderWhichThrows(new BadCredentialsException("first")),
+				createProviderWhichThrows(expected));
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			mgr.setProviderExecutor(executor);
+			assertThatExceptionOfType(BadCredentialsException.class)
+				.isThrownBy(() -> mgr.authenticate(createAuthenticationToken()))
+				.isSameAs(expected);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void authenticateWhenProviderExecutorAndAccountStatusExceptionThenOthersCancelled() throws Exception {
+		AccountStatusException expected = new LockedException("locked");
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch cancelled = new CountDownLatch(1);
+		ProviderManager mgr = new ProviderManager(createProviderWhichAwaits(started, (invocation) -> {
+			throw expected;
+		}), createProviderWhichBlocks(started, cancelled));
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			mgr.setProviderExecutor(executor);
+			assertThatExceptionOfType(LockedException.class)
+				.isThrownBy(() -> mgr.authenticate(createAuthenticationToken()))
+				.isSameAs(expected);
+			assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	// SEC-546
+	@Test
+	void authenticateWhenProviderExecutorAndEarlierProviderAccountStatusExceptionThenLaterSuccessIgnored() {
+		AccountStatusException expected = new LockedException("locked");
+		ProviderManager mgr = new ProviderManager(createProviderWhichThrowsAfterDelay(expected),
+				createProviderWhichReturns(createAuthenticationToken()));
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			mgr.setProviderExecutor(executor);
+			assertThatExceptionOfType(LockedException.class)
+				.isThrownBy(() -> mgr.authenticate(createAuthenticationToken()))
+				.isSameAs(expected);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void authenticateWhenProviderTimeoutThenAuthenticationServiceException() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch cancelled = new CountDownLatch(1);
+		ProviderManager mgr = new ProviderManager(createProviderWhichAwaits(started, (invocation) -> {
+			throw new BadCredentialsException("");
+		}), createProviderWhichBlocks(started, cancelled));
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			mgr.setProviderExecutor(executor);
+			mgr.setProviderTimeout(Duration.ofMillis(200));
+			assertThatExceptionOfType(AuthenticationServiceException.class)
+				.isThrownBy(() -> mgr.authenticate(createAuthenticationToken()));
+			assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void authenticateWhenProviderTimeoutAndLaterProviderSucceedsThenLaterProviderWins() throws Exception {
+		Authentication a = new TestingAuthenticationToken("user", "pass", "FACTOR");
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch cancelled = new CountDownLatch(1);
+		ProviderManager mgr = new ProviderManager(createProviderWhichBlocks(started, cancelled),
+				createProviderWhichAwaits(started, (invocation) -> a));
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			mgr.setProviderExecutor(executor);
+			mgr.setProviderTimeout(Duration.ofMillis(200));
+			assertThat(mgr.authenticate(createAuthenticationToken())).isSameAs(a);
+			assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private AuthenticationProvider createProviderWhichBlocks(CountDownLatch started, CountDownLatch cancelled) {
+		AuthenticationProvider provider = mock(AuthenticationProvider.class);
+		given(provider.supports(any(Class.class))).willReturn(true);
+		given(provider.authenticate(any(Authentication.class))).willAnswer((invocation) -> {
+			started.countDown();
+			try {
+				Thread.sleep(Long.MAX_VALUE);
+				return null;
+			}
+			catch (InterruptedException ex) {
+				cancelled.countDown();
+				throw new AuthenticationServiceException("cancelled", ex);
+			}
+		});
+		return provider;
+	}
+
 	private AuthenticationProvider createProviderWhichThrows(final AuthenticationException ex) {
 		AuthenticationProvider provider = mock(AuthenticationProvider.class);
 		given(provider.supports(any(Class.class))).willReturn(true);
@@ -335,6 +514,36 @@ public class ProviderManagerTests {
 		return provider;
 	}
 
+	private AuthenticationProvider createProviderWhichAwaits(CountDownLatch started, Answer<Authentication> answer) {
+		AuthenticationProvider provider = mock(AuthenticationProvider.class);
+		given(provider.supports(any(Class.class))).willReturn(true);
+		given(provider.authenticate(any(Authentication.class))).willAnswer((invocation) -> {
+			assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+			return answer.answer(invocation);
+		});
+		return provider;
+	}
+
+	private AuthenticationProvider createProviderWhichReturnsAfterDelay(Authentication a) {
+		AuthenticationProvider provider = mock(AuthenticationProvider.class);
+		given(provider.supports(any(Class.class))).willReturn(true);
+		given(provider.authenticate(any(Authentication.class))).willAnswer((invocation) -> {
+			Thread.sleep(100);
+			return a;
+		});
+		return provider;
+	}
+
+	private AuthenticationProvider createProviderWhichThrowsAfterDelay(AuthenticationException ex) {
+		AuthenticationProvider provider = mock(AuthenticationProvider.class);
+		given(provider.supports(any(Class.class))).willReturn(true);
+		given(provider.authenticate(any(Authentication.class))).willAnswer((invocation) -> {
+			Thread.sleep(100);
+			throw ex;
+		});
+		return provider;
+	}
+
 	private AuthenticationProvider createProviderWhichReturns(final Authentication a) {
 		AuthenticationProvider provider = mock(AuthenticationProvider.class);
 		given(provider.supports(any(Class.class))).willReturn(true);
@@ -29,6 +29,7 @@ import reactor.test.StepVerifier;
 import org.springframework.context.MessageSource;
 import org.springframework.security.authentication.password.CompromisedPasswordDecision;
 import org.springframework.security.authentication.password.CompromisedPasswordException;
+import org.springframework.security.authentication.password.PasswordVerificationExecutor;
 import org.springframework.security.authentication.password.ReactiveCompromisedPasswordChecker;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
@@ -106,6 +107,60 @@ public class UserDetailsRepositoryReactiveAuthenticationManagerTests {
 		verify(this.scheduler).schedule(any());
 	}
 
+	@Test
+	public void setPasswordVerificationExecutorWhenNullThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.manager.setPasswordVerificationExecutor(null));
+	}
+
+	@Test
+	public void authenticateWhenPasswordVerificationExecutorThenVerifiesOnExecutor() {
+		given(this.userDetailsService.findByUsername(any())).willReturn(Mono.just(this.user));
+		given(this.encoder.matches(any(), any())).willReturn(true);
+		this.manager.setPasswordEncoder(this.encoder);
+		try (PasswordVerificationExecutor executor = new PasswordVerificationExecutor(1, 1)) {
+			this.manager.setPasswordVerificationExecutor(executor);
+			UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.unauthenticated(this.user,
+					this.user.getPassword());
+			StepVerifier.create(this.manager.authenticate(token))
+				.assertNext((authentication) -> assertThat(authentication.isAuthenticated()).isTrue())
+				.verifyComplete();
+			assertThat(executor.getVerificationCount()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	public void authenticateWhenPasswordVerificationExecutorThenContinuesOnScheduler() {
+		given(this.userDetailsService.findByUsername(any())).willReturn(Mono.just(this.user));
+		given(this.encoder.matches(any(), any())).willReturn(true);
+		this.manager.setPasswordEncoder(this.encoder);
+		Scheduler scheduler = Schedulers.newSingle("authentication");
+		this.manager.setScheduler(scheduler);
+		try (PasswordVerificationExecutor executor = new PasswordVerificationExecutor(1, 1)) {
+			this.manager.setPasswordVerificationExecutor(executor);
+			UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.unauthenticated(this.user,
+					this.user.getPassword());
+			StepVerifier.create(this.manager.authenticate(token).map((authentication) -> Thread.currentThread()))
+				.assertNext((thread) -> assertThat(thread.getName()).startsWith("authentication"))
+				.verifyComplete();
+		}
+		finally {
+			scheduler.dispose();
+		}
+	}
+
+	@Test
+	public void authenticateWhenPasswordVerificationExecutorAndBadCredentialsThenBadCredentials() {
+		given(this.userDetailsService.findByUsername(any())).willReturn(Mono.just(this.user));
+		given(this.encoder.matches(any(), any())).willReturn(false);
+		this.manager.setPasswordEncoder(this.encoder);
+		try (PasswordVerificationExecutor executor = new PasswordVerificationExecutor(1, 1)) {
+			this.manager.setPasswordVerificationExecutor(executor);
+			UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.unauthenticated(this.user,
+					this.user.getPassword());
+			StepVerifier.create(this.manager.authenticate(token)).expectError(BadCredentialsException.class).verify();
+		}
+	}
+
 	@Test
 	public void authenticateWhenPasswordServiceThenUpdated() {
 		String encodedPassword = "encoded";
@@ -38,6 +38,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.authentication.password.CompromisedPasswordChecker;
 import org.springframework.security.authentication.password.CompromisedPasswordDecision;
 import org.springframework.security.authentication.password.CompromisedPasswordException;
+import org.springframework.security.authentication.password.PasswordVerificationExecutor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.AuthorityUtils;
@@ -425,6 +426,104 @@ public class DaoAuthenticationProviderTests {
 		assertThat(daoAuthenticationProvider.getPasswordEncoder()).isSameAs(NoOpPasswordEncoder.getInstance());
 	}
 
+	@Test
+	public void setPasswordVerificationExecutorWhenNullThenIllegalArgumentException() {
+		DaoAuthenticationProvider provider = createProvider(new MockUserDetailsServiceUserRod());
+		assertThatIllegalArgumentException().isThrownBy(() -> provider.setPasswordVerificationExecutor(null));
+	}
+
+	@Test
+	public void authenticateWhenPasswordVerificationExecutorThenVerifiesOnExecutor() {
+		DaoAuthenticationProvider provider = createProvider(new MockUserDetailsServiceUserRod());
+		try (PasswordVerificationExecutor executor = new PasswordVerificationExecutor(1, 1)) {
+			provider.setPasswordVerificationExecutor(executor);
+			Authentication result = provider
+				.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("rod", "koala"));
+			assertThat(result.isAuthenticated()).isTrue();
+			assertThatExceptionOfType(BadCredentialsException.class).isThrownBy(
+					() -> provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("rod", "wrong")));
+			assertThat(executor.getVerificationCount()).isEqualTo(2);
+		}
+	}
+
+	@Test
+	public void setVerifiedCredentialsCacheWhenNullThenIllegalArgumentException() {
+		DaoAuthenticationProvider provider = createProvider(new MockUserDetailsServiceUserRod());
+		assertThatIllegalArgumentException().isThrownBy(() -> provider.setVerifiedCredentialsCache(null));
+	}
+
+	@Test
+	public void authenticateWhenVerifiedCredentialsCacheThenVerifiesOnce() {
+		PasswordEncoder encoder = mock(PasswordEncoder.class);
+		UserDetailsService userDetailsService = mock(UserDetailsService.class);
+		DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+		provider.setPasswordEncoder(encoder);
+		VerifiedCredentialsCache cache = new VerifiedCredentialsCache();
+		provider.setVerifiedCredentialsCache(cache);
+		given(encoder.matches(any(), any())).willReturn(true);
+		given(userDetailsService.loadUserByUsername(any())).willReturn(PasswordEncodedUser.user());
+		provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "password"));
+		provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "password"));
+		verify(encoder, times(1)).matches("password", PasswordEncodedUser.user().getPassword());
+		assertThat(cache.getHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void authenticateWhenVerifiedCredentialsCacheAndWrongPasswordThenBadCredentials() {
+		DaoAuthenticationProvider provider = createProvider(new MockUserDetailsServiceUserRod());
+		provider.setVerifiedCredentialsCache(new VerifiedCredentialsCache());
+		provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("rod", "koala"));
+		assertThatExceptionOfType(BadCredentialsException.class).isThrownBy(
+				() -> provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("rod", "wrong")));
+	}
+
+	@Test
+	public void authenticateWhenVerifiedCredentialsCacheAndPasswordUpgradedThenEvicted() {
+		PasswordEncoder encoder = mock(PasswordEncoder.class);
+		UserDetailsService userDetailsService = mock(UserDetailsService.class);
+		UserDetailsPasswordService passwordManager = mock(UserDetailsPasswordService.class);
+		DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+		provider.setPasswordEncoder(encoder);
+		provider.setUserDetailsPasswordService(passwordManager);
+		VerifiedCredentialsCache cache = new VerifiedCredentialsCache();
+		provider.setVerifiedCredentialsCache(cache);
+		UserDetails user = PasswordEncodedUser.user();
+		given(encoder.matches(any(), any())).willReturn(true);
+		given(encoder.upgradeEncoding(any())).willReturn(true);
+		given(encoder.encode(any())).willReturn("encoded");
+		given(userDetailsService.loadUserByUsername(any())).willReturn(user);
+		given(passwordManager.updatePassword(any(), any())).willReturn(user);
+		provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "password"));
+		assertThat(cache.isVerified(user, "password")).isFalse();
+	}
+
+	@Test
+	public void setPasswordUpgradePipelineWhenNullThenIllegalArgumentException() {
+		DaoAuthenticationProvider provider = createProvider(new MockUserDetailsServiceUserRod());
+		assertThatIllegalArgumentException().isThrownBy(() -> provider.setPasswordUpgradePipeline(null));
+	}
+
+	@Test
+	public void authenticateWhenPasswordUpgradePipelineThenUpgradeSubmitted() {
+		PasswordEncoder encoder = mock(PasswordEncoder.class);
+		UserDetailsService userDetailsService = mock(UserDetailsService.class);
+		UserDetailsPasswordService passwordManager = mock(UserDetailsPasswordService.class);
+		DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+		provider.setPasswordEncoder(encoder);
+		provider.setUserDetailsPasswordService(passwordManager);
+		given(encoder.matches(any(), any())).willReturn(true);
+		given(encoder.upgradeEncoding(any())).willReturn(true);
+		given(userDetailsService.loadUserByUsername(any())).willReturn(PasswordEncodedUser.user());
+		try (PasswordUpgradePipeline pipeline = new PasswordUpgradePipeline(userDetailsService, passwordManager,
+				encoder)) {
+			provider.setPasswordUpgradePipeline(pipeline);
+			provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "password"));
+			assertThat(pipeline.getPendingCount()).isEqualTo(1);
+			verify(encoder, times(0)).encode("password");
+			verifyNoMoreInteractions(passwordManager);
+		}
+	}
+
 	// SEC-2056
 	@Test
 	@EnabledIfSystemProperty(named = "spring.security.timing-tests", matches = "true")
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authentication.dao;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link PasswordUpgradePipeline}.
+ */
+class PasswordUpgradePipelineTests {
+
+	private final PasswordEncoder encoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+
+	private final UserDetails user = user("user");
+
+	private InMemoryUserDetailsManager users;
+
+	private PasswordUpgradePipeline pipeline;
+
+	@BeforeEach
+	void setup() {
+		this.users = new InMemoryUserDetailsManager(this.user, user("other"));
+		this.pipeline = new PasswordUpgradePipeline(this.users, this.users, this.encoder, 1);
+		this.pipeline.setFlushInterval(Duration.ofHours(1));
+	}
+
+	@AfterEach
+	void cleanup() {
+		this.pipeline.close();
+	}
+
+	@Test
+	void constructorWhenNoEncodingThreadsThenIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new PasswordUpgradePipeline(this.users, this.users, this.encoder, 0))
+			.withMessage("encodingThreads must be greater than 0");
+	}
+
+	@Test
+	void flushWhenSubmittedThenUpgradesStoredPassword() {
+		assertThat(this.pipeline.submit(this.user, "password")).isTrue();
+		assertThat(this.pipeline.getPendingCount()).isEqualTo(1);
+		assertThat(this.pipeline.flush()).isEqualTo(1);
+		String upgraded = this.users.loadUserByUsername("user").getPassword();
+		assertThat(upgraded).startsWith("{bcrypt}");
+		assertThat(this.encoder.matches("password", upgraded)).isTrue();
+		assertThat(this.pipeline.getUpgradedCount()).isEqualTo(1);
+		assertThat(this.pipeline.getPendingCount()).isZero();
+	}
+
+	@Test
+	void submitWhenSameUserTwiceThenUpgradedOnce() {
+		this.pipeline.submit(this.user, "password");
+		this.pipeline.submit(this.user, "password");
+		assertThat(this.pipeline.getSubmittedCount()).isEqualTo(2);
+		assertThat(this.pipeline.getPendingCount()).isEqualTo(1);
+		assertThat(this.pipeline.flush()).isEqualTo(1);
+		assertThat(this.pipeline.getUpgradedCount()).isEqualTo(1);
+	}
+
+	@Test
+	void submitWhenTooManyPendingThenDropped() {
+		this.pipeline.setMaxPendingUpgrades(1);
+		assertThat(this.pipeline.submit(this.user, "password")).isTrue();
+		assertThat(this.pipeline.submit(this.users.loadUserByUsername("other"), "password")).isFalse();
+		assertThat(this.pipeline.getDroppedCount()).isEqualTo(1);
+		assertThat(this.pipeline.getPendingCount()).isEqualTo(1);
+	}
+
+	@Test
+	void flushWhenPasswordChangedSinceSubmittedThenSkipped() {
+		this.pipeline.submit(this.user, "password");
+		this.users.updatePassword(this.users.loadUserByUsername("user"), "{noop}changed");
+		this.pipeline.flush();
+		assertThat(this.users.loadUserByUsername("user").getPassword()).isEqualTo("{noop}changed");
+		assertThat(this.pipeline.getSkippedCount()).isEqualTo(1);
+		assertThat(this.pipeline.getUpgradedCount()).isZero();
+	}
+
+	@Test
+	void flushWhenMoreThanBatchSizeThenFlushesBatch() {
+		this.pipeline.setBatchSize(1);
+		this.pipeline.submit(this.user, "password");
+		this.pipeline.submit(this.users.loadUserByUsername("other"), "password");
+		assertThat(this.pipeline.flush()).isEqualTo(1);
+		assertThat(this.pipeline.getPendingCount()).isEqualTo(1);
+	}
+
+	@Test
+	void closeWhenPendingThenWritesPendingUpgrades() {
+		this.pipeline.submit(this.user, "password");
+		this.pipeline.submit(this.users.loadUserByUsername("other"), "password");
+		this.pipeline.setBatchSize(1);
+		this.pipeline.close();
+		assertThat(this.pipeline.getUpgradedCount()).isEqualTo(2);
+		assertThat(this.users.loadUserByUsername("other").getPassword()).startsWith("{bcrypt}");
+	}
+
+	@Test
+	void submitWhenClosedThenDropped() {
+		this.pipeline.close();
+		assertThat(this.pipeline.submit(this.user, "password")).isFalse();
+		assertThat(this.pipeline.getDroppedCount()).isEqualTo(1);
+		assertThat(this.pipeline.getPendingCount()).isZero();
+		assertThat(this.pipeline.flush()).isZero();
+	}
+
+	@Test
+	void flushWhenPendingLongerThanMaxPendingTimeThenDiscarded() {
+		Instant now = Instant.now();
+		this.pipeline.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		this.pipeline.setMaxPendingTime(Duration.ofMinutes(1));
+		this.pipeline.submit(this.user, "password");
+		this.pipeline.setClock(Clock.fixed(now.plus(Duration.ofMinutes(2)), ZoneOffset.UTC));
+		this.pipeline.submit(this.users.loadUserByUsername("other"), "password");
+		assertThat(this.pipeline.flush()).isEqualTo(1);
+		assertThat(this.pipeline.getDroppedCount()).isEqualTo(1);
+		assertThat(this.users.loadUserByUsername("user").getPassword()).isEqualTo("{noop}password");
+		assertThat(this.users.loadUserByUsername("other").getPassword()).startsWith("{bcrypt}");
+	}
+
+	@Test
+	void setMaxPendingTimeWhenZeroThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.pipeline.setMaxPendingTime(Duration.ZERO))
+			.withMessage("maxPendingTime must be positive");
+	}
+
+	private static UserDetails user(String username) {
+		return User.withUsername(username).password("{noop}password").roles("USER").build();
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authentication.dao;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link VerifiedCredentialsCache}.
+ */
+class VerifiedCredentialsCacheTests {
+
+	private final UserDetails user = user("user", "{noop}password");
+
+	private final VerifiedCredentialsCache cache = new VerifiedCredentialsCache();
+
+	@Test
+	void constructorWhenTimeToLiveNotPositiveThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new VerifiedCredentialsCache(Duration.ZERO, 1))
+			.withMessage("timeToLive must be positive");
+	}
+
+	@Test
+	void constructorWhenMaximumSizeNotPositiveThenIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new VerifiedCredentialsCache(Duration.ofSeconds(1), 0))
+			.withMessage("maximumSize must be between 1 and 2^30");
+	}
+
+	@Test
+	void isVerifiedWhenVerifiedThenHit() {
+		assertThat(this.cache.isVerified(this.user, "password")).isFalse();
+		this.cache.verified(this.user, "password");
+		assertThat(this.cache.isVerified(this.user, "password")).isTrue();
+		assertThat(this.cache.getHitCount()).isEqualTo(1);
+		assertThat(this.cache.getMissCount()).isEqualTo(1);
+		assertThat(this.cache.getHitRate()).isEqualTo(0.5);
+	}
+
+	@Test
+	void isVerifiedWhenOtherPasswordPresentedThenMiss() {
+		this.cache.verified(this.user, "password");
+		assertThat(this.cache.isVerified(this.user, "wrong")).isFalse();
+	}
+
+	@Test
+	void isVerifiedWhenStoredPasswordChangedThenMiss() {
+		this.cache.verified(this.user, "password");
+		assertThat(this.cache.isVerified(user("user", "{noop}changed"), "password")).isFalse();
+	}
+
+	@Test
+	void isVerifiedWhenOtherUserThenMiss() {
+		this.cache.verified(this.user, "password");
+		assertThat(this.cache.isVerified(user("other", "{noop}password"), "password")).isFalse();
+	}
+
+	@Test
+	void isVerifiedWhenExpiredThenMiss() {
+		Instant now = Instant.now();
+		VerifiedCredentialsCache cache = new VerifiedCredentialsCache(Duration.ofSeconds(30), 16);
+		cache.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		cache.verified(this.user, "password");
+		cache.setClock(Clock.fixed(now.plusSeconds(29), ZoneOffset.UTC));
+		assertThat(cache.isVerified(this.user, "password")).isTrue();
+		cache.setClock(Clock.fixed(now.plusSeconds(30), ZoneOffset.UTC));
+		assertThat(cache.isVerified(this.user, "password")).isFalse();
+	}
+
+	@Test
+	void isVerifiedWhenEvictedThenMiss() {
+		this.cache.verified(this.user, "password");
+		this.cache.evict("user");
+		assertThat(this.cache.isVerified(this.user, "password")).isFalse();
+	}
+
+	@Test
+	void verifiedWhenFullThenBounded() {
+		VerifiedCredentialsCache cache = new VerifiedCredentialsCache(Duration.ofSeconds(30), 1);
+		cache.verified(this.user, "password");
+		UserDetails other = user("other", "{noop}password");
+		cache.verified(other, "password");
+		assertThat(cache.isVerified(other, "password")).isTrue();
+		assertThat(cache.isVerified(this.user, "password")).isFalse();
+	}
+
+	@Test
+	void getHitRateWhenUnusedThenZero() {
+		assertThat(this.cache.getHitRate()).isZero();
+	}
+
+	private static UserDetails user(String username, String password) {
+		return User.withUsername(username).password(password).roles("USER").build();
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authentication.password;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link PasswordVerificationExecutor}.
+ */
+class PasswordVerificationExecutorTests {
+
+	@Test
+	void constructorWhenNoThreadsThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new PasswordVerificationExecutor(0, 1))
+			.withMessage("threads must be greater than 0");
+	}
+
+	@Test
+	void constructorWhenNoQueueThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new PasswordVerificationExecutor(1, 0))
+			.withMessage("queueCapacity must be greater than 0");
+	}
+
+	@Test
+	void matchesWhenVerifiedThenRecordsHashingTime() {
+		try (PasswordVerificationExecutor executor = new PasswordVerificationExecutor(1, 1)) {
+			PasswordEncoder encoder = NoOpPasswordEncoder.getInstance();
+			assertThat(executor.matches(encoder, "password", "password")).isTrue();
+			assertThat(executor.matches(encoder, "password", "wrong")).isFalse();
+			assertThat(executor.getVerificationCount()).isEqualTo(2);
+			assertThat(executor.getTotalHashingNanos()).isGreaterThanOrEqualTo(executor.getMaxHashingNanos());
+			assertThat(executor.getRejectedCount()).isZero();
+		}
+	}
+
+	@Test
+	void matchesWhenEncoderFailsThenThrowsFailure() {
+		PasswordEncoder encoder = mock(PasswordEncoder.class);
+		given(encoder.matches(any(), any())).willThrow(new IllegalStateException("failed"));
+		try (PasswordVerificationExecutor executor = new PasswordVerificationExecutor(1, 1)) {
+			assertThatExceptionOfType(IllegalStateException.class)
+				.isThrownBy(() -> executor.matches(encoder, "password", "password"))
+				.withMessage("failed");
+			assertThat(executor.getVerificationCount()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	void matchesAsyncWhenSaturatedThenRejected() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		PasswordEncoder encoder = mock(PasswordEncoder.class);
+		given(encoder.matches(any(), any())).willAnswer((invocation) -> {
+			started.countDown();
+			release.await();
+			return true;
+		});
+		try (PasswordVerificationExecutor executor = new PasswordVerificationExecutor(1, 1)) {
+			CompletableFuture<Boolean> running = executor.matchesAsync(encoder, "password", "password");
+			started.await();
+			CompletableFuture<Boolean> queued = executor.matchesAsync(encoder, "password", "password");
+			assertThat(executor.getQueueDepth()).isEqualTo(1);
+			assertThatExceptionOfType(AuthenticationServiceException.class)
+				.isThrownBy(() -> executor.matchesAsync(encoder, "password", "password"));
+			assertThat(executor.getRejectedCount()).isEqualTo(1);
+			release.countDown();
+			assertThat(running.get()).isTrue();
+			assertThat(queued.get()).isTrue();
+			assertThat(executor.getQueueDepth()).isZero();
+		}
+	}
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.authorization;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchyImpl;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.context.ThreadLocalSecurityContextHolderStrategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link AuthenticationSnapshot}.
+ */
+class AuthenticationSnapshotTests {
+
+	private final Authentication user = new TestingAuthenticationToken("user", "password", "ROLE_USER");
+
+	@Test
+	void ofWhenNullStrategyThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> AuthenticationSnapshot.of(null))
+			.withMessage("securityContextHolderStrategy cannot be null");
+	}
+
+	@Test
+	void getWhenCalledTwiceThenLooksUpContextOnce() {
+		SecurityContextHolderStrategy strategy = strategy(this.user);
+		AuthenticationSnapshot snapshot = AuthenticationSnapshot.of(strategy);
+		assertThat(snapshot.get()).isSameAs(this.user);
+		assertThat(snapshot.get()).isSameAs(this.user);
+		verify(strategy).getContext();
+	}
+
+	@Test
+	void getWhenNoAuthenticationThenAuthenticationCredentialsNotFoundException() {
+		AuthenticationSnapshot snapshot = AuthenticationSnapshot.of(strategy(null));
+		assertThatExceptionOfType(AuthenticationCredentialsNotFoundException.class).isThrownBy(snapshot::get)
+			.withMessage("An Authentication object was not found in the SecurityContext");
+	}
+
+	@Test
+	void getWhenAuthenticationChangedAfterLookupThenKeepsSnapshot() {
+		SecurityContextHolderStrategy strategy = new ThreadLocalSecurityContextHolderStrategy();
+		strategy.setContext(new SecurityContextImpl(this.user));
+		try {
+			AuthenticationSnapshot snapshot = AuthenticationSnapshot.of(strategy);
+			assertThat(snapshot.get()).isSameAs(this.user);
+			Authentication admin = new TestingAuthenticationToken("admin", "password", "ROLE_ADMIN");
+			strategy.getContext().setAuthentication(admin);
+			assertThat(snapshot.get()).isSameAs(this.user);
+			assertThat(AuthenticationSnapshot.of(strategy).get()).isSameAs(admin);
+		}
+		finally {
+			strategy.clearContext();
+		}
+	}
+
+	@Test
+	void currentWhenNotBoundThenNewSnapshot() {
+		SecurityContextHolderStrategy strategy = strategy(this.user);
+		assertThat(AuthenticationSnapshot.current(strategy)).isNotSameAs(AuthenticationSnapshot.current(strategy));
+	}
+
+	@Test
+	void currentWhenBoundThenSharesSnapshotUntilClosed() {
+		SecurityContextHolderStrategy strategy = new ThreadLocalSecurityContextHolderStrategy();
+		strategy.setContext(new SecurityContextImpl(this.user));
+		try {
+			try (AuthenticationSnapshot.Binding binding = AuthenticationSnapshot.bind(strategy)) {
+				assertThat(binding.getSnapshot().get()).isSameAs(this.user);
+				assertThat(AuthenticationSnapshot.current(strategy)).isSameAs(binding.getSnapshot());
+			}
+			assertThat(AuthenticationSnapshot.current(strategy)).isNotSameAs(AuthenticationSnapshot.current(strategy));
+		}
+		finally {
+			strategy.clearContext();
+		}
+	}
+
+	@Test
+	void currentWhenBoundForOtherStrategyThenNewSnapshot() {
+		SecurityContextHolderStrategy strategy = strategy(this.user);
+		try (AuthenticationSnapshot.Binding binding = AuthenticationSnapshot.bind(strategy(this.user))) {
+			assertThat(AuthenticationSnapshot.current(strategy)).isNotSameAs(binding.getSnapshot());
+		}
+	}
+
+	@Test
+	void currentWhenBoundAndAuthenticationChangedThenNewSnapshot() {
+		SecurityContextHolderStrategy strategy = new ThreadLocalSecurityContextHolderStrategy();
+		strategy.setContext(new SecurityContextImpl(this.user));
+		try (AuthenticationSnapshot.Binding binding = AuthenticationSnapshot.bind(strategy)) {
+			assertThat(binding.getSnapshot().get()).isSameAs(this.user);
+			Authentication admin = new TestingAuthenticationToken("admin", "password", "ROLE_ADMIN");
+			strategy.getContext().setAuthentication(admin);
+			assertThat(AuthenticationSnapshot.current(strategy).get()).isSameAs(admin);
+			strategy.setContext(new SecurityContextImpl(admin));
+			assertThat(AuthenticationSnapshot.current(strategy)).isNotSameAs(binding.getSnapshot());
+		}
+		finally {
+			strategy.clearContext();
+		}
+	}
+
+	@Test
+	void closeWhenNestedThenRestoresPrevious() {
+		SecurityContextHolderStrategy strategy = strategy(this.user);
+		try (AuthenticationSnapshot.Binding outer = AuthenticationSnapshot.bind(strategy)) {
+			try (AuthenticationSnapshot.Binding inner = AuthenticationSnapshot.bind(strategy)) {
+				assertThat(AuthenticationSnapshot.current(strategy)).isSameAs(inner.getSnapshot());
+			}
+			assertThat(AuthenticationSnapshot.current(strategy)).isSameAs(outer.getSnapshot());
+		}
+	}
+
+	@Test
+	void getReachableAuthoritiesWhenSameRoleHierarchyThenComputedOnce() {
+		RoleHierarchy roleHierarchy = mock(RoleHierarchy.class);
+		given(roleHierarchy.getReachableGrantedAuthorities(any()))
+			.willAnswer((invocation) -> AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_GUEST"));
+		AuthenticationSnapshot snapshot = AuthenticationSnapshot.of(strategy(this.user));
+		assertThat(AuthorityUtils.authorityListToSet(snapshot.getReachableAuthorities(roleHierarchy)))
+			.containsExactlyInAnyOrder("ROLE_USER", "ROLE_GUEST");
+		assertThat(AuthorityUtils.authorityListToSet(snapshot.getReachableAuthorities(roleHierarchy)))
+			.containsExactlyInAnyOrder("ROLE_USER", "ROLE_GUEST");
+		verify(roleHierarchy, times(1)).getReachableGrantedAuthorities(any());
+	}
+
+	@Test
+	void authorizeWhenSnapshotThenUsesReachableAuthorities() {
+		AuthoritiesAuthorizationManager manager = new AuthoritiesAuthorizationManager();
+		manager.setRoleHierarchy(RoleHierarchyImpl.fromHierarchy("ROLE_USER > ROLE_GUEST"));
+		AuthenticationSnapshot snapshot = AuthenticationSnapshot.of(strategy(this.user));
+		assertThat(manager.authorize(snapshot, List.of("ROLE_GUEST")).isGranted()).isTrue();
+		assertThat(manager.authorize(snapshot, List.of("ROLE_ADMIN")).isGranted()).isFalse();
+	}
+
+	private static SecurityContextHolderStrategy strategy(Authentication authentication) {
+		SecurityContextHolderStrategy strategy = mock(SecurityContextHolderStrategy.class);
+		given(strategy.getContext()).willReturn(new SecurityContextImpl(authentication));
+		return strategy;
+	}
+
+}
@@ -19,6 +19,7 @@ package org.springframework.security.authorization;
 import java.util.Optional;
 import java.util.function.Supplier;
 
+import io.micrometer.common.KeyValue;
 import io.micrometer.observation.Observation;
 import io.micrometer.observation.ObservationHandler;
 import io.micrometer.observation.ObservationRegistry;
@@ -27,6 +28,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
 import org.springframework.context.MessageSource;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -109,6 +112,30 @@ public class ObservationAuthorizationManagerTests {
 		assertThat(context.getAuthorizationResult()).isEqualTo(this.deny);
 	}
 
+	@Test
+	void verifyWhenExpressionDecisionThenObservesExpression() {
+		Expression expression = new SpelExpressionParser().parseExpression("hasRole('USER')");
+		given(this.handler.supportsContext(any())).willReturn(true);
+		given(this.authorizationManager.authorize(any(), any()))
+			.willReturn(new ExpressionAuthorizationDecision(true, expression));
+		this.tested.verify(this.token, this.object);
+		ArgumentCaptor<Observation.Context> captor = ArgumentCaptor.forClass(Observation.Context.class);
+		verify(this.handler).onStop(captor.capture());
+		assertThat(captor.getValue().getHighCardinalityKeyValue("spring.security.authorization.expression"))
+			.extracting(KeyValue::getValue)
+			.isEqualTo("hasRole('USER')");
+	}
+
+	@Test
+	void verifyWhenNotExpressionDecisionThenNoExpressionKeyValue() {
+		given(this.handler.supportsContext(any())).willReturn(true);
+		given(this.authorizationManager.authorize(any(), any())).willReturn(this.grant);
+		this.tested.verify(this.token, this.object);
+		ArgumentCaptor<Observation.Context> captor = ArgumentCaptor.forClass(Observation.Context.class);
+		verify(this.handler).onStop(captor.capture());
+		assertThat(captor.getValue().getHighCardinalityKeyValue("spring.security.authorization.expression")).isNull();
+	}
+
 	@Test
 	void verifyWhenLooksUpAuthenticationThenObserves() {
 		given(this.handler.supportsContext(any())).willReturn(true);
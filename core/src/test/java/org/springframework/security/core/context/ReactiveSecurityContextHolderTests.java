@@ -18,6 +18,7 @@ package org.springframework.security.core.context;
 
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledOnJre;
@@ -30,6 +31,8 @@ import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.Authentication;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 /**
  * @author Rob Winch
  * @since 5.0
@@ -45,6 +48,43 @@ public class ReactiveSecurityContextHolderTests {
 		// @formatter:on
 	}
 
+	@Test
+	public void getContextWhenResolvedSecurityContextThenSubscribesOnce() {
+		SecurityContext expectedContext = new SecurityContextImpl(new TestingAuthenticationToken("user", "password"));
+		AtomicInteger subscriptions = new AtomicInteger();
+		Mono<SecurityContext> source = Mono.fromSupplier(() -> {
+			subscriptions.incrementAndGet();
+			return expectedContext;
+		});
+		// @formatter:off
+		Mono<SecurityContext> context = ReactiveSecurityContextHolder.getContext()
+				.then(ReactiveSecurityContextHolder.getContext())
+				.contextWrite(ReactiveSecurityContextHolder.withResolvedSecurityContext(source));
+		StepVerifier.create(context)
+				.expectNext(expectedContext)
+				.verifyComplete();
+		// @formatter:on
+		assertThat(subscriptions).hasValue(1);
+	}
+
+	@Test
+	public void getContextWhenResolvedSecurityContextErrorsThenSubscribesAgain() {
+		AtomicInteger subscriptions = new AtomicInteger();
+		Mono<SecurityContext> source = Mono.fromSupplier(() -> {
+			subscriptions.incrementAndGet();
+			throw new IllegalStateException("failed");
+		});
+		// @formatter:off
+		Mono<SecurityContext> context = ReactiveSecurityContextHolder.getContext()
+				.onErrorResume((ex) -> Mono.empty())
+				.then(ReactiveSecurityContextHolder.getContext())
+				.contextWrite(ReactiveSecurityContextHolder.withResolvedSecurityContext(source));
+		StepVerifier.create(context)
+				.verifyError(IllegalStateException.class);
+		// @formatter:on
+		assertThat(subscriptions).hasValue(2);
+	}
+
 	@Test
 	public void setContextAndGetContextThenEmitsContext() {
 		SecurityContext expectedContext = new SecurityContextImpl(
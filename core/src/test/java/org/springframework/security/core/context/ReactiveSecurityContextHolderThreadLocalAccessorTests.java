@@ -17,6 +17,7 @@
 package org.springframework.security.core.context;
 
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -68,6 +69,23 @@ public class ReactiveSecurityContextHolderThreadLocalAccessorTests {
 		assertThat(this.threadLocalAccessor.getValue()).isSameAs(mono);
 	}
 
+	@Test
+	public void getValueWhenResolvedSecurityContextThenPropagatesResolvedContext() {
+		SecurityContext securityContext = new SecurityContextImpl(new TestingAuthenticationToken("user", "password"));
+		AtomicInteger subscriptions = new AtomicInteger();
+		Mono<SecurityContext> source = Mono.fromSupplier(() -> {
+			subscriptions.incrementAndGet();
+			return securityContext;
+		});
+		Mono<SecurityContext> resolved = ReactiveSecurityContextHolder.withResolvedSecurityContext(source)
+			.get(SecurityContext.class);
+		this.threadLocalAccessor.setValue(resolved);
+
+		assertThat(this.threadLocalAccessor.getValue().block()).isSameAs(securityContext);
+		assertThat(this.threadLocalAccessor.getValue().block()).isSameAs(securityContext);
+		assertThat(subscriptions).hasValue(1);
+	}
+
 	@Test
 	public void getValueWhenThreadLocalSetOnAnotherThreadThenReturnsNull() throws InterruptedException {
 		CountDownLatch threadLocalSet = new CountDownLatch(1);
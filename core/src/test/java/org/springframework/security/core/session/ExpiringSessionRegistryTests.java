@@ -0,0 +1,248 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.core.context.SecurityContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link ExpiringSessionRegistry}.
+ */
+class ExpiringSessionRegistryTests {
+
+	private final MutableClock clock = new MutableClock();
+
+	private final ExpiringSessionRegistry sessionRegistry = new ExpiringSessionRegistry(Duration.ofMinutes(32));
+
+	@BeforeEach
+	void setUp() {
+		this.sessionRegistry.setClock(this.clock);
+	}
+
+	@Test
+	void constructorWhenIntervalTooSmallThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new ExpiringSessionRegistry(Duration.ofMillis(10)));
+	}
+
+	@Test
+	void registerNewSessionThenRegistered() {
+		this.sessionRegistry.registerNewSession("1234", "user");
+		this.sessionRegistry.registerNewSession("5678", "user");
+		assertThat(this.sessionRegistry.getAllPrincipals()).containsExactly("user");
+		assertThat(this.sessionRegistry.getAllSessions("user", false)).extracting(SessionInformation::getSessionId)
+			.containsExactlyInAnyOrder("1234", "5678");
+		assertThat(this.sessionRegistry.getSessionInformation("1234").getPrincipal()).isEqualTo("user");
+		assertThat(this.sessionRegistry.getSessionCount()).isEqualTo(2);
+		assertThat(this.sessionRegistry.getPrincipalCount()).isEqualTo(1);
+	}
+
+	@Test
+	void removeSessionInformationWhenLastSessionThenPrincipalRemoved() {
+		this.sessionRegistry.registerNewSession("1234", "user");
+		this.sessionRegistry.removeSessionInformation("1234");
+		assertThat(this.sessionRegistry.getSessionInformation("1234")).isNull();
+		assertThat(this.sessionRegistry.getAllPrincipals()).isEmpty();
+		assertThat(this.sessionRegistry.getAllSessions("user", true)).isEmpty();
+	}
+
+	@Test
+	void getAllSessionsWhenExpiredThenOnlyIncludedWhenRequested() {
+		this.sessionRegistry.registerNewSession("1234", "user");
+		this.sessionRegistry.getSessionInformation("1234").expireNow();
+		assertThat(this.sessionRegistry.getAllSessions("user", false)).isEmpty();
+		assertThat(this.sessionRegistry.getAllSessions("user", true)).hasSize(1);
+	}
+
+	@Test
+	void onApplicationEventWhenSessionDestroyedThenRemoved() {
+		this.sessionRegistry.registerNewSession("1234", "user");
+		this.sessionRegistry.onApplicationEvent(new SessionDestroyedEvent("") {
+			@Override
+			public String getId() {
+				return "1234";
+			}
+
+			@Override
+			public List<SecurityContext> getSecurityContexts() {
+				return null;
+			}
+		});
+		assertThat(this.sessionRegistry.getSessionInformation("1234")).isNull();
+	}
+
+	@Test
+	void onApplicationEventWhenSessionIdChangedThenRegisteredUnderNewId() {
+		this.sessionRegistry.registerNewSession("1234", "user");
+		this.sessionRegistry.onApplicationEvent(new SessionIdChangedEvent("") {
+			@Override
+			public String getOldSessionId() {
+				return "1234";
+			}
+
+			@Override
+			public String getNewSessionId() {
+				return "5678";
+			}
+		});
+		assertThat(this.sessionRegistry.getSessionInformation("1234")).isNull();
+		assertThat(this.sessionRegistry.getSessionInformation("5678").getPrincipal()).isEqualTo("user");
+	}
+
+	@Test
+	void refreshLastRequestThenLastRequestUpdated() {
+		this.sessionRegistry.registerNewSession("1234", "user");
+		this.clock.advance(Duration.ofMinutes(1));
+		this.sessionRegistry.refreshLastRequest("1234");
+		assertThat(this.sessionRegistry.getSessionInformation("1234").getLastRequest())
+			.isEqualTo(new Date(this.clock.millis()));
+	}
+
+	@Test
+	void refreshLastRequestWhenSessionInactiveThenEvicted() {
+		this.sessionRegistry.registerNewSession("1234", "user");
+		this.sessionRegistry.registerNewSession("5678", "other");
+		this.clock.advance(Duration.ofMinutes(20));
+		this.sessionRegistry.refreshLastRequest("5678");
+		this.clock.advance(Duration.ofMinutes(20));
+		this.sessionRegistry.refreshLastRequest("5678");
+		assertThat(this.sessionRegistry.getSessionInformation("1234")).isNull();
+		assertThat(this.sessionRegistry.getSessionInformation("5678")).isNotNull();
+		assertThat(this.sessionRegistry.getAllPrincipals()).containsExactly("other");
+		assertThat(this.sessionRegistry.getEvictedSessionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void registerNewSessionWhenMaximumSessionsThenLeastRecentlyUsedEvicted() {
+		this.sessionRegistry.setMaximumSessions(2);
+		this.sessionRegistry.registerNewSession("1", "user");
+		this.clock.advance(Duration.ofMinutes(1));
+		this.sessionRegistry.registerNewSession("2", "user");
+		this.clock.advance(Duration.ofMinutes(1));
+		this.sessionRegistry.refreshLastRequest("1");
+		this.clock.advance(Duration.ofMinutes(1));
+		this.sessionRegistry.registerNewSession("3", "user");
+		assertThat(this.sessionRegistry.getAllSessions("user", true)).extracting(SessionInformation::getSessionId)
+			.containsExactlyInAnyOrder("1", "3");
+		assertThat(this.sessionRegistry.getEvictedSessionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void registerNewSessionWhenMaximumSessionsInSameTickThenNewSessionKept() {
+		this.sessionRegistry.setMaximumSessions(1);
+		this.sessionRegistry.registerNewSession("1", "user");
+		this.sessionRegistry.registerNewSession("2", "user");
+		assertThat(this.sessionRegistry.getSessionInformation("1")).isNull();
+		assertThat(this.sessionRegistry.getSessionInformation("2")).isNotNull();
+	}
+
+	@Test
+	void refreshLastRequestWhenManySessionsInactiveThenEvictsInBatches() {
+		for (int i = 0; i < 100; i++) {
+			this.sessionRegistry.registerNewSession("session" + i, "user");
+		}
+		this.clock.advance(Duration.ofMinutes(33));
+		this.sessionRegistry.refreshLastRequest("other");
+		assertThat(this.sessionRegistry.getEvictedSessionCount()).isEqualTo(32);
+		for (int i = 0; i < 3; i++) {
+			this.sessionRegistry.refreshLastRequest("other");
+		}
+		assertThat(this.sessionRegistry.getEvictedSessionCount()).isEqualTo(100);
+		assertThat(this.sessionRegistry.getAllPrincipals()).isEmpty();
+	}
+
+	@Test
+	void refreshLastRequestWhenSessionInformationThenUsesClock() {
+		this.sessionRegistry.registerNewSession("1234", "user");
+		SessionInformation sessionInformation = this.sessionRegistry.getSessionInformation("1234");
+		this.clock.advance(Duration.ofMinutes(5));
+		sessionInformation.refreshLastRequest();
+		assertThat(sessionInformation.getLastRequest()).isEqualTo(Date.from(this.clock.instant()));
+	}
+
+	@Test
+	void refreshLastRequestWhenSessionInformationDeserializedThenRefreshed() throws Exception {
+		this.sessionRegistry.registerNewSession("1234", "user");
+		SessionInformation sessionInformation = deserialize(
+				serialize(this.sessionRegistry.getSessionInformation("1234")));
+		Date before = new Date();
+		sessionInformation.refreshLastRequest();
+		assertThat(sessionInformation.getLastRequest()).isAfterOrEqualTo(before);
+	}
+
+	@Test
+	void setMaximumSessionsWhenNotPositiveThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.sessionRegistry.setMaximumSessions(0));
+	}
+
+	private static byte[] serialize(Object object) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(object);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static SessionInformation deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+			return (SessionInformation) in.readObject();
+		}
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant instant = Instant.parse("2026-01-01T00:00:00Z");
+
+		void advance(Duration duration) {
+			this.instant = this.instant.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return this.instant;
+		}
+
+	}
+
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.core.session;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.init.ConnectionFactoryInitializer;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link R2dbcReactiveSessionRegistry}.
+ */
+class R2dbcReactiveSessionRegistryTests {
+
+	private static final String SESSION_REGISTRY_SCHEMA_SQL_RESOURCE = "org/springframework/security/core/session/session-registry-schema.sql";
+
+	private final Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+	private final UserDetails user = User.withUsername("user").password("password").roles("USER").build();
+
+	private DatabaseClient databaseClient;
+
+	private R2dbcReactiveSessionRegistry sessionRegistry;
+
+	@BeforeEach
+	void setUp() {
+		this.databaseClient = DatabaseClient.create(createDb());
+		this.sessionRegistry = new R2dbcReactiveSessionRegistry(this.databaseClient);
+		this.sessionRegistry.setClock(Clock.fixed(this.now, ZoneOffset.UTC));
+	}
+
+	@Test
+	void constructorWhenDatabaseClientIsNullThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new R2dbcReactiveSessionRegistry(null))
+			.withMessage("databaseClient cannot be null");
+	}
+
+	@Test
+	void getAllSessionsWhenSavedThenReturnsSessionsOfPrincipal() {
+		save(this.user, "1234", this.now.minusSeconds(60));
+		save(this.user, "5678", this.now.minusSeconds(30));
+		save("admin", "9999", this.now);
+		StepVerifier.create(this.sessionRegistry.getAllSessions(this.user))
+			.assertNext((information) -> {
+				assertThat(information.getSessionId()).isEqualTo("5678");
+				assertThat(information.getPrincipal()).isSameAs(this.user);
+				assertThat(information.getLastAccessTime()).isEqualTo(this.now.minusSeconds(30));
+			})
+			.assertNext((information) -> assertThat(information.getSessionId()).isEqualTo("1234"))
+			.verifyComplete();
+	}
+
+	@Test
+	void getAllSessionsWhenMaxSessionsPerPrincipalThenReadsMostRecentlyUsed() {
+		save(this.user, "1234", this.now.minusSeconds(60));
+		save(this.user, "5678", this.now.minusSeconds(30));
+		this.sessionRegistry.setMaxSessionsPerPrincipal(1);
+		StepVerifier.create(sessionIds(this.sessionRegistry.getAllSessions(this.user)))
+			.expectNext("5678")
+			.verifyComplete();
+	}
+
+	@Test
+	void getAllSessionsWhenInactiveOrInvalidatedThenNotReturned() {
+		save(this.user, "1234", this.now.minus(Duration.ofMinutes(31)));
+		save(this.user, "5678", this.now);
+		save(this.user, "9999", this.now);
+		invalidate("9999");
+		StepVerifier.create(sessionIds(this.sessionRegistry.getAllSessions(this.user)))
+			.expectNext("5678")
+			.verifyComplete();
+		StepVerifier.create(this.sessionRegistry.getSessionInformation("9999"))
+			.assertNext((information) -> assertThat(information.isExpired()).isTrue())
+			.verifyComplete();
+	}
+
+	@Test
+	void saveSessionInformationWhenExistsThenUpdates() {
+		save(this.user, "1234", this.now.minusSeconds(60));
+		save(this.user, "1234", this.now);
+		StepVerifier.create(this.sessionRegistry.getAllSessions(this.user))
+			.assertNext((information) -> assertThat(information.getLastAccessTime()).isEqualTo(this.now))
+			.verifyComplete();
+	}
+
+	@Test
+	void saveSessionInformationWhenSavedConcurrentlyThenSavedOnce() {
+		ReactiveSessionInformation information = new ReactiveSessionInformation(this.user, "1234", this.now);
+		StepVerifier
+			.create(Flux.range(0, 16)
+				.flatMap((i) -> this.sessionRegistry.saveSessionInformation(information)
+					.subscribeOn(Schedulers.parallel())))
+			.verifyComplete();
+		StepVerifier.create(sessionIds(this.sessionRegistry.getAllSessions(this.user)))
+			.expectNext("1234")
+			.verifyComplete();
+	}
+
+	@Test
+	void getSessionInformationWhenNotFoundThenEmpty() {
+		StepVerifier.create(this.sessionRegistry.getSessionInformation("1234")).verifyComplete();
+	}
+
+	@Test
+	void getSessionInformationWhenFoundThenPrincipalName() {
+		save(this.user, "1234", this.now);
+		StepVerifier.create(this.sessionRegistry.getSessionInformation("1234"))
+			.assertNext((information) -> assertThat(information.getPrincipal()).isEqualTo("user"))
+			.verifyComplete();
+	}
+
+	@Test
+	void removeSessionInformationWhenFoundThenRemovesAndReturns() {
+		save(this.user, "1234", this.now);
+		StepVerifier.create(sessionIds(this.sessionRegistry.removeSessionInformation("1234").flux()))
+			.expectNext("1234")
+			.verifyComplete();
+		StepVerifier.create(this.sessionRegistry.getSessionInformation("1234")).verifyComplete();
+	}
+
+	@Test
+	void updateLastAccessTimeWhenFoundThenUpdates() {
+		save(this.user, "1234", this.now.minusSeconds(60));
+		StepVerifier.create(this.sessionRegistry.updateLastAccessTime("1234"))
+			.assertNext((information) -> assertThat(information.getLastAccessTime()).isEqualTo(this.now))
+			.verifyComplete();
+	}
+
+	@Test
+	void updateLastAccessTimeWhenNotFoundThenEmpty() {
+		StepVerifier.create(this.sessionRegistry.updateLastAccessTime("1234")).verifyComplete();
+	}
+
+	@Test
+	void removeExpiredSessionsThenRemovesInactiveAndInvalidatedSessions() {
+		save(this.user, "1234", this.now.minus(Duration.ofMinutes(31)));
+		save(this.user, "5678", this.now);
+		save(this.user, "9999", this.now);
+		invalidate("9999");
+		StepVerifier.create(this.sessionRegistry.removeExpiredSessions()).expectNext(2L).verifyComplete();
+		StepVerifier.create(this.sessionRegistry.getSessionInformation("1234")).verifyComplete();
+		StepVerifier.create(sessionIds(this.sessionRegistry.getSessionInformation("5678").flux()))
+			.expectNext("5678")
+			.verifyComplete();
+	}
+
+	@Test
+	void setMaxInactiveIntervalWhenZeroThenIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> this.sessionRegistry.setMaxInactiveInterval(Duration.ZERO))
+			.withMessage("maxInactiveInterval must be positive");
+	}
+
+	@Test
+	void setMaxSessionsPerPrincipalWhenZeroThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.sessionRegistry.setMaxSessionsPerPrincipal(0))
+			.withMessage("maxSessionsPerPrincipal must be greater than 0");
+	}
+
+	private void save(Object principal, String sessionId, Instant lastAccessTime) {
+		StepVerifier
+			.create(this.sessionRegistry
+				.saveSessionInformation(new ReactiveSessionInformation(principal, sessionId, lastAccessTime)))
+			.verifyComplete();
+	}
+
+	private void invalidate(String sessionId) {
+		StepVerifier
+			.create(this.sessionRegistry.getSessionInformation(sessionId)
+				.flatMap(ReactiveSessionInformation::invalidate))
+			.verifyComplete();
+	}
+
+	private static Flux<String> sessionIds(Flux<ReactiveSessionInformation> sessions) {
+		return sessions.map(ReactiveSessionInformation::getSessionId);
+	}
+
+	private static ConnectionFactory createDb() {
+		ConnectionFactory connectionFactory = H2ConnectionFactory.inMemory("session-registry-test");
+		Mono.from(connectionFactory.create())
+			.flatMapMany((connection) -> Flux
+				.from(connection.createStatement("drop table session_registry").execute())
+				.flatMap(Result::getRowsUpdated)
+				.onErrorResume((ex) -> Mono.empty())
+				.thenMany(connection.close()))
+			.as(StepVerifier::create)
+			.verifyComplete();
+		ConnectionFactoryInitializer initializer = new ConnectionFactoryInitializer();
+		initializer.setDatabasePopulator(
+				new ResourceDatabasePopulator(new ClassPathResource(SESSION_REGISTRY_SCHEMA_SQL_RESOURCE)));
+		initializer.setConnectionFactory(connectionFactory);
+		initializer.afterPropertiesSet();
+		return connectionFactory;
+	}
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.jackson;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link SmileSecurityContextSerializer}.
+ */
+class SmileSecurityContextSerializerTests {
+
+	private final SmileSecurityContextSerializer serializer = new SmileSecurityContextSerializer();
+
+	@Test
+	void deserializeWhenSerializedThenEqual() {
+		SecurityContext context = securityContext();
+		SecurityContext deserialized = this.serializer.deserialize(this.serializer.serialize(context));
+		assertThat(deserialized).isInstanceOf(SecurityContextImpl.class);
+		Authentication authentication = deserialized.getAuthentication();
+		assertThat(authentication).isInstanceOf(UsernamePasswordAuthenticationToken.class);
+		assertThat(authentication.isAuthenticated()).isTrue();
+		assertThat(authentication.getPrincipal()).isEqualTo(context.getAuthentication().getPrincipal());
+		assertThat(authentication.getAuthorities())
+			.containsExactlyInAnyOrderElementsOf(context.getAuthentication().getAuthorities());
+	}
+
+	@Test
+	void deserializeWhenRepeatedAuthoritiesThenSameInstance() {
+		SecurityContext deserialized = this.serializer.deserialize(this.serializer.serialize(securityContext()));
+		Authentication authentication = deserialized.getAuthentication();
+		User user = (User) authentication.getPrincipal();
+		for (GrantedAuthority authority : authentication.getAuthorities()) {
+			assertThat(user.getAuthorities()).anySatisfy(
+					(userAuthority) -> assertThat(userAuthority.getAuthority()).isSameAs(authority.getAuthority()));
+		}
+	}
+
+	@Test
+	void serializeWhenSecurityContextThenSmallerThanJavaSerialization() throws Exception {
+		SecurityContext context = securityContext();
+		ByteArrayOutputStream javaSerialized = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(javaSerialized)) {
+			out.writeObject(context);
+		}
+		byte[] serialized = this.serializer.serialize(context);
+		assertThat(serialized[0]).isEqualTo(SmileSecurityContextSerializer.VERSION);
+		assertThat(serialized.length).isLessThan(javaSerialized.size());
+	}
+
+	@Test
+	void deserializeWhenUnsupportedVersionThenIllegalArgumentException() {
+		byte[] serialized = this.serializer.serialize(securityContext());
+		serialized[0] = 2;
+		assertThatIllegalArgumentException().isThrownBy(() -> this.serializer.deserialize(serialized))
+			.withMessage("Unsupported serialized SecurityContext version");
+	}
+
+	@Test
+	void deserializeWhenMalformedThenIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> this.serializer.deserialize(new byte[] { SmileSecurityContextSerializer.VERSION, 1 }));
+	}
+
+	@Test
+	void constructorWhenNullMapperThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new SmileSecurityContextSerializer(null));
+	}
+
+	private static SecurityContext securityContext() {
+		List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN",
+				"SCOPE_message:read", "SCOPE_message:write");
+		User user = new User("user", "password", authorities);
+		return new SecurityContextImpl(
+				UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+	}
+
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.crypto.factory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm;
+import org.springframework.security.crypto.scrypt.SCryptPasswordEncoder;
+
+/**
+ * Chooses the cost parameters of the adaptive {@link PasswordEncoder}s by measuring how
+ * long they take to verify a password on the current host.
+ *
+ * <p>
+ * Each {@code calibrate} method returns the strongest parameters whose verification takes
+ * no longer than the target latency and, for the memory-hard functions, uses no more than
+ * the memory budget for a single hash. The parameters are never weaker than the current
+ * Spring Security defaults, so a slow host gets the defaults rather than weaker hashes.
+ * Calibration takes a few multiples of the target latency and is intended to run at
+ * startup or on demand, for example with
+ * {@link PasswordEncoderFactories#createDelegatingPasswordEncoder(PasswordEncoderCalibrator)}.
+ *
+ * <p>
+ * BCrypt, SCrypt and Argon2 record their parameters in each hash, so an encoder with
+ * calibrated parameters still verifies the passwords hashed with other parameters and
+ * reports those with weaker parameters through
+ * {@link PasswordEncoder#upgradeEncoding(String)}. PBKDF2 does not, so a calibrated
+ * {@link Pbkdf2PasswordEncoder} must be registered under its own id in a
+ * {@link org.springframework.security.crypto.password.DelegatingPasswordEncoder}.
+ *
+ * @since 7.1
+ */
+public final class PasswordEncoderCalibrator {
+
+	private static final String SAMPLE_PASSWORD = "calibration-Passw0rd!";
+
+	private static final int MIN_BCRYPT_STRENGTH = 10;
+
+	private static final int MAX_BCRYPT_STRENGTH = 31;
+
+	private static final int MIN_PBKDF2_ITERATIONS = 310_000;
+
+	private static final int MIN_SCRYPT_CPU_COST = 1 << 14;
+
+	private static final int SCRYPT_MEMORY_COST = 8;
+
+	private static final int MIN_ARGON2_MEMORY = 1 << 14;
+
+	private static final int MIN_ARGON2_ITERATIONS = 2;
+
+	private static final long MIN_MEMORY_BUDGET = 128L * SCRYPT_MEMORY_COST * MIN_SCRYPT_CPU_COST;
+
+	private static final int SALT_LENGTH = 16;
+
+	private static final int HASH_LENGTH = 32;
+
+	private final Duration targetLatency;
+
+	private long memoryBudget = 64 * 1024 * 1024;
+
+	private int samples = 3;
+
+	private Function<PasswordEncoder, Duration> timer = this::time;
+
+	/**
+	 * Create a calibrator.
+	 * @param targetLatency the longest a password verification should take, for example
+	 * {@code Duration.ofMillis(250)}
+	 */
+	public PasswordEncoderCalibrator(Duration targetLatency) {
+		if (targetLatency == null || targetLatency.isNegative() || targetLatency.isZero()) {
+			throw new IllegalArgumentException("targetLatency must be positive");
+		}
+		this.targetLatency = targetLatency;
+	}
+
+	/**
+	 * Calibrate the strength of a {@link BCryptPasswordEncoder}, starting from 10.
+	 * @return the calibration
+	 */
+	public Calibration<BCryptPasswordEncoder> calibrateBCrypt() {
+		int strength = MIN_BCRYPT_STRENGTH;
+		BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+		Duration latency = measure(encoder);
+		while (strength < MAX_BCRYPT_STRENGTH && fits(latency.multipliedBy(2))) {
+			BCryptPasswordEncoder stronger = new BCryptPasswordEncoder(strength + 1);
+			Duration strongerLatency = measure(stronger);
+			if (!fits(strongerLatency)) {
+				break;
+			}
+			strength++;
+			encoder = stronger;
+			latency = strongerLatency;
+		}
+		return new Calibration<>(encoder, latency, parameters("strength", strength));
+	}
+
+	/**
+	 * Calibrate the iterations of a {@link Pbkdf2PasswordEncoder} using
+	 * {@link SecretKeyFactoryAlgorithm#PBKDF2WithHmacSHA256}, starting from 310,000.
+	 * @return the calibration
+	 */
+	public Calibration<Pbkdf2PasswordEncoder> calibratePbkdf2() {
+		Pbkdf2PasswordEncoder encoder = pbkdf2(MIN_PBKDF2_ITERATIONS);
+		Duration latency = measure(encoder);
+		int iterations = MIN_PBKDF2_ITERATIONS;
+		long scaled = scale(MIN_PBKDF2_ITERATIONS, latency) / 1000 * 1000;
+		if (scaled > MIN_PBKDF2_ITERATIONS) {
+			Pbkdf2PasswordEncoder stronger = pbkdf2((int) Math.min(scaled, Integer.MAX_VALUE));
+			Duration strongerLatency = measure(stronger);
+			if (fits(strongerLatency)) {
+				iterations = (int) Math.min(scaled, Integer.MAX_VALUE);
+				encoder = stronger;
+				latency = strongerLatency;
+			}
+		}
+		return new Calibration<>(encoder, latency, parameters("iterations", iterations));
+	}
+
+	private static Pbkdf2PasswordEncoder pbkdf2(int iterations) {
+		return new Pbkdf2PasswordEncoder("", SALT_LENGTH, iterations, SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+	}
+
+	/**
+	 * Calibrate a {@link SCryptPasswordEncoder} with a memory cost of 8. The CPU cost,
+	 * which determines the memory used, is raised as far as the memory budget and the
+	 * target latency allow, starting from 16,384, after which the parallelization uses
+	 * what remains of the target latency.
+	 * @return the calibration
+	 */
+	public Calibration<SCryptPasswordEncoder> calibrateSCrypt() {
+		long maxCpuCost = this.memoryBudget / (128L * SCRYPT_MEMORY_COST);
+		int cpuCost = MIN_SCRYPT_CPU_COST;
+		SCryptPasswordEncoder encoder = scrypt(cpuCost, 1);
+		Duration latency = measure(encoder);
+		while ((long) cpuCost * 2 <= maxCpuCost && fits(latency.multipliedBy(2))) {
+			SCryptPasswordEncoder stronger = scrypt(cpuCost * 2, 1);
+			Duration strongerLatency = measure(stronger);
+			if (!fits(strongerLatency)) {
+				break;
+			}
+			cpuCost *= 2;
+			encoder = stronger;
+			latency = strongerLatency;
+		}
+		int parallelization = (int) Math.min(255, scale(1, latency));
+		if (parallelization > 1) {
+			SCryptPasswordEncoder stronger = scrypt(cpuCost, parallelization);
+			Duration strongerLatency = measure(stronger);
+			if (fits(strongerLatency)) {
+				encoder = stronger;
+				latency = strongerLatency;
+			}
+			else {
+				parallelization = 1;
+			}
+		}
+		else {
+			parallelization = 1;
+		}
+		return new Calibration<>(encoder, latency,
+				parameters("cpuCost", cpuCost, "memoryCost", SCRYPT_MEMORY_COST, "parallelization", parallelization));
+	}
+
+	private static SCryptPasswordEncoder scrypt(int cpuCost, int parallelization) {
+		return new SCryptPasswordEncoder(cpuCost, SCRYPT_MEMORY_COST, parallelization, HASH_LENGTH, SALT_LENGTH);
+	}
+
+	/**
+	 * Calibrate an {@link Argon2PasswordEncoder} with a parallelism of 1. The memory is
+	 * set to the memory budget, halved while a single iteration exceeds the target
+	 * latency but not below 16 MiB, after which the iterations use the target latency,
+	 * starting from 2. The iterations are extrapolated from a single iteration and then
+	 * lowered while the measured latency exceeds the target latency.
+	 * @return the calibration
+	 */
+	public Calibration<Argon2PasswordEncoder> calibrateArgon2() {
+		int maxMemory = (int) Math.min(Integer.MAX_VALUE, this.memoryBudget / 1024);
+		int memory = maxMemory;
+		Duration latency = measure(argon2(memory, 1));
+		while (memory / 2 >= MIN_ARGON2_MEMORY && !fits(latency)) {
+			memory /= 2;
+			latency = measure(argon2(memory, 1));
+		}
+		int iterations = (int) Math.max(MIN_ARGON2_ITERATIONS, Math.min(Integer.MAX_VALUE, scale(1, latency)));
+		Argon2PasswordEncoder encoder = argon2(memory, iterations);
+		latency = measure(encoder);
+		while (iterations > MIN_ARGON2_ITERATIONS && !fits(latency)) {
+			iterations = (int) Math.max(MIN_ARGON2_ITERATIONS, Math.min(iterations - 1, scale(iterations, latency)));
+			encoder = argon2(memory, iterations);
+			latency = measure(encoder);
+		}
+		return new Calibration<>(encoder, latency, parameters("memory", memory, "iterations", iterations));
+	}
+
+	private static Argon2PasswordEncoder argon2(int memory, int iterations) {
+		return new Argon2PasswordEncoder(SALT_LENGTH, HASH_LENGTH, 1, memory, iterations);
+	}
+
+	/**
+	 * Sets the most memory, in bytes, that a single SCrypt or Argon2 hash may use. It
+	 * cannot be less than the 16 MiB that the default SCrypt and Argon2 parameters use.
+	 * Defaults to 64 MiB.
+	 * @param memoryBudget the memory budget in bytes, at least 16 MiB
+	 */
+	public void setMemoryBudget(long memoryBudget) {
+		if (memoryBudget < MIN_MEMORY_BUDGET) {
+			throw new IllegalArgumentException("memoryBudget must be at least 16 MiB");
+		}
+		this.memoryBudget = memoryBudget;
+	}
+
+	/**
+	 * Sets the number of verifications timed for each candidate, of which the median is
+	 * used. Defaults to 3.
+	 * @param samples the number of verifications to time
+	 */
+	public void setSamples(int samples) {
+		if (samples < 1) {
+			throw new IllegalArgumentException("samples must be greater than 0");
+		}
+		this.samples = samples;
+	}
+
+	private boolean fits(Duration latency) {
+		return latency.compareTo(this.targetLatency) <= 0;
+	}
+
+	private long scale(long cost, Duration latency) {
+		long nanos = Math.max(1, latency.toNanos());
+		return (long) (cost * ((double) this.targetLatency.toNanos() / nanos));
+	}
+
+	/**
+	 * Sets how the verification latency of a candidate is measured, so that tests do not
+	 * depend on the speed of the host.
+	 * @param timer measures the verification latency of a {@link PasswordEncoder}
+	 */
+	void setTimer(Function<PasswordEncoder, Duration> timer) {
+		this.timer = timer;
+	}
+
+	private Duration measure(PasswordEncoder encoder) {
+		return this.timer.apply(encoder);
+	}
+
+	private Duration time(PasswordEncoder encoder) {
+		String encoded = encoder.encode(SAMPLE_PASSWORD);
+		encoder.matches(SAMPLE_PASSWORD, encoded);
+		long[] nanos = new long[this.samples];
+		for (int i = 0; i < nanos.length; i++) {
+			long start = System.nanoTime();
+			encoder.matches(SAMPLE_PASSWORD, encoded);
+			nanos[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(nanos);
+		return Duration.ofNanos(nanos[nanos.length / 2]);
+	}
+
+	private static Map<String, Integer> parameters(Object... namesAndValues) {
+		Map<String, Integer> parameters = new LinkedHashMap<>();
+		for (int i = 0; i < namesAndValues.length; i += 2) {
+			parameters.put((String) namesAndValues[i], (Integer) namesAndValues[i + 1]);
+		}
+		return Collections.unmodifiableMap(parameters);
+	}
+
+	/**
+	 * The parameters chosen for a {@link PasswordEncoder} and the verification latency
+	 * measured with them.
+	 *
+	 * @param <E> the type of {@link PasswordEncoder}
+	 * @since 7.1
+	 */
+	public static final class Calibration<E extends PasswordEncoder> {
+
+		private final E encoder;
+
+		private final Duration latency;
+
+		private final Map<String, Integer> parameters;
+
+		private Calibration(E encoder, Duration latency, Map<String, Integer> parameters) {
+			this.encoder = encoder;
+			this.latency = latency;
+			this.parameters = parameters;
+		}
+
+		/**
+		 * The {@link PasswordEncoder} configured with the chosen parameters.
+		 * @return the {@link PasswordEncoder}
+		 */
+		public E getEncoder() {
+			return this.encoder;
+		}
+
+		/**
+		 * The median time the {@link #getEncoder() encoder} took to verify a password.
+		 * @return the measured latency
+		 */
+		public Duration getLatency() {
+			return this.latency;
+		}
+
+		/**
+		 * The chosen parameters, named after the constructor arguments of the
+		 * {@link PasswordEncoder}.
+		 * @return the parameters
+		 */
+		public Map<String, Integer> getParameters() {
+			return this.parameters;
+		}
+
+		@Override
+		public String toString() {
+			return this.encoder.getClass().getSimpleName() + this.parameters + " verifies in "
+					+ this.latency.toMillis() + " ms";
+		}
+
+	}
+
+}
@@ -68,11 +68,33 @@ public final class PasswordEncoderFactories {
 	 * </ul>
 	 * @return the {@link PasswordEncoder} to use
 	 */
-	@SuppressWarnings("deprecation")
 	public static PasswordEncoder createDelegatingPasswordEncoder() {
+		return createDelegatingPasswordEncoder(new BCryptPasswordEncoder());
+	}
+
+	/**
+	 * Creates a {@link DelegatingPasswordEncoder} with the same mappings as
+	 * {@link #createDelegatingPasswordEncoder()}, except that passwords are encoded with
+	 * a {@link BCryptPasswordEncoder} whose strength was
+	 * {@link PasswordEncoderCalibrator#calibrateBCrypt() calibrated} on this host.
+	 * Passwords encoded with another BCrypt strength still match, and those encoded with
+	 * a lower strength are reported by {@link PasswordEncoder#upgradeEncoding(String)}.
+	 * @param calibrator the {@link PasswordEncoderCalibrator} to use
+	 * @return the {@link PasswordEncoder} to use
+	 * @since 7.1
+	 */
+	public static PasswordEncoder createDelegatingPasswordEncoder(PasswordEncoderCalibrator calibrator) {
+		if (calibrator == null) {
+			throw new IllegalArgumentException("calibrator cannot be null");
+		}
+		return createDelegatingPasswordEncoder(calibrator.calibrateBCrypt().getEncoder());
+	}
+
+	@SuppressWarnings("deprecation")
+	private static PasswordEncoder createDelegatingPasswordEncoder(PasswordEncoder bcrypt) {
 		String encodingId = "bcrypt";
 		Map<String, PasswordEncoder> encoders = new HashMap<>();
-		encoders.put(encodingId, new BCryptPasswordEncoder());
+		encoders.put(encodingId, bcrypt);
 		encoders.put("ldap", new org.springframework.security.crypto.password.LdapShaPasswordEncoder());
 		encoders.put("MD4", new org.springframework.security.crypto.password.Md4PasswordEncoder());
 		encoders.put("MD5", new org.springframework.security.crypto.password.MessageDigestPasswordEncoder("MD5"));
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.crypto.factory;
+
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.factory.PasswordEncoderCalibrator.Calibration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.scrypt.SCryptPasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Tests for {@link PasswordEncoderCalibrator}.
+ */
+class PasswordEncoderCalibratorTests {
+
+	private PasswordEncoderCalibrator calibrator;
+
+	@BeforeEach
+	void setup() {
+		// a target no host can meet, so that the calibrations keep the minimum parameters
+		this.calibrator = new PasswordEncoderCalibrator(Duration.ofNanos(1));
+		this.calibrator.setSamples(1);
+	}
+
+	@Test
+	void constructorWhenTargetLatencyNotPositiveThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new PasswordEncoderCalibrator(Duration.ZERO))
+			.withMessage("targetLatency must be positive");
+	}
+
+	@Test
+	void setMemoryBudgetWhenLessThanDefaultMemoryThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.calibrator.setMemoryBudget(2 * 1024 * 1024))
+			.withMessage("memoryBudget must be at least 16 MiB");
+	}
+
+	@Test
+	void setSamplesWhenNotPositiveThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.calibrator.setSamples(0))
+			.withMessage("samples must be greater than 0");
+	}
+
+	@Test
+	void calibrateBCryptWhenTargetUnreachableThenDefaultStrength() {
+		Calibration<BCryptPasswordEncoder> calibration = this.calibrator.calibrateBCrypt();
+		assertThat(calibration.getParameters()).containsExactly(entry("strength", 10));
+		assertThat(calibration.getLatency()).isPositive();
+		assertEncodes(calibration.getEncoder());
+		assertThat(calibration.getEncoder().upgradeEncoding(new BCryptPasswordEncoder(4).encode("password")))
+			.isTrue();
+	}
+
+	@Test
+	void calibrateBCryptWhenTargetAllowsThenRaisesStrength() {
+		PasswordEncoderCalibrator calibrator = new PasswordEncoderCalibrator(Duration.ofMillis(25));
+		// every strength doubles the 10 ms of the default strength
+		calibrator.setTimer((encoder) -> Duration.ofMillis(10L << (parameter(encoder, "\\$2a\\$(\\d+)\\$") - 10)));
+		Calibration<BCryptPasswordEncoder> calibration = calibrator.calibrateBCrypt();
+		assertThat(calibration.getParameters()).containsExactly(entry("strength", 11));
+		assertThat(calibration.getLatency()).isEqualTo(Duration.ofMillis(20));
+	}
+
+	@Test
+	void calibratePbkdf2WhenTargetUnreachableThenDefaultIterations() {
+		Calibration<Pbkdf2PasswordEncoder> calibration = this.calibrator.calibratePbkdf2();
+		assertThat(calibration.getParameters()).containsExactly(entry("iterations", 310_000));
+		assertEncodes(calibration.getEncoder());
+	}
+
+	@Test
+	void calibrateSCryptWhenSmallestMemoryBudgetThenDefaultCpuCost() {
+		this.calibrator.setMemoryBudget(16 * 1024 * 1024);
+		Calibration<SCryptPasswordEncoder> calibration = this.calibrator.calibrateSCrypt();
+		assertThat(calibration.getParameters()).containsExactly(entry("cpuCost", 16384), entry("memoryCost", 8),
+				entry("parallelization", 1));
+		assertEncodes(calibration.getEncoder());
+	}
+
+	@Test
+	void calibrateArgon2WhenTargetUnreachableThenMinimumMemoryAndIterations() {
+		this.calibrator.setMemoryBudget(32 * 1024 * 1024);
+		Calibration<Argon2PasswordEncoder> calibration = this.calibrator.calibrateArgon2();
+		assertThat(calibration.getParameters()).containsExactly(entry("memory", 1 << 14), entry("iterations", 2));
+		assertEncodes(calibration.getEncoder());
+	}
+
+	@Test
+	void calibrateArgon2WhenExtrapolatedIterationsTooSlowThenLowersIterations() {
+		PasswordEncoderCalibrator calibrator = new PasswordEncoderCalibrator(Duration.ofMillis(100));
+		calibrator.setMemoryBudget(32 * 1024 * 1024);
+		// a single iteration looks cheaper than it is, so that the extrapolated 10 iterations
+		// take 300 ms
+		calibrator.setTimer((encoder) -> {
+			int iterations = parameter(encoder, ",t=(\\d+),");
+			return (iterations == 1) ? Duration.ofMillis(10) : Duration.ofMillis(30L * iterations);
+		});
+		Calibration<Argon2PasswordEncoder> calibration = calibrator.calibrateArgon2();
+		assertThat(calibration.getParameters()).containsExactly(entry("memory", 1 << 15), entry("iterations", 3));
+		assertThat(calibration.getLatency()).isEqualTo(Duration.ofMillis(90));
+	}
+
+	@Test
+	void toStringWhenCalibratedThenDescribesParameters() {
+		assertThat(this.calibrator.calibrateBCrypt().toString()).startsWith("BCryptPasswordEncoder{strength=10}");
+	}
+
+	@Test
+	void createDelegatingPasswordEncoderWhenCalibratorThenEncodesWithCalibratedBCrypt() {
+		PasswordEncoder encoder = PasswordEncoderFactories.createDelegatingPasswordEncoder(this.calibrator);
+		String encoded = encoder.encode("password");
+		assertThat(encoded).startsWith("{bcrypt}$2a$10$");
+		assertThat(encoder.matches("password", encoded)).isTrue();
+		String weaker = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("password");
+		assertThat(encoder.matches("password", weaker)).isTrue();
+		assertThat(encoder.upgradeEncoding(weaker)).isTrue();
+		assertThat(encoder.matches("password", "{noop}password")).isTrue();
+	}
+
+	private static int parameter(PasswordEncoder encoder, String regex) {
+		Matcher matcher = Pattern.compile(regex).matcher(encoder.encode("password"));
+		assertThat(matcher.find()).isTrue();
+		return Integer.parseInt(matcher.group(1));
+	}
+
+	private static void assertEncodes(PasswordEncoder encoder) {
+		String encoded = encoder.encode("password");
+		assertThat(encoder.matches("password", encoded)).isTrue();
+		assertThat(encoder.matches("wrong", encoded)).isFalse();
+	}
+
+}
@@ -17,6 +17,7 @@
 package org.springframework.security.web;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -42,9 +43,12 @@ import org.springframework.security.web.firewall.HttpStatusRequestRejectedHandle
 import org.springframework.security.web.firewall.RequestRejectedException;
 import org.springframework.security.web.firewall.RequestRejectedHandler;
 import org.springframework.security.web.firewall.StrictHttpFirewall;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcherIndex;
 import org.springframework.security.web.util.ThrowableAnalyzer;
 import org.springframework.security.web.util.UrlUtils;
 import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcherEntry;
 import org.springframework.util.Assert;
 import org.springframework.web.filter.DelegatingFilterProxy;
 import org.springframework.web.filter.GenericFilterBean;
@@ -130,6 +134,14 @@ import org.springframework.web.filter.GenericFilterBean;
  * same filter chain. It shouldn't be considered purely as a utility for wrapping filter
  * beans in a single {@code Filter} instance.
  *
+ * <h3>Filter Chain Selection</h3>
+ *
+ * By default, each {@link SecurityFilterChain} is asked in turn whether it matches the
+ * request. Applications with many chains can call {@link #setIndexFilterChains(boolean)}
+ * so that chains declared with a {@link PathPatternRequestMatcher} are only asked when
+ * the request path starts with the literal prefix of their pattern. The first matching
+ * chain is used in either case.
+ *
  * <h2>Filter Lifecycle</h2>
  * <p>
  * Note the {@code Filter} lifecycle mismatch between the servlet container and IoC
@@ -154,6 +166,8 @@ public class FilterChainProxy extends GenericFilterBean {
 
 	private List<SecurityFilterChain> filterChains;
 
+	private FilterChainSelector filterChainSelector;
+
 	private FilterChainValidator filterChainValidator = new NullFilterChainValidator();
 
 	private HttpFirewall firewall = new StrictHttpFirewall();
@@ -175,11 +189,15 @@ public class FilterChainProxy extends GenericFilterBean {
 	public FilterChainProxy(List<SecurityFilterChain> filterChains) {
 		Assert.notNull(filterChains, "filterChains cannot be null");
 		this.filterChains = filterChains;
+		this.filterChainSelector = new OrderedFilterChainSelector(filterChains);
 	}
 
 	@Override
 	public void afterPropertiesSet() {
 		this.filterChainValidator.validate(this);
+		if (logger.isDebugEnabled()) {
+			logger.debug(LogMessage.format("Selecting security filter chains using %s", this.filterChainSelector));
+		}
 	}
 
 	@Override
@@ -243,17 +261,8 @@ public class FilterChainProxy extends GenericFilterBean {
 	 * @return an ordered array of Filters defining the filter chain
 	 */
 	private @Nullable List<Filter> getFilters(HttpServletRequest request) {
-		int count = 0;
-		for (SecurityFilterChain chain : this.filterChains) {
-			if (logger.isTraceEnabled()) {
-				logger.trace(LogMessage.format("Trying to match request against %s (%d/%d)", chain, ++count,
-						this.filterChains.size()));
-			}
-			if (chain.matches(request)) {
-				return chain.getFilters();
-			}
-		}
-		return null;
+		SecurityFilterChain chain = this.filterChainSelector.select(request);
+		return (chain != null) ? chain.getFilters() : null;
 	}
 
 	/**
@@ -315,6 +324,27 @@ public class FilterChainProxy extends GenericFilterBean {
 		this.filterChainDecorator = filterChainDecorator;
 	}
 
+	/**
+	 * Whether to index the {@link SecurityFilterChain}s by the request matcher they were
+	 * declared with.
+	 *
+	 * <p>
+	 * When enabled, each {@link DefaultSecurityFilterChain} whose request matcher is a
+	 * {@link PathPatternRequestMatcher} is indexed by the literal prefix of its path
+	 * pattern and by its HTTP method, so that it is only asked to match requests whose
+	 * path starts with that prefix. Any other chain is asked for every request. Chains
+	 * are still asked in the order they were declared, so the chains do not need to be
+	 * disjoint. If no chain can be indexed, chains are evaluated one after another.
+	 * @param indexFilterChains whether to index the filter chains, defaults to
+	 * {@code false}
+	 * @since 7.1
+	 * @see PathPatternRequestMatcherIndex
+	 */
+	public void setIndexFilterChains(boolean indexFilterChains) {
+		this.filterChainSelector = indexFilterChains ? IndexedFilterChainSelector.of(this.filterChains)
+				: new OrderedFilterChainSelector(this.filterChains);
+	}
+
 	/**
 	 * Sets the "firewall" implementation which will be used to validate and wrap (or
 	 * potentially reject) the incoming requests. The default implementation should be
@@ -342,6 +372,8 @@ public class FilterChainProxy extends GenericFilterBean {
 		sb.append("FilterChainProxy[");
 		sb.append("Filter Chains: ");
 		sb.append(this.filterChains);
+		sb.append(", Filter Chain Selection: ");
+		sb.append(this.filterChainSelector);
 		sb.append("]");
 		return sb.toString();
 	}
@@ -387,6 +419,94 @@ public class FilterChainProxy extends GenericFilterBean {
 
 	}
 
+	/**
+	 * Selects the first {@link SecurityFilterChain} that matches a request.
+	 */
+	private interface FilterChainSelector {
+
+		@Nullable SecurityFilterChain select(HttpServletRequest request);
+
+	}
+
+	/**
+	 * Asks each {@link SecurityFilterChain} in turn.
+	 */
+	private static final class OrderedFilterChainSelector implements FilterChainSelector {
+
+		private final List<SecurityFilterChain> filterChains;
+
+		private OrderedFilterChainSelector(List<SecurityFilterChain> filterChains) {
+			this.filterChains = filterChains;
+		}
+
+		@Override
+		public @Nullable SecurityFilterChain select(HttpServletRequest request) {
+			int count = 0;
+			for (SecurityFilterChain chain : this.filterChains) {
+				if (logger.isTraceEnabled()) {
+					logger.trace(LogMessage.format("Trying to match request against %s (%d/%d)", chain, ++count,
+							this.filterChains.size()));
+				}
+				if (chain.matches(request)) {
+					return chain;
+				}
+			}
+			return null;
+		}
+
+		@Override
+		public String toString() {
+			return "ordered";
+		}
+
+	}
+
+	/**
+	 * Only asks the {@link SecurityFilterChain}s whose path prefix matches the request.
+	 */
+	private static final class IndexedFilterChainSelector implements FilterChainSelector {
+
+		private final PathPatternRequestMatcherIndex<SecurityFilterChain> index;
+
+		private IndexedFilterChainSelector(PathPatternRequestMatcherIndex<SecurityFilterChain> index) {
+			this.index = index;
+		}
+
+		private static FilterChainSelector of(List<SecurityFilterChain> filterChains) {
+			List<RequestMatcherEntry<SecurityFilterChain>> entries = new ArrayList<>(filterChains.size());
+			for (SecurityFilterChain chain : filterChains) {
+				RequestMatcher matcher = (chain instanceof DefaultSecurityFilterChain defaultChain)
+						? defaultChain.getRequestMatcher() : chain::matches;
+				entries.add(new RequestMatcherEntry<>(matcher, chain));
+			}
+			PathPatternRequestMatcherIndex<SecurityFilterChain> index = PathPatternRequestMatcherIndex.of(entries);
+			if (index.getIndexedCount() == 0) {
+				return new OrderedFilterChainSelector(filterChains);
+			}
+			return new IndexedFilterChainSelector(index);
+		}
+
+		@Override
+		public @Nullable SecurityFilterChain select(HttpServletRequest request) {
+			PathPatternRequestMatcherIndex.Match<SecurityFilterChain> match = this.index.match(request);
+			if (match == null) {
+				return null;
+			}
+			SecurityFilterChain chain = match.getEntry().getEntry();
+			if (logger.isTraceEnabled()) {
+				logger.trace(LogMessage.format("Matched request against %s using %s", chain, this.index));
+			}
+			return chain;
+		}
+
+		@Override
+		public String toString() {
+			return "indexed [indexed=" + this.index.getIndexedCount() + ", opaque=" + this.index.getOpaqueCount()
+					+ "]";
+		}
+
+	}
+
 	public interface FilterChainValidator {
 
 		void validate(FilterChainProxy filterChainProxy);
@@ -29,7 +29,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.jspecify.annotations.Nullable;
 
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authorization.AuthenticationSnapshot;
 import org.springframework.security.authorization.AuthorizationDeniedException;
 import org.springframework.security.authorization.AuthorizationEventPublisher;
 import org.springframework.security.authorization.AuthorizationManager;
@@ -92,9 +92,10 @@ public class AuthorizationFilter extends GenericFilterBean {
 
 		String alreadyFilteredAttributeName = getAlreadyFilteredAttributeName();
 		request.setAttribute(alreadyFilteredAttributeName, Boolean.TRUE);
-		try {
-			AuthorizationResult result = this.authorizationManager.authorize(this::getAuthentication, request);
-			this.eventPublisher.publishAuthorizationEvent(this::getAuthentication, request, result);
+		try (AuthenticationSnapshot.Binding binding = AuthenticationSnapshot.bind(this.securityContextHolderStrategy)) {
+			AuthenticationSnapshot authentication = binding.getSnapshot();
+			AuthorizationResult result = this.authorizationManager.authorize(authentication, request);
+			this.eventPublisher.publishAuthorizationEvent(authentication, request, result);
 			if (result != null && !result.isGranted()) {
 				throw new AuthorizationDeniedException("Access Denied", result);
 			}
@@ -136,15 +137,6 @@ public class AuthorizationFilter extends GenericFilterBean {
 		this.securityContextHolderStrategy = securityContextHolderStrategy;
 	}
 
-	private Authentication getAuthentication() {
-		Authentication authentication = this.securityContextHolderStrategy.getContext().getAuthentication();
-		if (authentication == null) {
-			throw new AuthenticationCredentialsNotFoundException(
-					"An Authentication object was not found in the SecurityContext");
-		}
-		return authentication;
-	}
-
 	/**
 	 * Use this {@link AuthorizationEventPublisher} to publish
 	 * {@link AuthorizationDeniedEvent}s and {@link AuthorizationGrantedEvent}s.
@@ -34,6 +34,8 @@ import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.authorization.AuthorizationResult;
 import org.springframework.security.authorization.SingleResultAuthorizationManager;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcherIndex;
 import org.springframework.security.web.util.UrlUtils;
 import org.springframework.security.web.util.matcher.AnyRequestMatcher;
 import org.springframework.security.web.util.matcher.RequestMatcher;
@@ -57,10 +59,14 @@ public final class RequestMatcherDelegatingAuthorizationManager implements Autho
 
 	private final List<RequestMatcherEntry<AuthorizationManager<? super RequestAuthorizationContext>>> mappings;
 
+	private final @Nullable PathPatternRequestMatcherIndex<AuthorizationManager<? super RequestAuthorizationContext>> index;
+
 	private RequestMatcherDelegatingAuthorizationManager(
-			List<RequestMatcherEntry<AuthorizationManager<? super RequestAuthorizationContext>>> mappings) {
+			List<RequestMatcherEntry<AuthorizationManager<? super RequestAuthorizationContext>>> mappings,
+			boolean indexed) {
 		Assert.notEmpty(mappings, "mappings cannot be empty");
 		this.mappings = mappings;
+		this.index = indexed ? PathPatternRequestMatcherIndex.of(mappings) : null;
 	}
 
 	@Override
@@ -69,20 +75,35 @@ public final class RequestMatcherDelegatingAuthorizationManager implements Autho
 		if (this.logger.isTraceEnabled()) {
 			this.logger.trace(LogMessage.format("Authorizing %s", requestLine(request)));
 		}
+		if (this.index != null) {
+			PathPatternRequestMatcherIndex.Match<AuthorizationManager<? super RequestAuthorizationContext>> match = this.index
+				.match(request);
+			if (match != null) {
+				return authorize(authentication, request, match.getEntry().getEntry(), match.getMatchResult());
+			}
+			return deny();
+		}
 		for (RequestMatcherEntry<AuthorizationManager<? super RequestAuthorizationContext>> mapping : this.mappings) {
 
 			RequestMatcher matcher = mapping.getRequestMatcher();
 			MatchResult matchResult = matcher.matcher(request);
 			if (matchResult.isMatch()) {
-				AuthorizationManager<? super RequestAuthorizationContext> manager = mapping.getEntry();
-				if (this.logger.isTraceEnabled()) {
-					this.logger.trace(
-							LogMessage.format("Checking authorization on %s using %s", requestLine(request), manager));
-				}
-				return manager.authorize(authentication,
-						new RequestAuthorizationContext(request, matchResult.getVariables()));
+				return authorize(authentication, request, mapping.getEntry(), matchResult);
 			}
 		}
+		return deny();
+	}
+
+	private @Nullable AuthorizationResult authorize(Supplier<? extends @Nullable Authentication> authentication,
+			HttpServletRequest request, AuthorizationManager<? super RequestAuthorizationContext> manager,
+			MatchResult matchResult) {
+		if (this.logger.isTraceEnabled()) {
+			this.logger.trace(LogMessage.format("Checking authorization on %s using %s", requestLine(request), manager));
+		}
+		return manager.authorize(authentication, new RequestAuthorizationContext(request, matchResult.getVariables()));
+	}
+
+	private AuthorizationResult deny() {
 		if (this.logger.isTraceEnabled()) {
 			this.logger.trace(LogMessage.of(() -> "Denying request since did not find matching RequestMatcher"));
 		}
@@ -108,6 +129,8 @@ public final class RequestMatcherDelegatingAuthorizationManager implements Autho
 
 		private boolean anyRequestConfigured;
 
+		private boolean indexed;
+
 		private final List<RequestMatcherEntry<AuthorizationManager<? super RequestAuthorizationContext>>> mappings = new ArrayList<>();
 
 		/**
@@ -162,12 +185,35 @@ public final class RequestMatcherDelegatingAuthorizationManager implements Autho
 			return new AuthorizedUrl(matchers);
 		}
 
+		/**
+		 * Use an index to select which mappings to evaluate for each request.
+		 *
+		 * <p>
+		 * When enabled, each {@link PathPatternRequestMatcher} mapping is indexed by the
+		 * literal prefix of its path pattern and by its HTTP method so that only
+		 * mappings whose prefix matches the request path are evaluated. Other
+		 * {@link RequestMatcher}s are evaluated for every request. In either case,
+		 * mappings are evaluated in the order they were added and the first matching
+		 * mapping wins.
+		 *
+		 * <p>
+		 * This is worth enabling for applications with a large number of mappings.
+		 * @param indexed whether to index the mappings, defaults to {@code false}
+		 * @return the {@link Builder} for further customizations
+		 * @since 7.1
+		 * @see PathPatternRequestMatcherIndex
+		 */
+		public Builder indexed(boolean indexed) {
+			this.indexed = indexed;
+			return this;
+		}
+
 		/**
 		 * Creates a {@link RequestMatcherDelegatingAuthorizationManager} instance.
 		 * @return the {@link RequestMatcherDelegatingAuthorizationManager} instance
 		 */
 		public RequestMatcherDelegatingAuthorizationManager build() {
-			return new RequestMatcherDelegatingAuthorizationManager(this.mappings);
+			return new RequestMatcherDelegatingAuthorizationManager(this.mappings, this.indexed);
 		}
 
 		/**
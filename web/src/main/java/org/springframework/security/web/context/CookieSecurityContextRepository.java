@@ -0,0 +1,478 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.context;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.log.LogMessage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.Transient;
+import org.springframework.security.core.context.DeferredSecurityContext;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.core.context.SecurityContextSerializer;
+import org.springframework.security.crypto.encrypt.BytesEncryptor;
+import org.springframework.security.crypto.encrypt.Encryptors;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * A {@link SecurityContextRepository} that stores the {@link SecurityContext} in an
+ * encrypted cookie, so that it is available to subsequent requests without any
+ * server-side state.
+ *
+ * <p>
+ * The {@link SecurityContext} is serialized with a {@link SecurityContextSerializer},
+ * for example {@code SmileSecurityContextSerializer}, and encrypted with a
+ * {@link BytesEncryptor}, such as {@link Encryptors#stronger(CharSequence, CharSequence)}.
+ * The format version, the time at which the {@link SecurityContext} expires and the
+ * ciphertext are then signed with HMAC-SHA256 using a separate signing key. A cookie
+ * whose signature does not match is rejected before it is decrypted, so the cookie is
+ * tamper-proof whatever the {@link BytesEncryptor}'s mode.
+ *
+ * <p>
+ * Keys can be rotated by encrypting and signing with new keys while still accepting
+ * cookies from the previous ones, see {@link #setPreviousEncryptors(List)} and
+ * {@link #setPreviousSigningKeys(List)}. Previous keys can be removed once the
+ * {@link #setCookieMaxAge(Duration) cookie max age} has elapsed.
+ *
+ * <p>
+ * Browsers limit the size of cookies, so a {@link SecurityContext} that is larger than
+ * {@link #setMaxCookieSize(int) the maximum cookie size} once encrypted is not stored.
+ *
+ * <p>
+ * Like {@link RequestAttributeSecurityContextRepository}, this repository only stores the
+ * {@link SecurityContext} when it is explicitly saved, typically after authentication,
+ * so the {@link SecurityContext} expires the configured cookie max age after the user
+ * authenticated.
+ *
+ * @since 7.1
+ */
+public final class CookieSecurityContextRepository implements SecurityContextRepository {
+
+	/**
+	 * The default name of the cookie in which the {@link SecurityContext} is stored.
+	 */
+	public static final String DEFAULT_COOKIE_NAME = "SPRING_SECURITY_CONTEXT";
+
+	private static final byte VERSION = 1;
+
+	private static final String MAC_ALGORITHM = "HmacSHA256";
+
+	private static final int TAG_LENGTH = 32;
+
+	private static final int HEADER_LENGTH = 1 + Long.BYTES;
+
+	private static final String SAVED_CONTEXT_ATTR_NAME = CookieSecurityContextRepository.class.getName()
+		.concat(".SAVED_CONTEXT");
+
+	private final Log logger = LogFactory.getLog(getClass());
+
+	private final SecurityContextSerializer securityContextSerializer;
+
+	private final BytesEncryptor encryptor;
+
+	private final Mac mac;
+
+	private List<BytesEncryptor> previousEncryptors = List.of();
+
+	private List<Mac> previousMacs = List.of();
+
+	private SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder
+		.getContextHolderStrategy();
+
+	private String cookieName = DEFAULT_COOKIE_NAME;
+
+	private @Nullable String cookiePath;
+
+	private @Nullable String cookieDomain;
+
+	private @Nullable Boolean secure;
+
+	private Duration cookieMaxAge = Duration.ofMinutes(30);
+
+	private int maxCookieSize = 4096;
+
+	private Consumer<ResponseCookie.ResponseCookieBuilder> cookieCustomizer = (builder) -> {
+	};
+
+	private Clock clock = Clock.systemUTC();
+
+	/**
+	 * Create a {@link CookieSecurityContextRepository}.
+	 * @param securityContextSerializer the {@link SecurityContextSerializer} to use
+	 * @param encryptor the {@link BytesEncryptor} to encrypt and decrypt the
+	 * {@link SecurityContext} with
+	 * @param signingKey the key, of at least 256 bits and distinct from the
+	 * {@code encryptor}'s key, to sign the cookie with using HMAC-SHA256
+	 */
+	public CookieSecurityContextRepository(SecurityContextSerializer securityContextSerializer,
+			BytesEncryptor encryptor, SecretKey signingKey) {
+		Assert.notNull(securityContextSerializer, "securityContextSerializer cannot be null");
+		Assert.notNull(encryptor, "encryptor cannot be null");
+		this.securityContextSerializer = securityContextSerializer;
+		this.encryptor = encryptor;
+		this.mac = createMac(signingKey);
+	}
+
+	/**
+	 * @deprecated please see {@link SecurityContextRepository#loadContext}
+	 */
+	@Override
+	@Deprecated
+	public SecurityContext loadContext(HttpRequestResponseHolder requestResponseHolder) {
+		return loadDeferredContext(requestResponseHolder.getRequest()).get();
+	}
+
+	@Override
+	public DeferredSecurityContext loadDeferredContext(HttpServletRequest request) {
+		Supplier<SecurityContext> supplier = () -> readSecurityContext(request);
+		return new SupplierDeferredSecurityContext(supplier, this.securityContextHolderStrategy);
+	}
+
+	@Override
+	public void saveContext(SecurityContext context, HttpServletRequest request, HttpServletResponse response) {
+		if (isTransient(context) || isTransient(context.getAuthentication())) {
+			return;
+		}
+		if (context.getAuthentication() == null) {
+			// signal that the cookie sent with the request no longer holds the context
+			request.setAttribute(SAVED_CONTEXT_ATTR_NAME, Boolean.FALSE);
+			if (WebUtils.getCookie(request, this.cookieName) != null) {
+				addCookie("", Duration.ZERO, request, response);
+			}
+			return;
+		}
+		request.setAttribute(SAVED_CONTEXT_ATTR_NAME, context);
+		String value = encode(context);
+		if (this.cookieName.length() + value.length() + 1 > this.maxCookieSize) {
+			this.logger.warn(LogMessage.format(
+					"Did not store %s since its encrypted form is %d bytes long, which is larger than the "
+							+ "maximum cookie size of %d bytes",
+					context, value.length(), this.maxCookieSize));
+			addCookie("", Duration.ZERO, request, response);
+			return;
+		}
+		addCookie(value, this.cookieMaxAge, request, response);
+		if (this.logger.isDebugEnabled()) {
+			this.logger.debug(LogMessage.format("Stored %s to cookie %s", context, this.cookieName));
+		}
+	}
+
+	@Override
+	public boolean containsContext(HttpServletRequest request) {
+		return readSecurityContext(request) != null;
+	}
+
+	private @Nullable SecurityContext readSecurityContext(HttpServletRequest request) {
+		Object saved = request.getAttribute(SAVED_CONTEXT_ATTR_NAME);
+		if (saved instanceof SecurityContext context) {
+			return context;
+		}
+		if (Boolean.FALSE.equals(saved)) {
+			return null;
+		}
+		Cookie cookie = WebUtils.getCookie(request, this.cookieName);
+		if (cookie == null || !StringUtils.hasLength(cookie.getValue())) {
+			this.logger.trace(LogMessage.format("Did not find SecurityContext in cookie %s", this.cookieName));
+			return null;
+		}
+		SecurityContext context = decode(cookie.getValue());
+		if (context != null && this.logger.isDebugEnabled()) {
+			this.logger.debug(LogMessage.format("Retrieved %s from cookie %s", context, this.cookieName));
+		}
+		return context;
+	}
+
+	private String encode(SecurityContext context) {
+		byte[] serialized = this.securityContextSerializer.serialize(context);
+		Instant expiresAt = this.clock.instant().plus(this.cookieMaxAge);
+		byte[] encrypted = this.encryptor.encrypt(serialized);
+		ByteBuffer value = ByteBuffer.allocate(HEADER_LENGTH + encrypted.length + TAG_LENGTH)
+			.put(VERSION)
+			.putLong(expiresAt.getEpochSecond())
+			.put(encrypted);
+		value.put(sign(this.mac, value.array(), value.position()));
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.array());
+	}
+
+	private @Nullable SecurityContext decode(String value) {
+		byte[] decoded;
+		try {
+			decoded = Base64.getUrlDecoder().decode(value);
+		}
+		catch (IllegalArgumentException ex) {
+			this.logger.debug(LogMessage.format("Ignoring cookie %s since it is not Base64 encoded", this.cookieName));
+			return null;
+		}
+		if (decoded.length < HEADER_LENGTH + TAG_LENGTH || decoded[0] != VERSION) {
+			this.logger.debug(LogMessage.format("Ignoring cookie %s since its version is not supported",
+					this.cookieName));
+			return null;
+		}
+		int signedLength = decoded.length - TAG_LENGTH;
+		if (!isSigned(decoded, signedLength)) {
+			this.logger.debug(LogMessage.format("Ignoring cookie %s since its signature is not valid",
+					this.cookieName));
+			return null;
+		}
+		Instant expiresAt = Instant.ofEpochSecond(ByteBuffer.wrap(decoded, 1, Long.BYTES).getLong());
+		if (!this.clock.instant().isBefore(expiresAt)) {
+			this.logger.debug(LogMessage.format("Ignoring cookie %s since it expired at %s", this.cookieName,
+					expiresAt));
+			return null;
+		}
+		byte[] serialized = decrypt(Arrays.copyOfRange(decoded, HEADER_LENGTH, signedLength));
+		if (serialized == null) {
+			this.logger.debug(LogMessage.format("Ignoring cookie %s since it could not be decrypted", this.cookieName));
+			return null;
+		}
+		try {
+			return this.securityContextSerializer.deserialize(serialized);
+		}
+		catch (IllegalArgumentException ex) {
+			this.logger.debug(LogMessage.format("Ignoring cookie %s since it could not be deserialized",
+					this.cookieName), ex);
+			return null;
+		}
+	}
+
+	private boolean isSigned(byte[] value, int signedLength) {
+		byte[] tag = Arrays.copyOfRange(value, signedLength, value.length);
+		if (MessageDigest.isEqual(sign(this.mac, value, signedLength), tag)) {
+			return true;
+		}
+		for (Mac previous : this.previousMacs) {
+			if (MessageDigest.isEqual(sign(previous, value, signedLength), tag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static byte[] sign(Mac prototype, byte[] value, int length) {
+		Mac mac;
+		try {
+			mac = (Mac) prototype.clone();
+		}
+		catch (CloneNotSupportedException ex) {
+			throw new IllegalStateException(MAC_ALGORITHM + " cannot be cloned", ex);
+		}
+		mac.update(value, 0, length);
+		return mac.doFinal();
+	}
+
+	private static Mac createMac(SecretKey signingKey) {
+		Assert.notNull(signingKey, "signingKey cannot be null");
+		byte[] encoded = signingKey.getEncoded();
+		Assert.isTrue(encoded != null && encoded.length >= TAG_LENGTH, "signingKey must be at least 256 bits");
+		try {
+			Mac mac = Mac.getInstance(MAC_ALGORITHM);
+			mac.init(signingKey);
+			return mac;
+		}
+		catch (InvalidKeyException ex) {
+			throw new IllegalArgumentException("signingKey cannot be used with " + MAC_ALGORITHM, ex);
+		}
+		catch (GeneralSecurityException ex) {
+			throw new IllegalStateException("Unable to initialize " + MAC_ALGORITHM, ex);
+		}
+	}
+
+	private byte @Nullable [] decrypt(byte[] encrypted) {
+		byte[] plaintext = decrypt(this.encryptor, encrypted);
+		for (int i = 0; plaintext == null && i < this.previousEncryptors.size(); i++) {
+			plaintext = decrypt(this.previousEncryptors.get(i), encrypted);
+		}
+		return plaintext;
+	}
+
+	private static byte @Nullable [] decrypt(BytesEncryptor encryptor, byte[] encrypted) {
+		try {
+			return encryptor.decrypt(encrypted);
+		}
+		catch (RuntimeException ex) {
+			return null;
+		}
+	}
+
+	private void addCookie(String value, Duration maxAge, HttpServletRequest request, HttpServletResponse response) {
+		ResponseCookie.ResponseCookieBuilder cookieBuilder = ResponseCookie.from(this.cookieName, value)
+			.secure((this.secure != null) ? this.secure : request.isSecure())
+			.path(StringUtils.hasLength(this.cookiePath) ? this.cookiePath : getRequestContext(request))
+			.maxAge(maxAge)
+			.httpOnly(true)
+			.sameSite("Lax")
+			.domain(this.cookieDomain);
+		this.cookieCustomizer.accept(cookieBuilder);
+		response.addHeader(HttpHeaders.SET_COOKIE, cookieBuilder.build().toString());
+	}
+
+	private String getRequestContext(HttpServletRequest request) {
+		String contextPath = request.getContextPath();
+		return (contextPath.length() > 0) ? contextPath : "/";
+	}
+
+	private boolean isTransient(@Nullable Object object) {
+		if (object == null) {
+			return false;
+		}
+		return AnnotationUtils.getAnnotation(object.getClass(), Transient.class) != null;
+	}
+
+	/**
+	 * Sets the {@link BytesEncryptor}s that were used to encrypt the
+	 * {@link SecurityContext} before the current one, so that cookies they encrypted can
+	 * still be decrypted while keys are rotated. They are tried in order after the
+	 * current {@link BytesEncryptor}.
+	 * @param previousEncryptors the previous {@link BytesEncryptor}s
+	 */
+	public void setPreviousEncryptors(List<BytesEncryptor> previousEncryptors) {
+		Assert.noNullElements(previousEncryptors, "previousEncryptors cannot contain null elements");
+		this.previousEncryptors = new ArrayList<>(previousEncryptors);
+	}
+
+	/**
+	 * Sets the signing keys that were used to sign the cookie before the current one, so
+	 * that cookies they signed are still accepted while keys are rotated. They are tried
+	 * in order after the current signing key.
+	 * @param previousSigningKeys the previous signing keys
+	 */
+	public void setPreviousSigningKeys(List<SecretKey> previousSigningKeys) {
+		Assert.noNullElements(previousSigningKeys, "previousSigningKeys cannot contain null elements");
+		List<Mac> previousMacs = new ArrayList<>(previousSigningKeys.size());
+		for (SecretKey previousSigningKey : previousSigningKeys) {
+			previousMacs.add(createMac(previousSigningKey));
+		}
+		this.previousMacs = previousMacs;
+	}
+
+	/**
+	 * Sets the name of the cookie. The default is {@link #DEFAULT_COOKIE_NAME}.
+	 * @param cookieName the name of the cookie
+	 */
+	public void setCookieName(String cookieName) {
+		Assert.hasText(cookieName, "cookieName cannot be empty");
+		this.cookieName = cookieName;
+	}
+
+	/**
+	 * Sets the path of the cookie. The default is the context path of the request.
+	 * @param cookiePath the path of the cookie
+	 */
+	public void setCookiePath(String cookiePath) {
+		this.cookiePath = cookiePath;
+	}
+
+	/**
+	 * Sets the domain of the cookie. By default, no domain is set.
+	 * @param cookieDomain the domain of the cookie
+	 */
+	public void setCookieDomain(String cookieDomain) {
+		this.cookieDomain = cookieDomain;
+	}
+
+	/**
+	 * Sets whether the cookie is only sent over HTTPS. By default, the cookie is secure
+	 * when the request is.
+	 * @param secure whether the cookie is secure
+	 */
+	public void setSecure(boolean secure) {
+		this.secure = secure;
+	}
+
+	/**
+	 * Sets how long the {@link SecurityContext} remains valid after it was saved. This
+	 * is both the max age of the cookie and an expiration enforced when the cookie is
+	 * read. The default is 30 minutes.
+	 * @param cookieMaxAge how long the {@link SecurityContext} remains valid
+	 */
+	public void setCookieMaxAge(Duration cookieMaxAge) {
+		Assert.notNull(cookieMaxAge, "cookieMaxAge cannot be null");
+		Assert.isTrue(!cookieMaxAge.isNegative() && !cookieMaxAge.isZero(), "cookieMaxAge must be positive");
+		this.cookieMaxAge = cookieMaxAge;
+	}
+
+	/**
+	 * Sets the maximum size, in bytes, of the cookie name and value. A
+	 * {@link SecurityContext} that does not fit is not stored, and any cookie stored
+	 * before is removed. The default is 4096, which all major browsers support.
+	 * @param maxCookieSize the maximum size of the cookie
+	 */
+	public void setMaxCookieSize(int maxCookieSize) {
+		Assert.isTrue(maxCookieSize > 0, "maxCookieSize must be greater than 0");
+		this.maxCookieSize = maxCookieSize;
+	}
+
+	/**
+	 * Add a {@link Consumer} for a {@code ResponseCookieBuilder} that will be invoked for
+	 * each cookie being built, just before the call to {@code build()}.
+	 * @param cookieCustomizer consumer for a cookie builder
+	 */
+	public void setCookieCustomizer(Consumer<ResponseCookie.ResponseCookieBuilder> cookieCustomizer) {
+		Assert.notNull(cookieCustomizer, "cookieCustomizer cannot be null");
+		this.cookieCustomizer = cookieCustomizer;
+	}
+
+	/**
+	 * Sets the {@link SecurityContextHolderStrategy} to use. The default action is to use
+	 * the {@link SecurityContextHolderStrategy} stored in {@link SecurityContextHolder}.
+	 * @param securityContextHolderStrategy the {@link SecurityContextHolderStrategy} to
+	 * use
+	 */
+	public void setSecurityContextHolderStrategy(SecurityContextHolderStrategy securityContextHolderStrategy) {
+		Assert.notNull(securityContextHolderStrategy, "securityContextHolderStrategy cannot be null");
+		this.securityContextHolderStrategy = securityContextHolderStrategy;
+	}
+
+	/**
+	 * Sets the {@link Clock} used to compute and check the expiration of the
+	 * {@link SecurityContext}. The default is {@link Clock#systemUTC()}.
+	 * @param clock the {@link Clock} to use
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
+}
@@ -16,6 +16,8 @@
 
 package org.springframework.security.web.context;
 
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
 
 import jakarta.servlet.AsyncContext;
@@ -39,6 +41,7 @@ import org.springframework.security.core.context.DeferredSecurityContext;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.core.context.SecurityContextSerializer;
 import org.springframework.util.Assert;
 import org.springframework.web.util.WebUtils;
 
@@ -91,6 +94,9 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 	 */
 	public static final String SPRING_SECURITY_CONTEXT_KEY = "SPRING_SECURITY_CONTEXT";
 
+	private static final String SAVED_CONTEXT_ATTR_PREFIX = HttpSessionSecurityContextRepository.class.getName()
+			+ ".SAVED_CONTEXT.";
+
 	protected final Log logger = LogFactory.getLog(this.getClass());
 
 	private SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder
@@ -110,6 +116,10 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 
 	private AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
 
+	private @Nullable SecurityContextSerializer securityContextSerializer;
+
+	private final LongAdder skippedSaveCount = new LongAdder();
+
 	/**
 	 * Gets the security context for the current request (if available) and returns it.
 	 * <p>
@@ -124,7 +134,7 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 		HttpServletRequest request = requestResponseHolder.getRequest();
 		HttpServletResponse response = requestResponseHolder.getResponse();
 		HttpSession httpSession = request.getSession(false);
-		SecurityContext context = readSecurityContextFromSession(httpSession);
+		SecurityContext context = readSecurityContextFromSession(request, httpSession);
 		if (context == null) {
 			context = generateNewContext();
 			if (this.logger.isTraceEnabled()) {
@@ -143,7 +153,7 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 
 	@Override
 	public DeferredSecurityContext loadDeferredContext(HttpServletRequest request) {
-		Supplier<SecurityContext> supplier = () -> readSecurityContextFromSession(request.getSession(false));
+		Supplier<SecurityContext> supplier = () -> readSecurityContextFromSession(request, request.getSession(false));
 		return new SupplierDeferredSecurityContext(supplier, this.securityContextHolderStrategy);
 	}
 
@@ -166,24 +176,53 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 		if (emptyContext.equals(context)) {
 			HttpSession session = request.getSession(false);
 			removeContextFromSession(context, session);
+			request.removeAttribute(savedContextAttributeName());
 		}
 		else {
 			boolean createSession = this.allowSessionCreation;
 			HttpSession session = request.getSession(createSession);
-			setContextInSession(context, session);
+			setContextInSession(context, request, session);
 		}
 	}
 
-	private void setContextInSession(SecurityContext context, HttpSession session) {
+	private void setContextInSession(SecurityContext context, HttpServletRequest request,
+			@Nullable HttpSession session) {
 		if (session != null) {
-			session.setAttribute(this.springSecurityContextKey, context);
+			if (isSaved(context, request, session)) {
+				this.skippedSaveCount.increment();
+				if (this.logger.isTraceEnabled()) {
+					this.logger.trace(LogMessage.format("Did not store unchanged %s to HttpSession [%s]", context,
+							session));
+				}
+				return;
+			}
+			Object attribute = (this.securityContextSerializer != null)
+					? this.securityContextSerializer.serialize(context) : context;
+			session.setAttribute(this.springSecurityContextKey, attribute);
+			request.setAttribute(savedContextAttributeName(), SavedContext.of(context, attribute));
 			if (this.logger.isDebugEnabled()) {
 				this.logger.debug(LogMessage.format("Stored %s to HttpSession [%s]", context, session));
 			}
 		}
 	}
 
-	private void removeContextFromSession(SecurityContext context, HttpSession session) {
+	/**
+	 * Whether the session already holds the given context, as it was when it was last read
+	 * from or written to the session during this request.
+	 */
+	private boolean isSaved(SecurityContext context, HttpServletRequest request, HttpSession session) {
+		if (!(request.getAttribute(savedContextAttributeName()) instanceof SavedContext saved)
+				|| !saved.matches(context)) {
+			return false;
+		}
+		return session.getAttribute(this.springSecurityContextKey) == saved.attribute();
+	}
+
+	private String savedContextAttributeName() {
+		return SAVED_CONTEXT_ATTR_PREFIX + this.springSecurityContextKey;
+	}
+
+	private void removeContextFromSession(SecurityContext context, @Nullable HttpSession session) {
 		if (session != null) {
 			session.removeAttribute(this.springSecurityContextKey);
 			if (this.logger.isDebugEnabled()) {
@@ -204,7 +243,8 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 	/**
 	 * @param httpSession the session obtained from the request.
 	 */
-	private @Nullable SecurityContext readSecurityContextFromSession(HttpSession httpSession) {
+	private @Nullable SecurityContext readSecurityContextFromSession(HttpServletRequest request,
+			@Nullable HttpSession httpSession) {
 		if (httpSession == null) {
 			this.logger.trace("No HttpSession currently exists");
 			return null;
@@ -219,6 +259,18 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 			return null;
 		}
 
+		Object attribute = contextFromSession;
+		if (contextFromSession instanceof byte[] serialized && this.securityContextSerializer != null) {
+			try {
+				contextFromSession = this.securityContextSerializer.deserialize(serialized);
+			}
+			catch (IllegalArgumentException ex) {
+				this.logger.warn(LogMessage.format("Failed to deserialize the SecurityContext stored in %s",
+						this.springSecurityContextKey), ex);
+				return null;
+			}
+		}
+
 		// We now have the security context object from the session.
 		if (!(contextFromSession instanceof SecurityContext)) {
 			this.logger.warn(LogMessage.format(
@@ -236,8 +288,10 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 		else if (this.logger.isDebugEnabled()) {
 			this.logger.debug(LogMessage.format("Retrieved %s", contextFromSession));
 		}
+		SecurityContext context = (SecurityContext) contextFromSession;
+		request.setAttribute(savedContextAttributeName(), SavedContext.of(context, attribute));
 		// Everything OK. The only non-null return from this method.
-		return (SecurityContext) contextFromSession;
+		return context;
 	}
 
 	/**
@@ -314,6 +368,61 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 		this.trustResolver = trustResolver;
 	}
 
+	/**
+	 * Sets the {@link SecurityContextSerializer} to use to store the
+	 * {@link SecurityContext} in the {@code HttpSession} as bytes rather than as an
+	 * object. This can considerably reduce the size of the session when it is replicated
+	 * or persisted, for example by Spring Session.
+	 * <p>
+	 * A {@link SecurityContext} that was stored as an object, for example before the
+	 * {@link SecurityContextSerializer} was configured, is still read. By default, the
+	 * {@link SecurityContext} is stored as an object.
+	 * <p>
+	 * Note that the session attribute then holds a {@code byte[]} rather than a
+	 * {@link SecurityContext}. Anything else that reads the attribute directly no longer
+	 * finds a {@link SecurityContext} there. This includes Spring Session's principal name
+	 * indexing and {@code HttpSessionListener}s that inspect the attribute, so those
+	 * need to be adapted before this is enabled.
+	 * @param securityContextSerializer the {@link SecurityContextSerializer} to use
+	 * @since 7.1
+	 */
+	public void setSecurityContextSerializer(SecurityContextSerializer securityContextSerializer) {
+		Assert.notNull(securityContextSerializer, "securityContextSerializer cannot be null");
+		this.securityContextSerializer = securityContextSerializer;
+	}
+
+	/**
+	 * The number of times that saving the {@link SecurityContext} did not write to the
+	 * {@code HttpSession} because the session already held it unchanged.
+	 * @return the number of skipped writes
+	 * @since 7.1
+	 */
+	public long getSkippedSaveCount() {
+		return this.skippedSaveCount.sum();
+	}
+
+	/**
+	 * The {@link SecurityContext} last read from or written to the {@code HttpSession}
+	 * during a request, along with the {@link Authentication} it held, a hash of its
+	 * content and the session attribute it was stored as, so that changes made to any of
+	 * them since then can be detected.
+	 */
+	private record SavedContext(SecurityContext context, @Nullable Authentication authentication,
+			int authenticationHash, Object attribute) {
+
+		static SavedContext of(SecurityContext context, Object attribute) {
+			Authentication authentication = context.getAuthentication();
+			return new SavedContext(context, authentication, Objects.hashCode(authentication), attribute);
+		}
+
+		boolean matches(SecurityContext context) {
+			Authentication authentication = context.getAuthentication();
+			return this.context == context && this.authentication == authentication
+					&& this.authenticationHash == Objects.hashCode(authentication);
+		}
+
+	}
+
 	private static class SaveToSessionRequestWrapper extends HttpServletRequestWrapper {
 
 		private final SaveContextOnUpdateOrErrorResponseWrapper response;
@@ -358,6 +467,8 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 
 		private final @Nullable Authentication authBeforeExecution;
 
+		private final int authHashBeforeExecution;
+
 		private boolean isSaveContextInvoked;
 
 		/**
@@ -378,6 +489,7 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 			this.httpSessionExistedAtStartOfRequest = httpSessionExistedAtStartOfRequest;
 			this.contextBeforeExecution = context;
 			this.authBeforeExecution = context.getAuthentication();
+			this.authHashBeforeExecution = Objects.hashCode(this.authBeforeExecution);
 		}
 
 		/**
@@ -431,12 +543,17 @@ public class HttpSessionSecurityContextRepository implements SecurityContextRepo
 					HttpSessionSecurityContextRepository.this.saveContextInHttpSession(context, this.request);
 					this.isSaveContextInvoked = true;
 				}
+				else {
+					HttpSessionSecurityContextRepository.this.skippedSaveCount.increment();
+				}
 			}
 		}
 
 		private boolean contextChanged(SecurityContext context) {
+			Authentication authentication = context.getAuthentication();
 			return this.isSaveContextInvoked || context != this.contextBeforeExecution
-					|| context.getAuthentication() != this.authBeforeExecution;
+					|| authentication != this.authBeforeExecution
+					|| Objects.hashCode(authentication) != this.authHashBeforeExecution;
 		}
 
 		private @Nullable HttpSession createNewSessionIfAllowed(SecurityContext context) {
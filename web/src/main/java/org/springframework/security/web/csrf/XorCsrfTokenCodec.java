@@ -0,0 +1,197 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.csrf;
+
+import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.core.log.LogMessage;
+import org.springframework.security.crypto.codec.Utf8;
+import org.springframework.util.Assert;
+
+/**
+ * Masks a {@link CsrfToken} value by XOR-ing it with as many random bytes and
+ * Base64-encoding the random bytes followed by the result, and unmasks such a value. It
+ * is shared by {@link XorCsrfTokenRequestAttributeHandler} and
+ * {@link org.springframework.security.web.server.csrf.XorServerCsrfTokenRequestAttributeHandler}.
+ *
+ * <p>
+ * Masking and unmasking work on arrays sized exactly for the token, and ASCII tokens are
+ * converted to bytes without a {@link java.nio.charset.Charset}. The arrays holding the
+ * token value or the unmasked value are zeroed before returning, so that neither
+ * outlives the call. Unless a {@link SecureRandom} is given, the random bytes come from
+ * a fixed pool of {@code DRBG} {@link SecureRandom} instances, one of which is picked
+ * at random for each token so that concurrent requests rarely contend for the same
+ * instance.
+ *
+ * @since 7.1
+ */
+public final class XorCsrfTokenCodec {
+
+	private static final Log logger = LogFactory.getLog(XorCsrfTokenCodec.class);
+
+	private XorCsrfTokenCodec() {
+	}
+
+	/**
+	 * Masks the given token value with random bytes from the pool of {@link SecureRandom}
+	 * instances.
+	 * @param token the token value to mask
+	 * @return the Base64 URL-encoded masked token value
+	 */
+	public static String mask(String token) {
+		SecureRandom[] secureRandoms = SecureRandoms.pool;
+		return mask(token, secureRandoms[ThreadLocalRandom.current().nextInt(secureRandoms.length)]);
+	}
+
+	/**
+	 * Masks the given token value with random bytes from the given {@link SecureRandom}.
+	 * @param token the token value to mask
+	 * @param secureRandom the {@link SecureRandom} to generate random bytes with
+	 * @return the Base64 URL-encoded masked token value
+	 */
+	public static String mask(String token, SecureRandom secureRandom) {
+		Assert.notNull(token, "token cannot be null");
+		Assert.notNull(secureRandom, "secureRandom cannot be null");
+		byte[] tokenBytes = toBytes(token);
+		int tokenSize = tokenBytes.length;
+		byte[] randomBytes = new byte[tokenSize];
+		secureRandom.nextBytes(randomBytes);
+		byte[] combinedBytes = new byte[tokenSize * 2];
+		for (int i = 0; i < tokenSize; i++) {
+			combinedBytes[i] = randomBytes[i];
+			combinedBytes[tokenSize + i] = (byte) (tokenBytes[i] ^ randomBytes[i]);
+		}
+		Arrays.fill(tokenBytes, (byte) 0);
+		return Base64.getUrlEncoder().encodeToString(combinedBytes);
+	}
+
+	/**
+	 * Unmasks the given masked token value.
+	 * @param maskedToken the Base64 URL-encoded masked token value
+	 * @param token the expected token value, used to determine the length of the masked
+	 * token value
+	 * @return the unmasked token value, or {@code null} if the masked token value is not
+	 * Base64 URL-encoded or does not have the length of the expected token value
+	 */
+	public static @Nullable String unmask(String maskedToken, String token) {
+		Assert.notNull(maskedToken, "maskedToken cannot be null");
+		Assert.notNull(token, "token cannot be null");
+		byte[] actualBytes = decode(maskedToken);
+		if (actualBytes == null) {
+			return null;
+		}
+		int tokenSize = utf8Length(token);
+		if (actualBytes.length != tokenSize * 2) {
+			logger.trace(LogMessage.format(
+					"Not returning the CSRF token since its Base64-decoded length (%d) is not equal to (%d)",
+					actualBytes.length, tokenSize * 2));
+			return null;
+		}
+		boolean ascii = true;
+		for (int i = 0; i < tokenSize; i++) {
+			byte csrfByte = (byte) (actualBytes[tokenSize + i] ^ actualBytes[i]);
+			actualBytes[i] = csrfByte;
+			ascii &= csrfByte >= 0;
+		}
+		if (ascii) {
+			String unmasked = new String(actualBytes, 0, tokenSize, StandardCharsets.ISO_8859_1);
+			Arrays.fill(actualBytes, (byte) 0);
+			return unmasked;
+		}
+		byte[] csrfBytes = Arrays.copyOf(actualBytes, tokenSize);
+		Arrays.fill(actualBytes, (byte) 0);
+		try {
+			return Utf8.decode(csrfBytes);
+		}
+		finally {
+			Arrays.fill(csrfBytes, (byte) 0);
+		}
+	}
+
+	private static byte @Nullable [] decode(String maskedToken) {
+		try {
+			return Base64.getUrlDecoder().decode(maskedToken);
+		}
+		catch (Exception ex) {
+			logger.trace(LogMessage.format("Not returning the CSRF token since it's not Base64-encoded"), ex);
+			return null;
+		}
+	}
+
+	private static byte[] toBytes(String token) {
+		int length = token.length();
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) {
+			char c = token.charAt(i);
+			if (c > 0x7F) {
+				Arrays.fill(bytes, (byte) 0);
+				return Utf8.encode(token);
+			}
+			bytes[i] = (byte) c;
+		}
+		return bytes;
+	}
+
+	private static int utf8Length(String token) {
+		int length = token.length();
+		for (int i = 0; i < length; i++) {
+			if (token.charAt(i) > 0x7F) {
+				byte[] bytes = Utf8.encode(token);
+				Arrays.fill(bytes, (byte) 0);
+				return bytes.length;
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * The pool of {@link SecureRandom} instances, created on first use.
+	 */
+	private static final class SecureRandoms {
+
+		private static final SecureRandom[] pool = createSecureRandoms();
+
+		private static SecureRandom[] createSecureRandoms() {
+			int size = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+			SecureRandom[] secureRandoms = new SecureRandom[size];
+			for (int i = 0; i < size; i++) {
+				secureRandoms[i] = createSecureRandom();
+			}
+			return secureRandoms;
+		}
+
+		private static SecureRandom createSecureRandom() {
+			try {
+				return SecureRandom.getInstance("DRBG");
+			}
+			catch (NoSuchAlgorithmException ex) {
+				return new SecureRandom();
+			}
+		}
+
+	}
+
+}
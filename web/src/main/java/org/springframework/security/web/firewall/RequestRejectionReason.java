@@ -0,0 +1,78 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.firewall;
+
+/**
+ * The firewall rule that caused a request to be rejected.
+ *
+ * @since 7.1
+ * @see StrictHttpFirewall#getRejectedRequestCounts()
+ * @see org.springframework.security.web.server.firewall.StrictServerWebExchangeFirewall#getRejectedRequestCounts()
+ */
+public enum RequestRejectionReason {
+
+	/**
+	 * The HTTP method is not allowed.
+	 */
+	HTTP_METHOD,
+
+	/**
+	 * The encoded URL contains a forbidden string.
+	 */
+	ENCODED_URL_BLOCKLIST,
+
+	/**
+	 * The decoded URL contains a forbidden string.
+	 */
+	DECODED_URL_BLOCKLIST,
+
+	/**
+	 * The host is not allowed.
+	 */
+	UNTRUSTED_HOST,
+
+	/**
+	 * The URL contains path traversal segments.
+	 */
+	NOT_NORMALIZED,
+
+	/**
+	 * The URL contains characters that are not printable ASCII characters.
+	 */
+	NOT_PRINTABLE_ASCII,
+
+	/**
+	 * A header name is not allowed.
+	 */
+	HEADER_NAME,
+
+	/**
+	 * A header value is not allowed.
+	 */
+	HEADER_VALUE,
+
+	/**
+	 * A parameter name is not allowed.
+	 */
+	PARAMETER_NAME,
+
+	/**
+	 * A parameter value is not allowed.
+	 */
+	PARAMETER_VALUE
+
+}
@@ -19,13 +19,14 @@ package org.springframework.security.web.firewall;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
-import java.util.regex.Pattern;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -72,6 +73,10 @@ import org.springframework.util.Assert;
  * <li>Reject parameter values that are not allowed. See
  * {@link #setAllowedParameterValues(Predicate)}</li>
  * </ul>
+ * <p>
+ * The URL rules are checked by scanning each part of the URL once. The number of
+ * requests rejected by each rule is available from {@link #getRejectedRequestCounts()}.
+ * </p>
  *
  * @author Rob Winch
  * @author Eddú Meléndez
@@ -117,23 +122,20 @@ public class StrictHttpFirewall implements HttpFirewall {
 	private static final List<String> FORBIDDEN_PARAGRAPH_SEPARATOR = Collections
 		.unmodifiableList(Arrays.asList("\u2029"));
 
-	private Set<String> encodedUrlBlocklist = new HashSet<>();
+	private final UrlBlocklist encodedUrlBlocklist = new UrlBlocklist();
+
+	private final UrlBlocklist decodedUrlBlocklist = new UrlBlocklist();
 
-	private Set<String> decodedUrlBlocklist = new HashSet<>();
+	private final Map<RequestRejectionReason, LongAdder> rejectedRequestCounts = createRejectedRequestCounts();
 
 	private Set<String> allowedHttpMethods = createDefaultAllowedHttpMethods();
 
 	private Predicate<String> allowedHostnames = (hostname) -> true;
 
-	private static final Pattern ASSIGNED_AND_NOT_ISO_CONTROL_PATTERN = Pattern
-		.compile("[\\p{IsAssigned}&&[^\\p{IsControl}]]*");
-
 	private static final Predicate<String> ASSIGNED_AND_NOT_ISO_CONTROL_PREDICATE = (
-			s) -> ASSIGNED_AND_NOT_ISO_CONTROL_PATTERN.matcher(s).matches();
-
-	private static final Pattern HEADER_VALUE_PATTERN = Pattern.compile("[\\p{IsAssigned}&&[[^\\p{IsControl}]||\\t]]*");
+			s) -> isAssignedAndNotIsoControl(s, false);
 
-	private static final Predicate<String> HEADER_VALUE_PREDICATE = (s) -> HEADER_VALUE_PATTERN.matcher(s).matches();
+	private static final Predicate<String> HEADER_VALUE_PREDICATE = (s) -> isAssignedAndNotIsoControl(s, true);
 
 	private Predicate<String> allowedHeaderNames = ALLOWED_HEADER_NAMES;
 
@@ -515,19 +517,60 @@ public class StrictHttpFirewall implements HttpFirewall {
 	@Override
 	public FirewalledRequest getFirewalledRequest(HttpServletRequest request) throws RequestRejectedException {
 		rejectForbiddenHttpMethod(request);
+		if (this.encodedUrlBlocklist.isScannable() && this.decodedUrlBlocklist.isScannable()) {
+			rejectInvalidUrls(request);
+			return new StrictFirewalledRequest(request);
+		}
 		rejectedBlocklistedUrls(request);
 		rejectedUntrustedHosts(request);
 		if (!isNormalized(request)) {
-			throw new RequestRejectedException("The request was rejected because the URL was not normalized.");
+			throw rejectNotNormalized();
 		}
 		rejectNonPrintableAsciiCharactersInFieldName(request.getRequestURI(), "requestURI");
 		return new StrictFirewalledRequest(request);
 	}
 
+	/**
+	 * Provides the number of requests rejected so far by each rule of this firewall.
+	 * @return a snapshot of the number of rejected requests by
+	 * {@link RequestRejectionReason}
+	 * @since 7.1
+	 */
+	public Map<RequestRejectionReason, Long> getRejectedRequestCounts() {
+		Map<RequestRejectionReason, Long> counts = new EnumMap<>(RequestRejectionReason.class);
+		this.rejectedRequestCounts.forEach((reason, count) -> counts.put(reason, count.sum()));
+		return counts;
+	}
+
+	/**
+	 * Scans each part of the URL once and then rejects the request in the same order as
+	 * the individual rules would.
+	 */
+	private void rejectInvalidUrls(HttpServletRequest request) {
+		long contextPath = this.encodedUrlBlocklist.scan(request.getContextPath());
+		long requestUri = this.encodedUrlBlocklist.scan(request.getRequestURI());
+		long servletPath = this.decodedUrlBlocklist.scan(request.getServletPath());
+		long pathInfo = this.decodedUrlBlocklist.scan(request.getPathInfo());
+		String forbidden = this.encodedUrlBlocklist.firstForbidden(contextPath | requestUri);
+		if (forbidden != null) {
+			throw rejectBlocklistedUrl(RequestRejectionReason.ENCODED_URL_BLOCKLIST, forbidden);
+		}
+		forbidden = this.decodedUrlBlocklist.firstForbidden(servletPath | pathInfo);
+		if (forbidden != null) {
+			throw rejectBlocklistedUrl(RequestRejectionReason.DECODED_URL_BLOCKLIST, forbidden);
+		}
+		rejectedUntrustedHosts(request);
+		if (((contextPath | requestUri | servletPath | pathInfo) & UrlBlocklist.NOT_NORMALIZED) != 0) {
+			throw rejectNotNormalized();
+		}
+		if ((requestUri & UrlBlocklist.NOT_PRINTABLE_ASCII) != 0) {
+			throw rejectNonPrintableAsciiCharacters("requestURI");
+		}
+	}
+
 	private void rejectNonPrintableAsciiCharactersInFieldName(String toCheck, String propertyName) {
 		if (!containsOnlyPrintableAsciiCharacters(toCheck)) {
-			throw new RequestRejectedException(String
-				.format("The %s was rejected because it can only contain printable ASCII characters.", propertyName));
+			throw rejectNonPrintableAsciiCharacters(propertyName);
 		}
 	}
 
@@ -536,7 +579,7 @@ public class StrictHttpFirewall implements HttpFirewall {
 			return;
 		}
 		if (!this.allowedHttpMethods.contains(request.getMethod())) {
-			throw new RequestRejectedException(
+			throw reject(RequestRejectionReason.HTTP_METHOD,
 					"The request was rejected because the HTTP method \"" + request.getMethod()
 							+ "\" was not included within the list of allowed HTTP methods " + this.allowedHttpMethods);
 		}
@@ -545,16 +588,12 @@ public class StrictHttpFirewall implements HttpFirewall {
 	private void rejectedBlocklistedUrls(HttpServletRequest request) {
 		for (String forbidden : this.encodedUrlBlocklist) {
 			if (encodedUrlContains(request, forbidden)) {
-				throw new RequestRejectedException(
-						"The request was rejected because the URL contained a potentially malicious String \""
-								+ forbidden + "\"");
+				throw rejectBlocklistedUrl(RequestRejectionReason.ENCODED_URL_BLOCKLIST, forbidden);
 			}
 		}
 		for (String forbidden : this.decodedUrlBlocklist) {
 			if (decodedUrlContains(request, forbidden)) {
-				throw new RequestRejectedException(
-						"The request was rejected because the URL contained a potentially malicious String \""
-								+ forbidden + "\"");
+				throw rejectBlocklistedUrl(RequestRejectionReason.DECODED_URL_BLOCKLIST, forbidden);
 			}
 		}
 	}
@@ -562,16 +601,44 @@ public class StrictHttpFirewall implements HttpFirewall {
 	private void rejectedUntrustedHosts(HttpServletRequest request) {
 		String serverName = request.getServerName();
 		if (serverName != null && !this.allowedHostnames.test(serverName)) {
-			throw new RequestRejectedException(
+			throw reject(RequestRejectionReason.UNTRUSTED_HOST,
 					"The request was rejected because the domain " + serverName + " is untrusted.");
 		}
 	}
 
+	private RequestRejectedException rejectBlocklistedUrl(RequestRejectionReason reason, String forbidden) {
+		return reject(reason, "The request was rejected because the URL contained a potentially malicious String \""
+				+ forbidden + "\"");
+	}
+
+	private RequestRejectedException rejectNotNormalized() {
+		return reject(RequestRejectionReason.NOT_NORMALIZED,
+				"The request was rejected because the URL was not normalized.");
+	}
+
+	private RequestRejectedException rejectNonPrintableAsciiCharacters(String propertyName) {
+		return reject(RequestRejectionReason.NOT_PRINTABLE_ASCII, String
+			.format("The %s was rejected because it can only contain printable ASCII characters.", propertyName));
+	}
+
+	private RequestRejectedException reject(RequestRejectionReason reason, String message) {
+		this.rejectedRequestCounts.get(reason).increment();
+		return new RequestRejectedException(message);
+	}
+
 	@Override
 	public HttpServletResponse getFirewalledResponse(HttpServletResponse response) {
 		return new FirewalledResponse(response);
 	}
 
+	private static Map<RequestRejectionReason, LongAdder> createRejectedRequestCounts() {
+		Map<RequestRejectionReason, LongAdder> counts = new EnumMap<>(RequestRejectionReason.class);
+		for (RequestRejectionReason reason : RequestRejectionReason.values()) {
+			counts.put(reason, new LongAdder());
+		}
+		return counts;
+	}
+
 	private static Set<String> createDefaultAllowedHttpMethods() {
 		Set<String> result = new HashSet<>();
 		result.add(HttpMethod.DELETE.name());
@@ -632,6 +699,34 @@ public class StrictHttpFirewall implements HttpFirewall {
 		return value != null && value.contains(contains);
 	}
 
+	/**
+	 * Checks that each code point is assigned and is not an ISO control character,
+	 * optionally allowing tabs. Printable ASCII characters are accepted without looking
+	 * up their Unicode category.
+	 * @param value the value to test
+	 * @param allowTab whether a tab is allowed
+	 * @return true if the value only contains allowed characters
+	 */
+	private static boolean isAssignedAndNotIsoControl(String value, boolean allowTab) {
+		int length = value.length();
+		for (int i = 0; i < length;) {
+			char ch = value.charAt(i);
+			if (ch >= '\u0020' && ch <= '\u007e') {
+				i++;
+				continue;
+			}
+			int codePoint = value.codePointAt(i);
+			if (!(allowTab && codePoint == '\t')) {
+				int type = Character.getType(codePoint);
+				if (type == Character.UNASSIGNED || type == Character.CONTROL) {
+					return false;
+				}
+			}
+			i += Character.charCount(codePoint);
+		}
+		return true;
+	}
+
 	/**
 	 * Checks whether a path is normalized (doesn't contain path traversal sequences like
 	 * "./", "/../" or "/.")
@@ -833,29 +928,29 @@ public class StrictHttpFirewall implements HttpFirewall {
 
 		private void validateAllowedHeaderName(String headerNames) {
 			if (!StrictHttpFirewall.this.allowedHeaderNames.test(headerNames)) {
-				throw new RequestRejectedException(
+				throw reject(RequestRejectionReason.HEADER_NAME,
 						"The request was rejected because the header name \"" + headerNames + "\" is not allowed.");
 			}
 		}
 
 		private void validateAllowedHeaderValue(String name, String value) {
 			if (!StrictHttpFirewall.this.allowedHeaderValues.test(value)) {
-				throw new RequestRejectedException("The request was rejected because the header: \"" + name
-						+ " \" has a value \"" + value + "\" that is not allowed.");
+				throw reject(RequestRejectionReason.HEADER_VALUE, "The request was rejected because the header: \""
+						+ name + " \" has a value \"" + value + "\" that is not allowed.");
 			}
 		}
 
 		private void validateAllowedParameterName(String name) {
 			if (!StrictHttpFirewall.this.allowedParameterNames.test(name)) {
-				throw new RequestRejectedException(
+				throw reject(RequestRejectionReason.PARAMETER_NAME,
 						"The request was rejected because the parameter name \"" + name + "\" is not allowed.");
 			}
 		}
 
 		private void validateAllowedParameterValue(String name, String value) {
 			if (!StrictHttpFirewall.this.allowedParameterValues.test(value)) {
-				throw new RequestRejectedException("The request was rejected because the parameter: \"" + name
-						+ " \" has a value \"" + value + "\" that is not allowed.");
+				throw reject(RequestRejectionReason.PARAMETER_VALUE, "The request was rejected because the parameter: \""
+						+ name + " \" has a value \"" + value + "\" that is not allowed.");
 			}
 		}
 
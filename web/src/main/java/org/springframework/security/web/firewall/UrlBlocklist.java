@@ -0,0 +1,260 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.firewall;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A mutable set of forbidden URL strings that can scan a URL for all of them, and for
+ * the other URL rules of {@link StrictHttpFirewall} and
+ * {@link org.springframework.security.web.server.firewall.StrictServerWebExchangeFirewall},
+ * in a single pass.
+ *
+ * <p>
+ * The result of {@link #scan(String)} is a bit mask. The lowest
+ * {@link #MAX_SCANNABLE_SIZE} bits record which forbidden strings were found, by their
+ * position in this set's iteration order, while {@link #NOT_NORMALIZED} and
+ * {@link #NOT_PRINTABLE_ASCII} record whether the URL contains path traversal segments
+ * or characters other than printable ASCII characters.
+ *
+ * <p>
+ * Any modification to the set discards the compiled lookup table, which is rebuilt on
+ * the next scan.
+ *
+ * @since 7.1
+ */
+public final class UrlBlocklist extends AbstractSet<String> {
+
+	/**
+	 * The largest number of forbidden strings that {@link #scan(String)} supports.
+	 */
+	public static final int MAX_SCANNABLE_SIZE = 62;
+
+	/**
+	 * Set when the scanned value contains a {@code "."} or {@code ".."} path segment.
+	 */
+	public static final long NOT_NORMALIZED = 1L << 62;
+
+	/**
+	 * Set when the scanned value contains a character that is not printable ASCII.
+	 */
+	public static final long NOT_PRINTABLE_ASCII = 1L << 63;
+
+	private static final long FORBIDDEN = ~(NOT_NORMALIZED | NOT_PRINTABLE_ASCII);
+
+	private final Set<String> values = new HashSet<>();
+
+	private volatile @Nullable Table table;
+
+	/**
+	 * Whether {@link #scan(String)} may be used for this set. Sets that are too large or
+	 * contain an empty string are not scannable.
+	 * @return {@code true} if this set can be scanned for
+	 */
+	public boolean isScannable() {
+		return table().tokens != null;
+	}
+
+	/**
+	 * Scan the value once, recording every forbidden string it contains, whether it is
+	 * normalized and whether it only contains printable ASCII characters.
+	 * @param value the value to scan, may be {@code null}
+	 * @return the bit mask describing the value
+	 * @throws IllegalStateException if this set is not {@link #isScannable() scannable}
+	 */
+	public long scan(@Nullable String value) {
+		if (value == null) {
+			return 0;
+		}
+		Table table = table();
+		String[] tokens = table.tokens;
+		if (tokens == null) {
+			throw new IllegalStateException("This blocklist cannot be scanned");
+		}
+		long result = 0;
+		int length = value.length();
+		int segment = 0;
+		for (int i = 0; i < length; i++) {
+			char ch = value.charAt(i);
+			if (ch < ' ' || ch > '~') {
+				result |= NOT_PRINTABLE_ASCII;
+			}
+			if (ch == '/') {
+				if (isTraversal(value, segment, i)) {
+					result |= NOT_NORMALIZED;
+				}
+				segment = i + 1;
+			}
+			int @Nullable [] candidates = (ch < 128) ? table.ascii[ch] : table.nonAscii;
+			if (candidates != null) {
+				for (int candidate : candidates) {
+					if (value.startsWith(tokens[candidate], i)) {
+						result |= 1L << candidate;
+					}
+				}
+			}
+		}
+		if (isTraversal(value, segment, length)) {
+			result |= NOT_NORMALIZED;
+		}
+		return result;
+	}
+
+	/**
+	 * The forbidden string that comes first in this set's iteration order among those
+	 * recorded in the given {@link #scan(String)} result.
+	 * @param result the result of one or more scans
+	 * @return the first forbidden string found, or {@code null} if none was found
+	 */
+	public @Nullable String firstForbidden(long result) {
+		long forbidden = result & FORBIDDEN;
+		if (forbidden == 0) {
+			return null;
+		}
+		String[] tokens = table().tokens;
+		return (tokens != null) ? tokens[Long.numberOfTrailingZeros(forbidden)] : null;
+	}
+
+	private static boolean isTraversal(String value, int begin, int end) {
+		int gap = end - begin;
+		if (gap == 1) {
+			return value.charAt(begin) == '.';
+		}
+		return gap == 2 && value.charAt(begin) == '.' && value.charAt(begin + 1) == '.';
+	}
+
+	private Table table() {
+		Table table = this.table;
+		if (table == null) {
+			table = new Table(this.values);
+			this.table = table;
+		}
+		return table;
+	}
+
+	@Override
+	public Iterator<String> iterator() {
+		Iterator<String> delegate = this.values.iterator();
+		return new Iterator<>() {
+
+			@Override
+			public boolean hasNext() {
+				return delegate.hasNext();
+			}
+
+			@Override
+			public String next() {
+				return delegate.next();
+			}
+
+			@Override
+			public void remove() {
+				delegate.remove();
+				UrlBlocklist.this.table = null;
+			}
+
+		};
+	}
+
+	@Override
+	public int size() {
+		return this.values.size();
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return this.values.contains(o);
+	}
+
+	@Override
+	public boolean add(String value) {
+		boolean added = this.values.add(value);
+		if (added) {
+			this.table = null;
+		}
+		return added;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		boolean removed = this.values.remove(o);
+		if (removed) {
+			this.table = null;
+		}
+		return removed;
+	}
+
+	@Override
+	public void clear() {
+		this.values.clear();
+		this.table = null;
+	}
+
+	/**
+	 * A lookup table from the first character of each forbidden string to the positions
+	 * of the forbidden strings that start with it.
+	 */
+	private static final class Table {
+
+		private final String @Nullable [] tokens;
+
+		private final int[] @Nullable [] ascii = new int[128][];
+
+		private final int @Nullable [] nonAscii;
+
+		private Table(Set<String> values) {
+			String[] tokens = values.toArray(new String[0]);
+			List<Integer> nonAscii = new ArrayList<>();
+			boolean scannable = tokens.length <= MAX_SCANNABLE_SIZE;
+			for (int i = 0; scannable && i < tokens.length; i++) {
+				String token = tokens[i];
+				if (token.isEmpty()) {
+					scannable = false;
+					break;
+				}
+				char first = token.charAt(0);
+				if (first < 128) {
+					this.ascii[first] = append(this.ascii[first], i);
+				}
+				else {
+					nonAscii.add(i);
+				}
+			}
+			this.tokens = scannable ? tokens : null;
+			this.nonAscii = nonAscii.isEmpty() ? null : nonAscii.stream().mapToInt(Integer::intValue).toArray();
+		}
+
+		private static int[] append(int @Nullable [] positions, int position) {
+			if (positions == null) {
+				return new int[] { position };
+			}
+			int[] result = new int[positions.length + 1];
+			System.arraycopy(positions, 0, result, 0, positions.length);
+			result[positions.length] = position;
+			return result;
+		}
+
+	}
+
+}
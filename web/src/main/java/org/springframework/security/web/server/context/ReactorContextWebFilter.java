@@ -37,6 +37,8 @@ public class ReactorContextWebFilter implements WebFilter {
 
 	private final ServerSecurityContextRepository repository;
 
+	private boolean resolveSecurityContextOnce;
+
 	public ReactorContextWebFilter(ServerSecurityContextRepository repository) {
 		Assert.notNull(repository, "repository cannot be null");
 		this.repository = repository;
@@ -50,8 +52,26 @@ public class ReactorContextWebFilter implements WebFilter {
 	}
 
 	private Context withSecurityContext(Context mainContext, ServerWebExchange exchange) {
-		return mainContext
-			.putAll(this.repository.load(exchange).as(ReactiveSecurityContextHolder::withSecurityContext).readOnly());
+		Mono<SecurityContext> securityContext = this.repository.load(exchange);
+		Context context = this.resolveSecurityContextOnce
+				? ReactiveSecurityContextHolder.withResolvedSecurityContext(securityContext)
+				: ReactiveSecurityContextHolder.withSecurityContext(securityContext);
+		return mainContext.putAll(context.readOnly());
+	}
+
+	/**
+	 * Whether the {@link SecurityContext} loaded for an exchange should be resolved only
+	 * once, so that every {@link ReactiveSecurityContextHolder#getContext()} in the
+	 * exchange after the first reuses it instead of subscribing to the
+	 * {@link ServerSecurityContextRepository#load(ServerWebExchange)} result again. The
+	 * default is {@code false}.
+	 * @param resolveSecurityContextOnce whether to resolve the {@link SecurityContext}
+	 * once per exchange
+	 * @since 7.1
+	 * @see ReactiveSecurityContextHolder#withResolvedSecurityContext(Mono)
+	 */
+	public void setResolveSecurityContextOnce(boolean resolveSecurityContextOnce) {
+		this.resolveSecurityContextOnce = resolveSecurityContextOnce;
 	}
 
 }
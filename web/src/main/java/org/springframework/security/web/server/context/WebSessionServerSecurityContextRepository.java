@@ -16,16 +16,20 @@
 
 package org.springframework.security.web.server.context;
 
+import java.util.Objects;
+
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.jspecify.annotations.Nullable;
 import reactor.core.publisher.Mono;
 
 import org.springframework.core.log.LogMessage;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.util.Assert;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebSession;
+import org.springframework.web.server.session.WebSessionIdResolver;
 
 /**
  * Stores the {@link SecurityContext} in the
@@ -45,10 +49,17 @@ public class WebSessionServerSecurityContextRepository implements ServerSecurity
 	 */
 	public static final String DEFAULT_SPRING_SECURITY_CONTEXT_ATTR_NAME = "SPRING_SECURITY_CONTEXT";
 
+	private static final String LOADED_CONTEXT_ATTR_PREFIX = WebSessionServerSecurityContextRepository.class.getName()
+			+ ".LOADED_CONTEXT.";
+
 	private String springSecurityContextAttrName = DEFAULT_SPRING_SECURITY_CONTEXT_ATTR_NAME;
 
 	private boolean cacheSecurityContext;
 
+	private boolean skipUnchangedSave;
+
+	private @Nullable WebSessionIdResolver webSessionIdResolver;
+
 	/**
 	 * Sets the session attribute name used to save and load the {@link SecurityContext}
 	 * @param springSecurityContextAttrName the session attribute name to use to save and
@@ -61,7 +72,9 @@ public class WebSessionServerSecurityContextRepository implements ServerSecurity
 
 	/**
 	 * If set to true the result of {@link #load(ServerWebExchange)} will use
-	 * {@link Mono#cache()} to prevent multiple lookups.
+	 * {@link Mono#cache()} to prevent multiple lookups, and the {@link SecurityContext}
+	 * found in the {@link WebSession} is reused by every later
+	 * {@link #load(ServerWebExchange)} for the same exchange.
 	 * @param cacheSecurityContext true if {@link Mono#cache()} should be used, else
 	 * false.
 	 */
@@ -69,8 +82,50 @@ public class WebSessionServerSecurityContextRepository implements ServerSecurity
 		this.cacheSecurityContext = cacheSecurityContext;
 	}
 
+	/**
+	 * If set to true, {@link #save(ServerWebExchange, SecurityContext)} neither writes
+	 * to the {@link WebSession} nor changes the session id when given a
+	 * {@link SecurityContext} equal to the one loaded or saved earlier in the same
+	 * exchange, and whose {@link Authentication} has the same hash code as at that time,
+	 * so that an {@link Authentication} changed in place is still saved. This avoids a
+	 * write to external session stores on every save of an unchanged
+	 * {@link SecurityContext}. The default is false, which always saves.
+	 * @param skipUnchangedSave true if saving an unchanged {@link SecurityContext}
+	 * should be skipped, else false
+	 * @since 7.1
+	 */
+	public void setSkipUnchangedSave(boolean skipUnchangedSave) {
+		this.skipUnchangedSave = skipUnchangedSave;
+	}
+
+	/**
+	 * Sets the {@link WebSessionIdResolver} used to check whether the request carries a
+	 * session id before {@link #load(ServerWebExchange)} looks up the
+	 * {@link WebSession}. When no session id is resolved, and no {@link WebSession} was
+	 * used by this repository earlier in the exchange, no {@link SecurityContext} is
+	 * loaded and the {@link org.springframework.web.server.session.WebSessionManager} is
+	 * not used, which avoids creating a session for anonymous requests such as requests
+	 * for static resources. It should resolve session ids the same way as the
+	 * {@link org.springframework.web.server.session.WebSessionManager}, for example a
+	 * {@link org.springframework.web.server.session.CookieWebSessionIdResolver} with the
+	 * same cookie name. The default is to always look up the {@link WebSession}.
+	 * @param webSessionIdResolver the {@link WebSessionIdResolver} to use
+	 * @since 7.1
+	 */
+	public void setWebSessionIdResolver(WebSessionIdResolver webSessionIdResolver) {
+		Assert.notNull(webSessionIdResolver, "webSessionIdResolver cannot be null");
+		this.webSessionIdResolver = webSessionIdResolver;
+	}
+
 	@Override
 	public Mono<Void> save(ServerWebExchange exchange, @Nullable SecurityContext context) {
+		if (this.skipUnchangedSave && context != null) {
+			LoadedContext loaded = exchange.getAttribute(loadedContextAttrName());
+			if (loaded != null && loaded.matches(context)) {
+				logger.debug(LogMessage.format("Did not save unchanged SecurityContext '%s' in WebSession", context));
+				return Mono.empty();
+			}
+		}
 		return exchange.getSession().doOnNext((session) -> {
 			if (context == null) {
 				session.getAttributes().remove(this.springSecurityContextAttrName);
@@ -80,19 +135,61 @@ public class WebSessionServerSecurityContextRepository implements ServerSecurity
 				session.getAttributes().put(this.springSecurityContextAttrName, context);
 				logger.debug(LogMessage.format("Saved SecurityContext '%s' in WebSession: '%s'", context, session));
 			}
+			exchange.getAttributes().put(loadedContextAttrName(), LoadedContext.of(context));
 		}).flatMap(WebSession::changeSessionId);
 	}
 
 	@Override
 	public Mono<SecurityContext> load(ServerWebExchange exchange) {
-		Mono<SecurityContext> result = exchange.getSession().flatMap((session) -> {
-			SecurityContext context = (SecurityContext) session.getAttribute(this.springSecurityContextAttrName);
-			logger.debug((context != null)
-					? LogMessage.format("Found SecurityContext '%s' in WebSession: '%s'", context, session)
-					: LogMessage.format("No SecurityContext found in WebSession: '%s'", session));
-			return Mono.justOrEmpty(context);
+		Mono<SecurityContext> result = Mono.defer(() -> {
+			if (this.cacheSecurityContext) {
+				LoadedContext loaded = exchange.getAttribute(loadedContextAttrName());
+				if (loaded != null) {
+					return Mono.justOrEmpty(loaded.context());
+				}
+			}
+			if (!hasSessionId(exchange)) {
+				logger.trace("No SecurityContext loaded since the request has no session id");
+				return Mono.empty();
+			}
+			return exchange.getSession().flatMap((session) -> {
+				SecurityContext context = (SecurityContext) session.getAttribute(this.springSecurityContextAttrName);
+				logger.debug((context != null)
+						? LogMessage.format("Found SecurityContext '%s' in WebSession: '%s'", context, session)
+						: LogMessage.format("No SecurityContext found in WebSession: '%s'", session));
+				exchange.getAttributes().put(loadedContextAttrName(), LoadedContext.of(context));
+				return Mono.justOrEmpty(context);
+			});
 		});
 		return (this.cacheSecurityContext) ? result.cache() : result;
 	}
 
+	private boolean hasSessionId(ServerWebExchange exchange) {
+		// a session created earlier in the exchange has no id in the request yet
+		return this.webSessionIdResolver == null || exchange.getAttribute(loadedContextAttrName()) != null
+				|| !this.webSessionIdResolver.resolveSessionIds(exchange).isEmpty();
+	}
+
+	private String loadedContextAttrName() {
+		return LOADED_CONTEXT_ATTR_PREFIX + this.springSecurityContextAttrName;
+	}
+
+	/**
+	 * The {@link SecurityContext} found in, or last saved to, the {@link WebSession} for
+	 * an exchange, along with the hash code of the {@link Authentication} it held at that
+	 * time so that an {@link Authentication} changed in place is still saved.
+	 */
+	private record LoadedContext(@Nullable SecurityContext context, int authenticationHash) {
+
+		static LoadedContext of(@Nullable SecurityContext context) {
+			return new LoadedContext(context, (context != null) ? Objects.hashCode(context.getAuthentication()) : 0);
+		}
+
+		boolean matches(SecurityContext context) {
+			return context.equals(this.context)
+					&& this.authenticationHash == Objects.hashCode(context.getAuthentication());
+		}
+
+	}
+
 }
@@ -21,13 +21,14 @@ import java.net.URI;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
-import java.util.regex.Pattern;
 
 import org.jspecify.annotations.Nullable;
 import reactor.core.publisher.Mono;
@@ -38,6 +39,9 @@ import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.http.server.reactive.SslInfo;
+import org.springframework.security.web.firewall.RequestRejectionReason;
+import org.springframework.security.web.firewall.StrictHttpFirewall;
+import org.springframework.security.web.firewall.UrlBlocklist;
 import org.springframework.util.Assert;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.server.ServerWebExchange;
@@ -83,6 +87,11 @@ import org.springframework.web.server.ServerWebExchangeDecorator;
  * <li>Reject parameter values that are not allowed. See
  * {@link #setAllowedParameterValues(Predicate)}</li>
  * </ul>
+ * <p>
+ * The URL rules are checked by scanning each form of the path once, in the same way as
+ * {@link StrictHttpFirewall}. The number of exchanges rejected by each rule is available
+ * from {@link #getRejectedRequestCounts()}.
+ * </p>
  *
  * @author Rob Winch
  * @since 6.4
@@ -125,24 +134,21 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 	private static final List<String> FORBIDDEN_PARAGRAPH_SEPARATOR = Collections
 		.unmodifiableList(Arrays.asList("\u2029"));
 
-	private Set<String> encodedUrlBlocklist = new HashSet<>();
+	private final UrlBlocklist encodedUrlBlocklist = new UrlBlocklist();
 
-	private Set<String> decodedUrlBlocklist = new HashSet<>();
+	private final UrlBlocklist decodedUrlBlocklist = new UrlBlocklist();
+
+	private final Map<RequestRejectionReason, LongAdder> rejectedRequestCounts = createRejectedRequestCounts();
 
 	private Set<HttpMethod> allowedHttpMethods = createDefaultAllowedHttpMethods();
 
 	private Predicate<String> allowedHostnames = (hostname) -> true;
 
-	private static final Pattern ASSIGNED_AND_NOT_ISO_CONTROL_PATTERN = Pattern
-		.compile("[\\p{IsAssigned}&&[^\\p{IsControl}]]*");
-
 	private static final Predicate<String> ASSIGNED_AND_NOT_ISO_CONTROL_PREDICATE = (s) -> s == null
-			|| ASSIGNED_AND_NOT_ISO_CONTROL_PATTERN.matcher(s).matches();
-
-	private static final Pattern HEADER_VALUE_PATTERN = Pattern.compile("[\\p{IsAssigned}&&[[^\\p{IsControl}]||\\t]]*");
+			|| StrictHttpFirewall.ALLOWED_HEADER_NAMES.test(s);
 
 	private static final Predicate<String> HEADER_VALUE_PREDICATE = (s) -> s == null
-			|| HEADER_VALUE_PATTERN.matcher(s).matches();
+			|| StrictHttpFirewall.ALLOWED_HEADER_VALUES.test(s);
 
 	private Predicate<String> allowedHeaderNames = ALLOWED_HEADER_NAMES;
 
@@ -189,11 +195,15 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 		return Mono.fromCallable(() -> {
 			ServerHttpRequest request = exchange.getRequest();
 			rejectForbiddenHttpMethod(request);
-			rejectedBlocklistedUrls(request);
-			rejectedUntrustedHosts(request);
-			if (!isNormalized(request)) {
-				throw new ServerExchangeRejectedException(
-						"The request was rejected because the URL was not normalized");
+			if (this.encodedUrlBlocklist.isScannable() && this.decodedUrlBlocklist.isScannable()) {
+				rejectInvalidUrls(request);
+			}
+			else {
+				rejectedBlocklistedUrls(request);
+				rejectedUntrustedHosts(request);
+				if (!isNormalized(request)) {
+					throw rejectNotNormalized();
+				}
 			}
 
 			exchange.getResponse().beforeCommit(() -> Mono.fromRunnable(() -> {
@@ -209,6 +219,41 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 		});
 	}
 
+	/**
+	 * Provides the number of exchanges rejected so far by each rule of this firewall.
+	 * @return a snapshot of the number of rejected exchanges by
+	 * {@link RequestRejectionReason}
+	 * @since 7.1
+	 */
+	public Map<RequestRejectionReason, Long> getRejectedRequestCounts() {
+		Map<RequestRejectionReason, Long> counts = new EnumMap<>(RequestRejectionReason.class);
+		this.rejectedRequestCounts.forEach((reason, count) -> counts.put(reason, count.sum()));
+		return counts;
+	}
+
+	/**
+	 * Scans each form of the path once and then rejects the exchange in the same order
+	 * as the individual rules would.
+	 */
+	private void rejectInvalidUrls(ServerHttpRequest request) {
+		URI uri = request.getURI();
+		long path = this.encodedUrlBlocklist.scan(request.getPath().value());
+		long rawPath = this.encodedUrlBlocklist.scan(uri.getRawPath());
+		long decodedPath = this.decodedUrlBlocklist.scan(uri.getPath());
+		String forbidden = this.encodedUrlBlocklist.firstForbidden(path | rawPath);
+		if (forbidden != null) {
+			throw rejectBlocklistedUrl(RequestRejectionReason.ENCODED_URL_BLOCKLIST, forbidden);
+		}
+		forbidden = this.decodedUrlBlocklist.firstForbidden(decodedPath);
+		if (forbidden != null) {
+			throw rejectBlocklistedUrl(RequestRejectionReason.DECODED_URL_BLOCKLIST, forbidden);
+		}
+		rejectedUntrustedHosts(request);
+		if (((path | rawPath | decodedPath) & UrlBlocklist.NOT_NORMALIZED) != 0) {
+			throw rejectNotNormalized();
+		}
+	}
+
 	private static void validateCrlf(String name, String value) {
 		Assert.isTrue(!hasCrlf(name) && !hasCrlf(value), () -> "Invalid characters (CR/LF) in header " + name);
 	}
@@ -574,7 +619,7 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 			return;
 		}
 		if (!this.allowedHttpMethods.contains(request.getMethod())) {
-			throw new ServerExchangeRejectedException(
+			throw reject(RequestRejectionReason.HTTP_METHOD,
 					"The request was rejected because the HTTP method \"" + request.getMethod()
 							+ "\" was not included within the list of allowed HTTP methods " + this.allowedHttpMethods);
 		}
@@ -583,16 +628,12 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 	private void rejectedBlocklistedUrls(ServerHttpRequest request) {
 		for (String forbidden : this.encodedUrlBlocklist) {
 			if (encodedUrlContains(request, forbidden)) {
-				throw new ServerExchangeRejectedException(
-						"The request was rejected because the URL contained a potentially malicious String \""
-								+ forbidden + "\"");
+				throw rejectBlocklistedUrl(RequestRejectionReason.ENCODED_URL_BLOCKLIST, forbidden);
 			}
 		}
 		for (String forbidden : this.decodedUrlBlocklist) {
 			if (decodedUrlContains(request, forbidden)) {
-				throw new ServerExchangeRejectedException(
-						"The request was rejected because the URL contained a potentially malicious String \""
-								+ forbidden + "\"");
+				throw rejectBlocklistedUrl(RequestRejectionReason.DECODED_URL_BLOCKLIST, forbidden);
 			}
 		}
 	}
@@ -600,11 +641,34 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 	private void rejectedUntrustedHosts(ServerHttpRequest request) {
 		String hostName = request.getURI().getHost();
 		if (hostName != null && !this.allowedHostnames.test(hostName)) {
-			throw new ServerExchangeRejectedException(
+			throw reject(RequestRejectionReason.UNTRUSTED_HOST,
 					"The request was rejected because the domain " + hostName + " is untrusted.");
 		}
 	}
 
+	private ServerExchangeRejectedException rejectBlocklistedUrl(RequestRejectionReason reason, String forbidden) {
+		return reject(reason, "The request was rejected because the URL contained a potentially malicious String \""
+				+ forbidden + "\"");
+	}
+
+	private ServerExchangeRejectedException rejectNotNormalized() {
+		return reject(RequestRejectionReason.NOT_NORMALIZED,
+				"The request was rejected because the URL was not normalized");
+	}
+
+	private ServerExchangeRejectedException reject(RequestRejectionReason reason, String message) {
+		this.rejectedRequestCounts.get(reason).increment();
+		return new ServerExchangeRejectedException(message);
+	}
+
+	private static Map<RequestRejectionReason, LongAdder> createRejectedRequestCounts() {
+		Map<RequestRejectionReason, LongAdder> counts = new EnumMap<>(RequestRejectionReason.class);
+		for (RequestRejectionReason reason : RequestRejectionReason.values()) {
+			counts.put(reason, new LongAdder());
+		}
+		return counts;
+	}
+
 	private static Set<HttpMethod> createDefaultAllowedHttpMethods() {
 		Set<HttpMethod> result = new HashSet<>();
 		result.add(HttpMethod.DELETE);
@@ -632,29 +696,29 @@ public class StrictServerWebExchangeFirewall implements ServerWebExchangeFirewal
 
 	private void validateAllowedHeaderName(String headerNames) {
 		if (!StrictServerWebExchangeFirewall.this.allowedHeaderNames.test(headerNames)) {
-			throw new ServerExchangeRejectedException(
+			throw reject(RequestRejectionReason.HEADER_NAME,
 					"The request was rejected because the header name \"" + headerNames + "\" is not allowed.");
 		}
 	}
 
 	private void validateAllowedHeaderValue(Object key, @Nullable String value) {
 		if (!StrictServerWebExchangeFirewall.this.allowedHeaderValues.test(value)) {
-			throw new ServerExchangeRejectedException("The request was rejected because the header: \"" + key
+			throw reject(RequestRejectionReason.HEADER_VALUE, "The request was rejected because the header: \"" + key
 					+ " \" has a value \"" + value + "\" that is not allowed.");
 		}
 	}
 
 	private void validateAllowedParameterName(String name) {
 		if (!StrictServerWebExchangeFirewall.this.allowedParameterNames.test(name)) {
-			throw new ServerExchangeRejectedException(
+			throw reject(RequestRejectionReason.PARAMETER_NAME,
 					"The request was rejected because the parameter name \"" + name + "\" is not allowed.");
 		}
 	}
 
 	private void validateAllowedParameterValue(String name, String value) {
 		if (!StrictServerWebExchangeFirewall.this.allowedParameterValues.test(value)) {
-			throw new ServerExchangeRejectedException("The request was rejected because the parameter: \"" + name
-					+ " \" has a value \"" + value + "\" that is not allowed.");
+			throw reject(RequestRejectionReason.PARAMETER_VALUE, "The request was rejected because the parameter: \""
+					+ name + " \" has a value \"" + value + "\" that is not allowed.");
 		}
 	}
 
@@ -16,6 +16,8 @@
 
 package org.springframework.security.web.servlet.util.matcher;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 import jakarta.servlet.http.HttpServletRequest;
@@ -58,16 +60,22 @@ public final class PathPatternRequestMatcher implements RequestMatcher {
 
 	private final RequestMatcher method;
 
+	private final boolean indexable;
+
 	/**
 	 * Creates a {@link PathPatternRequestMatcher} that uses the provided {@code pattern}.
 	 * <p>
 	 * The {@code pattern} should be relative to the context path
 	 * </p>
 	 * @param pattern the pattern used to match
+	 * @param method the method matcher
+	 * @param indexable whether the pattern's literal segments are compared exactly,
+	 * character by character, against {@code /}-separated path segments
 	 */
-	private PathPatternRequestMatcher(PathPattern pattern, RequestMatcher method) {
+	private PathPatternRequestMatcher(PathPattern pattern, RequestMatcher method, boolean indexable) {
 		this.pattern = pattern;
 		this.method = method;
+		this.indexable = indexable;
 	}
 
 	/**
@@ -144,7 +152,7 @@ public final class PathPatternRequestMatcher implements RequestMatcher {
 		return (info != null) ? MatchResult.match(info.getUriVariables()) : MatchResult.notMatch();
 	}
 
-	private PathContainer getPathContainer(HttpServletRequest request) {
+	static PathContainer getPathContainer(HttpServletRequest request) {
 		RequestPath path;
 		if (ServletRequestPathUtils.hasParsedRequestPath(request)) {
 			path = ServletRequestPathUtils.getParsedRequestPath(request);
@@ -157,6 +165,59 @@ public final class PathPatternRequestMatcher implements RequestMatcher {
 		return path.subPath(contextPath.elements().size());
 	}
 
+	/**
+	 * The HTTP method this matcher requires, if any.
+	 * @return the HTTP method name or {@code null} if any method matches
+	 */
+	@Nullable String getMethodName() {
+		return (this.method instanceof HttpMethodRequestMatcher m) ? m.method.name() : null;
+	}
+
+	/**
+	 * The leading path segments of the pattern that contain no wildcards, captures or
+	 * other special characters. Any matching request path must start with exactly these
+	 * segments.
+	 * @return the literal path segments or {@code null} if this matcher's pattern cannot
+	 * be safely reduced to a literal prefix
+	 */
+	@Nullable List<String> getLiteralPrefix() {
+		if (!this.indexable) {
+			return null;
+		}
+		String pattern = this.pattern.getPatternString();
+		if (!pattern.startsWith("/")) {
+			return null;
+		}
+		List<String> segments = new ArrayList<>();
+		int begin = 1;
+		while (begin < pattern.length()) {
+			int end = pattern.indexOf('/', begin);
+			String segment = (end != -1) ? pattern.substring(begin, end) : pattern.substring(begin);
+			if (!isLiteral(segment)) {
+				break;
+			}
+			segments.add(segment);
+			if (end == -1) {
+				break;
+			}
+			begin = end + 1;
+		}
+		return segments;
+	}
+
+	private static boolean isLiteral(String segment) {
+		if (segment.isEmpty()) {
+			return false;
+		}
+		for (int i = 0; i < segment.length(); i++) {
+			char c = segment.charAt(i);
+			if (c == '*' || c == '?' || c == '{' || c == '}' || c == ';' || c == '%' || c == '\\') {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -320,8 +381,9 @@ public final class PathPatternRequestMatcher implements RequestMatcher {
 			Assert.isTrue(path.startsWith("/"), "pattern must start with a /");
 			String prefix = ("/".equals(this.basePath)) ? "" : this.basePath;
 			PathPattern pathPattern = this.parser.parse(prefix + path);
+			boolean indexable = this.parser.isCaseSensitive() && this.parser.getPathOptions().separator() == '/';
 			return new PathPatternRequestMatcher(pathPattern,
-					(method != null) ? new HttpMethodRequestMatcher(method) : AnyRequestMatcher.INSTANCE);
+					(method != null) ? new HttpMethodRequestMatcher(method) : AnyRequestMatcher.INSTANCE, indexable);
 		}
 
 	}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.servlet.util.matcher;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.jspecify.annotations.Nullable;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher.MatchResult;
+import org.springframework.security.web.util.matcher.RequestMatcherEntry;
+import org.springframework.util.Assert;
+
+/**
+ * An ordered list of {@link RequestMatcherEntry}s that narrows down which entries need
+ * to be evaluated for a given request.
+ *
+ * <p>
+ * Each {@link PathPatternRequestMatcher} is placed into a trie keyed by the literal
+ * leading segments of its pattern and by its HTTP method. Any other
+ * {@link RequestMatcher} is considered opaque and is always evaluated. For a given
+ * request, only the entries found along the request path, together with the opaque
+ * entries, are evaluated, in their original order. The first entry that matches wins,
+ * just as it does when evaluating the entries one after another.
+ *
+ * @param <T> the type of the entry
+ * @since 7.1
+ * @see PathPatternRequestMatcher
+ */
+public final class PathPatternRequestMatcherIndex<T> {
+
+	private final List<RequestMatcherEntry<T>> entries;
+
+	private final Node root = new Node();
+
+	private final BitSet opaque = new BitSet();
+
+	private final int indexed;
+
+	private PathPatternRequestMatcherIndex(List<RequestMatcherEntry<T>> entries) {
+		this.entries = new ArrayList<>(entries);
+		int indexed = 0;
+		for (int i = 0; i < this.entries.size(); i++) {
+			RequestMatcher matcher = this.entries.get(i).getRequestMatcher();
+			@Nullable List<String> prefix = (matcher instanceof PathPatternRequestMatcher pattern) ? pattern.getLiteralPrefix()
+					: null;
+			if (prefix == null) {
+				this.opaque.set(i);
+				continue;
+			}
+			Node node = this.root;
+			for (String segment : prefix) {
+				node = node.children.computeIfAbsent(segment, (key) -> new Node());
+			}
+			node.add(i, ((PathPatternRequestMatcher) matcher).getMethodName());
+			indexed++;
+		}
+		this.indexed = indexed;
+	}
+
+	/**
+	 * Create a {@link PathPatternRequestMatcherIndex} for the given, ordered, entries.
+	 * @param entries the entries to index
+	 * @param <T> the type of the entry
+	 * @return the {@link PathPatternRequestMatcherIndex}
+	 */
+	public static <T> PathPatternRequestMatcherIndex<T> of(List<RequestMatcherEntry<T>> entries) {
+		Assert.notNull(entries, "entries cannot be null");
+		return new PathPatternRequestMatcherIndex<>(entries);
+	}
+
+	/**
+	 * Find the first entry whose {@link RequestMatcher} matches the given request.
+	 * @param request the request
+	 * @return the first matching entry and its {@link MatchResult} or {@code null} if no
+	 * entry matches
+	 */
+	public @Nullable Match<T> match(HttpServletRequest request) {
+		BitSet candidates = candidates(request);
+		for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+			RequestMatcherEntry<T> entry = this.entries.get(i);
+			MatchResult result = entry.getRequestMatcher().matcher(request);
+			if (result.isMatch()) {
+				return new Match<>(entry, result);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * The number of entries that are evaluated only when the request path starts with
+	 * their literal prefix.
+	 * @return the number of indexed entries
+	 */
+	public int getIndexedCount() {
+		return this.indexed;
+	}
+
+	/**
+	 * The number of entries that are evaluated for every request.
+	 * @return the number of opaque entries
+	 */
+	public int getOpaqueCount() {
+		return this.entries.size() - this.indexed;
+	}
+
+	private BitSet candidates(HttpServletRequest request) {
+		BitSet candidates = (BitSet) this.opaque.clone();
+		if (this.indexed == 0) {
+			return candidates;
+		}
+		String method = request.getMethod();
+		Node node = this.root;
+		node.collect(method, candidates);
+		boolean separator = false;
+		for (PathContainer.Element element : PathPatternRequestMatcher.getPathContainer(request).elements()) {
+			if (element instanceof PathContainer.Separator) {
+				if (separator) {
+					// consecutive separators cannot be matched by a literal segment
+					break;
+				}
+				separator = true;
+				continue;
+			}
+			if (!separator || !(element instanceof PathContainer.PathSegment segment)) {
+				break;
+			}
+			node = node.children.get(segment.valueToMatch());
+			if (node == null) {
+				break;
+			}
+			node.collect(method, candidates);
+			separator = false;
+		}
+		return candidates;
+	}
+
+	@Override
+	public String toString() {
+		return "PathPatternRequestMatcherIndex [indexed=" + this.indexed + ", opaque=" + getOpaqueCount() + "]";
+	}
+
+	/**
+	 * The first {@link RequestMatcherEntry} that matched a request, together with its
+	 * {@link MatchResult}.
+	 *
+	 * @param <T> the type of the entry
+	 */
+	public static final class Match<T> {
+
+		private final RequestMatcherEntry<T> entry;
+
+		private final MatchResult matchResult;
+
+		private Match(RequestMatcherEntry<T> entry, MatchResult matchResult) {
+			this.entry = entry;
+			this.matchResult = matchResult;
+		}
+
+		public RequestMatcherEntry<T> getEntry() {
+			return this.entry;
+		}
+
+		public MatchResult getMatchResult() {
+			return this.matchResult;
+		}
+
+	}
+
+	private static final class Node {
+
+		private final Map<String, Node> children = new HashMap<>();
+
+		private int[] positions = new int[0];
+
+		private @Nullable String[] methods = new String[0];
+
+		private void add(int position, @Nullable String method) {
+			int length = this.positions.length;
+			int[] positions = new int[length + 1];
+			System.arraycopy(this.positions, 0, positions, 0, length);
+			positions[length] = position;
+			@Nullable String[] methods = new String[length + 1];
+			System.arraycopy(this.methods, 0, methods, 0, length);
+			methods[length] = method;
+			this.positions = positions;
+			this.methods = methods;
+		}
+
+		private void collect(String method, BitSet candidates) {
+			for (int i = 0; i < this.positions.length; i++) {
+				@Nullable String required = this.methods[i];
+				if (required == null || required.equals(method)) {
+					candidates.set(this.positions[i]);
+				}
+			}
+		}
+
+	}
+
+}
@@ -17,7 +17,11 @@
 package org.springframework.security.web.session;
 
 import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -28,10 +32,12 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import org.jspecify.annotations.Nullable;
 
+import org.springframework.context.ApplicationListener;
 import org.springframework.core.log.LogMessage;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.core.session.SessionDestroyedEvent;
 import org.springframework.security.core.session.SessionInformation;
 import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.web.DefaultRedirectStrategy;
@@ -68,7 +74,7 @@ import org.springframework.web.filter.GenericFilterBean;
  * @author Marten Deinum
  * @author Onur Kagan Ozcan
  */
-public class ConcurrentSessionFilter extends GenericFilterBean {
+public class ConcurrentSessionFilter extends GenericFilterBean implements ApplicationListener<SessionDestroyedEvent> {
 
 	private SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder
 		.getContextHolderStrategy();
@@ -83,6 +89,12 @@ public class ConcurrentSessionFilter extends GenericFilterBean {
 
 	private SessionInformationExpiredStrategy sessionInformationExpiredStrategy;
 
+	private long refreshLastRequestIntervalMillis;
+
+	private final Map<String, Long> lastRefreshes = new ConcurrentHashMap<>();
+
+	private Clock clock = Clock.systemUTC();
+
 	public ConcurrentSessionFilter(SessionRegistry sessionRegistry) {
 		Assert.notNull(sessionRegistry, "SessionRegistry required");
 		this.sessionRegistry = sessionRegistry;
@@ -138,6 +150,7 @@ public class ConcurrentSessionFilter extends GenericFilterBean {
 			SessionInformation info = this.sessionRegistry.getSessionInformation(session.getId());
 			if (info != null) {
 				if (info.isExpired()) {
+					this.lastRefreshes.remove(info.getSessionId());
 					// Expired - abort processing
 					this.logger.debug(LogMessage
 						.of(() -> "Requested session ID " + request.getRequestedSessionId() + " has expired."));
@@ -147,12 +160,36 @@ public class ConcurrentSessionFilter extends GenericFilterBean {
 					return;
 				}
 				// Non-expired - update last request date/time
-				this.sessionRegistry.refreshLastRequest(info.getSessionId());
+				refreshLastRequest(info.getSessionId());
 			}
 		}
 		chain.doFilter(request, response);
 	}
 
+	private void refreshLastRequest(String sessionId) {
+		if (this.refreshLastRequestIntervalMillis == 0) {
+			this.sessionRegistry.refreshLastRequest(sessionId);
+			return;
+		}
+		long now = this.clock.millis();
+		Long lastRefresh = this.lastRefreshes.get(sessionId);
+		if (lastRefresh == null || lastRefresh <= now - this.refreshLastRequestIntervalMillis) {
+			this.lastRefreshes.put(sessionId, now);
+			this.sessionRegistry.refreshLastRequest(sessionId);
+		}
+	}
+
+	/**
+	 * Forgets when the last request time of the destroyed session was refreshed.
+	 * @param event the {@link SessionDestroyedEvent}
+	 * @since 7.1
+	 * @see #setRefreshLastRequestInterval(Duration)
+	 */
+	@Override
+	public void onApplicationEvent(SessionDestroyedEvent event) {
+		this.lastRefreshes.remove(event.getId());
+	}
+
 	/**
 	 * Determine the URL for expiration
 	 * @param request the HttpServletRequest
@@ -185,6 +222,42 @@ public class ConcurrentSessionFilter extends GenericFilterBean {
 		this.securityContextHolderStrategy = securityContextHolderStrategy;
 	}
 
+	/**
+	 * Sets the minimum interval between two calls to
+	 * {@link SessionRegistry#refreshLastRequest(String)} for the same session. Requests
+	 * made within the interval are coalesced, which avoids a write per request when the
+	 * {@link SessionRegistry} is backed by a remote store, at the expense of the last
+	 * request time recorded in the {@link SessionRegistry} being up to the interval
+	 * older than the actual last request. Whether a session has expired is still checked
+	 * on every request. The default is {@link Duration#ZERO}, which refreshes the last
+	 * request time on every request.
+	 * <p>
+	 * The time of the last refresh of each session is remembered until the session is
+	 * destroyed, so when an interval is set this filter must receive the
+	 * {@link SessionDestroyedEvent}s, for example by registering
+	 * {@link HttpSessionEventPublisher} and exposing this filter as a bean.
+	 * @param refreshLastRequestInterval the minimum interval between two refreshes of
+	 * the same session
+	 * @since 7.1
+	 */
+	public void setRefreshLastRequestInterval(Duration refreshLastRequestInterval) {
+		Assert.notNull(refreshLastRequestInterval, "refreshLastRequestInterval cannot be null");
+		Assert.isTrue(!refreshLastRequestInterval.isNegative(), "refreshLastRequestInterval cannot be negative");
+		this.refreshLastRequestIntervalMillis = refreshLastRequestInterval.toMillis();
+	}
+
+	/**
+	 * Sets the {@link Clock} used to coalesce the refreshes of the last request time. The
+	 * default is {@link Clock#systemUTC()}.
+	 * @param clock the {@link Clock} to use
+	 * @since 7.1
+	 * @see #setRefreshLastRequestInterval(Duration)
+	 */
+	public void setClock(Clock clock) {
+		Assert.notNull(clock, "clock cannot be null");
+		this.clock = clock;
+	}
+
 	public void setLogoutHandlers(LogoutHandler[] handlers) {
 		this.handlers = new CompositeLogoutHandler(handlers);
 	}
@@ -49,6 +49,7 @@ import org.springframework.security.web.firewall.HttpFirewall;
 import org.springframework.security.web.firewall.RequestRejectedException;
 import org.springframework.security.web.firewall.RequestRejectedHandler;
 import org.springframework.security.web.servlet.TestMockHttpServletMappings;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -65,6 +66,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.springframework.security.web.servlet.TestMockHttpServletRequests.get;
+import static org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher.pathPattern;
 
 /**
  * @author Luke Taylor
@@ -508,6 +510,31 @@ public class FilterChainProxyTests {
 		assertThat(filterChainObservationContext.getChainPosition()).isEqualTo(chainPosition);
 	}
 
+	@Test
+	public void doFilterWhenIndexFilterChainsThenFirstMatchingChainInvoked() throws Exception {
+		Filter admin = mockFilter();
+		Filter api = mockFilter();
+		Filter other = mockFilter();
+		FilterChainProxy proxy = new FilterChainProxy(
+				List.of(new DefaultSecurityFilterChain(pathPattern("/api/admin/**"), admin),
+						new DefaultSecurityFilterChain(pathPattern("/api/**"), api),
+						new DefaultSecurityFilterChain(AnyRequestMatcher.INSTANCE, other)));
+		proxy.setIndexFilterChains(true);
+		proxy.doFilter(get("/api/admin/users").build(), new MockHttpServletResponse(), mock(FilterChain.class));
+		proxy.doFilter(get("/api/users").build(), new MockHttpServletResponse(), mock(FilterChain.class));
+		proxy.doFilter(get("/login").build(), new MockHttpServletResponse(), mock(FilterChain.class));
+		verify(admin).doFilter(any(), any(), any());
+		verify(api).doFilter(any(), any(), any());
+		verify(other).doFilter(any(), any(), any());
+		assertThat(proxy.toString()).contains("Filter Chain Selection: indexed [indexed=2, opaque=1]");
+	}
+
+	@Test
+	public void setIndexFilterChainsWhenNoChainCanBeIndexedThenOrdered() {
+		this.fcp.setIndexFilterChains(true);
+		assertThat(this.fcp.toString()).contains("Filter Chain Selection: ordered");
+	}
+
 	static Filter mockFilter() throws Exception {
 		Filter filter = mock(Filter.class);
 		willAnswer((invocation) -> {
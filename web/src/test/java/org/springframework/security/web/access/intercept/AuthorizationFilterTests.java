@@ -17,6 +17,7 @@
 package org.springframework.security.web.access.intercept;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 import jakarta.servlet.DispatcherType;
@@ -35,6 +36,7 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
 import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthenticationSnapshot;
 import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.authorization.AuthorizationEventPublisher;
 import org.springframework.security.authorization.AuthorizationManager;
@@ -115,6 +117,26 @@ public class AuthorizationFilterTests {
 		verify(strategy).getContext();
 	}
 
+	@Test
+	public void doFilterWhenAuthorizedThenSnapshotBoundUntilRequestCompletes() throws Exception {
+		AuthorizationManager<HttpServletRequest> mockAuthorizationManager = mock(AuthorizationManager.class);
+		given(mockAuthorizationManager.authorize(any(Supplier.class), any(HttpServletRequest.class)))
+			.willReturn(new AuthorizationDecision(true));
+		AuthorizationFilter filter = new AuthorizationFilter(mockAuthorizationManager);
+		SecurityContextHolderStrategy strategy = mock(SecurityContextHolderStrategy.class);
+		given(strategy.getContext()).willReturn(new SecurityContextImpl(new TestingAuthenticationToken("user", "")));
+		filter.setSecurityContextHolderStrategy(strategy);
+		AtomicReference<AuthenticationSnapshot> current = new AtomicReference<>();
+		FilterChain chain = (request, response) -> current.set(AuthenticationSnapshot.current(strategy));
+
+		filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain);
+
+		ArgumentCaptor<Supplier<Authentication>> authenticationCaptor = ArgumentCaptor.forClass(Supplier.class);
+		verify(mockAuthorizationManager).authorize(authenticationCaptor.capture(), any(HttpServletRequest.class));
+		assertThat(current.get()).isSameAs(authenticationCaptor.getValue());
+		assertThat(AuthenticationSnapshot.current(strategy)).isNotSameAs(current.get());
+	}
+
 	@Test
 	public void filterWhenAuthorizationManagerVerifyThrowsAccessDeniedExceptionThenStopFilterChain() {
 		AuthorizationManager<HttpServletRequest> mockAuthorizationManager = mock(AuthorizationManager.class);
@@ -90,6 +90,55 @@ public class RequestMatcherDelegatingAuthorizationManagerTests {
 		assertThat(defaultDeny.isGranted()).isFalse();
 	}
 
+	@Test
+	public void checkWhenIndexedThenDelegatesFirstMatchingManager() {
+		RequestMatcherDelegatingAuthorizationManager manager = RequestMatcherDelegatingAuthorizationManager.builder()
+			.indexed(true)
+			.add(pathPattern("/api/admin/**"), AuthorityAuthorizationManager.hasRole("ADMIN"))
+			.add(pathPattern("/api/**"), SingleResultAuthorizationManager.permitAll())
+			.add(pathPattern("/deny"), SingleResultAuthorizationManager.denyAll())
+			.build();
+
+		Supplier<Authentication> authentication = () -> new TestingAuthenticationToken("user", "password", "ROLE_USER");
+
+		AuthorizationResult admin = manager.authorize(authentication,
+				new MockHttpServletRequest(null, "/api/admin/users"));
+		assertThat(admin).isNotNull();
+		assertThat(admin.isGranted()).isFalse();
+
+		AuthorizationResult api = manager.authorize(authentication, new MockHttpServletRequest(null, "/api/users"));
+		assertThat(api).isNotNull();
+		assertThat(api.isGranted()).isTrue();
+
+		AuthorizationResult unmapped = manager.authorize(authentication, new MockHttpServletRequest(null, "/unmapped"));
+		assertThat(unmapped).isNotNull();
+		assertThat(unmapped.isGranted()).isFalse();
+	}
+
+	@Test
+	public void checkWhenIndexedAndAnyRequestThenDelegatesInDeclaredOrder() {
+		RequestMatcherDelegatingAuthorizationManager manager = RequestMatcherDelegatingAuthorizationManager.builder()
+			.indexed(true)
+			.mappings((m) -> {
+				m.add(new RequestMatcherEntry<>(pathPattern("/grant"), SingleResultAuthorizationManager.permitAll()));
+				m.add(new RequestMatcherEntry<>(AnyRequestMatcher.INSTANCE,
+						AuthorityAuthorizationManager.hasRole("ADMIN")));
+				m.add(new RequestMatcherEntry<>(pathPattern("/afterAny"),
+						SingleResultAuthorizationManager.permitAll()));
+			})
+			.build();
+
+		Supplier<Authentication> authentication = () -> new TestingAuthenticationToken("user", "password", "ROLE_USER");
+
+		AuthorizationResult grant = manager.authorize(authentication, new MockHttpServletRequest(null, "/grant"));
+		assertThat(grant).isNotNull();
+		assertThat(grant.isGranted()).isTrue();
+
+		AuthorizationResult afterAny = manager.authorize(authentication, new MockHttpServletRequest(null, "/afterAny"));
+		assertThat(afterAny).isNotNull();
+		assertThat(afterAny.isGranted()).isFalse();
+	}
+
 	@Test
 	public void checkWhenMultipleMappingsConfiguredWithConsumerThenDelegatesMatchingManager() {
 		RequestMatcherDelegatingAuthorizationManager manager = RequestMatcherDelegatingAuthorizationManager.builder()
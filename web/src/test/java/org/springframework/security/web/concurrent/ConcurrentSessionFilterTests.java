@@ -16,6 +16,10 @@
 
 package org.springframework.security.web.concurrent;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.Date;
 import java.util.List;
 
@@ -39,6 +43,7 @@ import org.springframework.security.web.RedirectStrategy;
 import org.springframework.security.web.authentication.logout.LogoutHandler;
 import org.springframework.security.web.authentication.logout.SecurityContextLogoutHandler;
 import org.springframework.security.web.session.ConcurrentSessionFilter;
+import org.springframework.security.web.session.HttpSessionDestroyedEvent;
 import org.springframework.security.web.session.SessionInformationExpiredStrategy;
 import org.springframework.security.web.session.SimpleRedirectSessionInformationExpiredStrategy;
 
@@ -49,7 +54,9 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
@@ -273,6 +280,66 @@ public class ConcurrentSessionFilterTests {
 		assertThatIllegalArgumentException().isThrownBy(() -> filter.setLogoutHandlers(new LogoutHandler[0]));
 	}
 
+	@Test
+	public void doFilterWhenRefreshLastRequestIntervalThenRefreshesCoalesced() throws Exception {
+		SessionRegistry registry = mock(SessionRegistry.class);
+		MockHttpSession session = new MockHttpSession();
+		given(registry.getSessionInformation(session.getId()))
+			.willReturn(new SessionInformation("user", session.getId(), new Date()));
+		Instant now = Instant.now();
+		ConcurrentSessionFilter filter = new ConcurrentSessionFilter(registry);
+		filter.setRefreshLastRequestInterval(Duration.ofSeconds(30));
+		filter.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		doFilter(filter, session);
+		doFilter(filter, session);
+		verify(registry, times(1)).refreshLastRequest(session.getId());
+		filter.setClock(Clock.fixed(now.plusSeconds(30), ZoneOffset.UTC));
+		doFilter(filter, session);
+		verify(registry, times(2)).refreshLastRequest(session.getId());
+		verify(registry, times(3)).getSessionInformation(session.getId());
+	}
+
+	@Test
+	public void onApplicationEventWhenSessionDestroyedThenNextRequestRefreshes() throws Exception {
+		SessionRegistry registry = mock(SessionRegistry.class);
+		MockHttpSession session = new MockHttpSession();
+		given(registry.getSessionInformation(session.getId()))
+			.willReturn(new SessionInformation("user", session.getId(), new Date()));
+		ConcurrentSessionFilter filter = new ConcurrentSessionFilter(registry);
+		filter.setRefreshLastRequestInterval(Duration.ofSeconds(30));
+		filter.setClock(Clock.fixed(Instant.now(), ZoneOffset.UTC));
+		doFilter(filter, session);
+		filter.onApplicationEvent(new HttpSessionDestroyedEvent(session));
+		doFilter(filter, session);
+		verify(registry, times(2)).refreshLastRequest(session.getId());
+	}
+
+	@Test
+	public void doFilterWhenRefreshLastRequestIntervalAndSessionExpiredThenExpiredDetected() throws Exception {
+		SessionRegistry registry = mockSessionRegistry();
+		ConcurrentSessionFilter filter = new ConcurrentSessionFilter(registry);
+		filter.setRefreshLastRequestInterval(Duration.ofSeconds(30));
+		MockHttpServletResponse response = doFilter(filter, new MockHttpSession());
+		assertThat(response.getContentAsString()).contains("This session has been expired");
+		verify(registry, never()).refreshLastRequest(anyString());
+	}
+
+	@Test
+	public void setRefreshLastRequestIntervalWhenNegativeThenThrowsException() {
+		ConcurrentSessionFilter filter = new ConcurrentSessionFilter(new SessionRegistryImpl());
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> filter.setRefreshLastRequestInterval(Duration.ofSeconds(-1)));
+	}
+
+	private MockHttpServletResponse doFilter(ConcurrentSessionFilter filter, MockHttpSession session)
+			throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setSession(session);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+
 	private SessionRegistry mockSessionRegistry() {
 		SessionRegistry registry = mock(SessionRegistry.class);
 		SessionInformation information = new SessionInformation("user", "sessionId",
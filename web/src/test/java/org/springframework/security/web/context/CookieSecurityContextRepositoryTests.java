@@ -0,0 +1,282 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.context;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.context.SecurityContextSerializer;
+import org.springframework.security.crypto.encrypt.BytesEncryptor;
+import org.springframework.security.crypto.encrypt.Encryptors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link CookieSecurityContextRepository}.
+ */
+class CookieSecurityContextRepositoryTests {
+
+	private static final String SALT = "5c0744940b5c369b";
+
+	private final SecurityContextSerializer serializer = new JavaSecurityContextSerializer();
+
+	private final BytesEncryptor encryptor = Encryptors.stronger("password", SALT);
+
+	private final SecretKey signingKey = signingKey((byte) 1);
+
+	private final CookieSecurityContextRepository repository = new CookieSecurityContextRepository(this.serializer,
+			this.encryptor, this.signingKey);
+
+	private final SecurityContext context = new SecurityContextImpl(
+			new TestingAuthenticationToken("user", null, "ROLE_USER"));
+
+	@Test
+	void constructorWhenNullSerializerThenIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new CookieSecurityContextRepository(null, this.encryptor, this.signingKey));
+	}
+
+	@Test
+	void constructorWhenNullEncryptorThenIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new CookieSecurityContextRepository(this.serializer, null, this.signingKey));
+	}
+
+	@Test
+	void constructorWhenNullSigningKeyThenIllegalArgumentException() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new CookieSecurityContextRepository(this.serializer, this.encryptor, null));
+	}
+
+	@Test
+	void constructorWhenShortSigningKeyThenIllegalArgumentException() {
+		SecretKey signingKey = new SecretKeySpec(new byte[16], "HmacSHA256");
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> new CookieSecurityContextRepository(this.serializer, this.encryptor, signingKey))
+			.withMessage("signingKey must be at least 256 bits");
+	}
+
+	@Test
+	void loadDeferredContextWhenSavedThenLoaded() {
+		Cookie cookie = save(this.repository);
+		assertThat(cookie.isHttpOnly()).isTrue();
+		assertThat(cookie.getMaxAge()).isEqualTo(1800);
+		assertThat(cookie.getValue()).doesNotContain("user");
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setCookies(cookie);
+		assertThat(this.repository.containsContext(request)).isTrue();
+		SecurityContext loaded = this.repository.loadDeferredContext(request).get();
+		assertThat(loaded.getAuthentication()).isEqualTo(this.context.getAuthentication());
+	}
+
+	@Test
+	void loadDeferredContextWhenSavedInSameRequestThenSavedContext() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		this.repository.saveContext(this.context, request, new MockHttpServletResponse());
+		assertThat(this.repository.loadDeferredContext(request).get()).isSameAs(this.context);
+	}
+
+	@Test
+	void loadDeferredContextWhenNoCookieThenEmptyContext() {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		assertThat(this.repository.containsContext(request)).isFalse();
+		assertThat(this.repository.loadDeferredContext(request).get().getAuthentication()).isNull();
+	}
+
+	@Test
+	void loadDeferredContextWhenTamperedThenEmptyContext() {
+		Cookie cookie = save(this.repository);
+		char[] value = cookie.getValue().toCharArray();
+		value[value.length / 2] = (value[value.length / 2] == 'A') ? 'B' : 'A';
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setCookies(new Cookie(cookie.getName(), new String(value)));
+		assertThat(this.repository.loadDeferredContext(request).get().getAuthentication()).isNull();
+	}
+
+	@Test
+	void loadDeferredContextWhenEncryptedWithOtherKeyThenEmptyContext() {
+		Cookie cookie = save(new CookieSecurityContextRepository(this.serializer, Encryptors.stronger("other", SALT),
+				this.signingKey));
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setCookies(cookie);
+		assertThat(this.repository.loadDeferredContext(request).get().getAuthentication()).isNull();
+	}
+
+	@Test
+	void loadDeferredContextWhenEncryptedWithPreviousKeyThenLoaded() {
+		BytesEncryptor previous = Encryptors.stronger("previous", SALT);
+		Cookie cookie = save(new CookieSecurityContextRepository(this.serializer, previous, this.signingKey));
+		this.repository.setPreviousEncryptors(List.of(previous));
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setCookies(cookie);
+		assertThat(this.repository.loadDeferredContext(request).get().getAuthentication())
+			.isEqualTo(this.context.getAuthentication());
+	}
+
+	@Test
+	void loadDeferredContextWhenSignedWithOtherKeyThenEmptyContext() {
+		SecretKey other = signingKey((byte) 2);
+		Cookie cookie = save(new CookieSecurityContextRepository(this.serializer, this.encryptor, other));
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setCookies(cookie);
+		assertThat(this.repository.loadDeferredContext(request).get().getAuthentication()).isNull();
+	}
+
+	@Test
+	void loadDeferredContextWhenSignedWithPreviousKeyThenLoaded() {
+		SecretKey previous = signingKey((byte) 2);
+		Cookie cookie = save(new CookieSecurityContextRepository(this.serializer, this.encryptor, previous));
+		this.repository.setPreviousSigningKeys(List.of(previous));
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setCookies(cookie);
+		assertThat(this.repository.loadDeferredContext(request).get().getAuthentication())
+			.isEqualTo(this.context.getAuthentication());
+	}
+
+	@Test
+	void loadDeferredContextWhenUnauthenticatedEncryptionTamperedThenNotDecrypted() {
+		AtomicInteger deserialized = new AtomicInteger();
+		SecurityContextSerializer serializer = new JavaSecurityContextSerializer() {
+
+			@Override
+			public SecurityContext deserialize(byte[] serialized) {
+				deserialized.incrementAndGet();
+				return super.deserialize(serialized);
+			}
+
+		};
+		CookieSecurityContextRepository repository = new CookieSecurityContextRepository(serializer,
+				Encryptors.standard("password", SALT), this.signingKey);
+		Cookie cookie = save(repository);
+		char[] value = cookie.getValue().toCharArray();
+		value[value.length / 2] = (value[value.length / 2] == 'A') ? 'B' : 'A';
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setCookies(new Cookie(cookie.getName(), new String(value)));
+		assertThat(repository.loadDeferredContext(request).get().getAuthentication()).isNull();
+		assertThat(deserialized).hasValue(0);
+	}
+
+	@Test
+	void loadDeferredContextWhenExpiredThenEmptyContext() {
+		Instant now = Instant.now();
+		this.repository.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		this.repository.setCookieMaxAge(Duration.ofMinutes(5));
+		Cookie cookie = save(this.repository);
+		this.repository.setClock(Clock.fixed(now.plus(Duration.ofMinutes(5)), ZoneOffset.UTC));
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setCookies(cookie);
+		assertThat(this.repository.loadDeferredContext(request).get().getAuthentication()).isNull();
+	}
+
+	@Test
+	void saveContextWhenLargerThanMaxCookieSizeThenCookieRemoved() {
+		this.repository.setMaxCookieSize(64);
+		Cookie cookie = save(this.repository);
+		assertThat(cookie.getValue()).isEmpty();
+		assertThat(cookie.getMaxAge()).isZero();
+	}
+
+	@Test
+	void saveContextWhenEmptyContextThenCookieRemoved() {
+		Cookie cookie = save(this.repository);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setCookies(cookie);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.repository.saveContext(new SecurityContextImpl(), request, response);
+		Cookie removed = response.getCookie(CookieSecurityContextRepository.DEFAULT_COOKIE_NAME);
+		assertThat(removed.getValue()).isEmpty();
+		assertThat(removed.getMaxAge()).isZero();
+		assertThat(this.repository.containsContext(request)).isFalse();
+	}
+
+	@Test
+	void saveContextWhenCookieCustomizerThenCustomized() {
+		this.repository.setCookieName("context");
+		this.repository.setCookieCustomizer((cookie) -> cookie.sameSite("Strict"));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		this.repository.saveContext(this.context, new MockHttpServletRequest(), response);
+		assertThat(response.getHeader("Set-Cookie")).startsWith("context=").contains("SameSite=Strict");
+	}
+
+	@Test
+	void setMaxCookieSizeWhenNotPositiveThenIllegalArgumentException() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.repository.setMaxCookieSize(0));
+	}
+
+	private Cookie save(CookieSecurityContextRepository repository) {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		repository.saveContext(this.context, new MockHttpServletRequest(), response);
+		Cookie cookie = response.getCookie(CookieSecurityContextRepository.DEFAULT_COOKIE_NAME);
+		assertThat(cookie).isNotNull();
+		return cookie;
+	}
+
+	private static SecretKey signingKey(byte value) {
+		byte[] key = new byte[32];
+		Arrays.fill(key, value);
+		return new SecretKeySpec(key, "HmacSHA256");
+	}
+
+	private static class JavaSecurityContextSerializer implements SecurityContextSerializer {
+
+		@Override
+		public byte[] serialize(SecurityContext context) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+				out.writeObject(context);
+			}
+			catch (IOException ex) {
+				throw new IllegalArgumentException(ex);
+			}
+			return bytes.toByteArray();
+		}
+
+		@Override
+		public SecurityContext deserialize(byte[] serialized) {
+			try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+				return (SecurityContext) in.readObject();
+			}
+			catch (IOException | ClassNotFoundException ex) {
+				throw new IllegalArgumentException(ex);
+			}
+		}
+
+	}
+
+}
@@ -53,6 +53,7 @@ import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.context.SecurityContextSerializer;
 import org.springframework.security.core.context.TransientSecurityContext;
 import org.springframework.security.core.userdetails.PasswordEncodedUser;
 import org.springframework.security.core.userdetails.User;
@@ -60,11 +61,13 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
@@ -212,6 +215,68 @@ public class HttpSessionSecurityContextRepositoryTests {
 		verify(session).setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, ctx);
 	}
 
+	@Test
+	public void saveContextWhenLoadedContextUnchangedThenSessionNotWritten() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		SecurityContext ctx = new SecurityContextImpl(this.testToken);
+		HttpSession session = mock(HttpSession.class);
+		given(session.getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY)).willReturn(ctx);
+		request.setSession(session);
+		assertThat(repo.loadDeferredContext(request).get()).isSameAs(ctx);
+		repo.saveContext(ctx, request, new MockHttpServletResponse());
+		verify(session, never()).setAttribute(any(), any());
+		assertThat(repo.getSkippedSaveCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void saveContextWhenLoadedAuthenticationModifiedThenSessionWritten() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		TestingAuthenticationToken authentication = new TestingAuthenticationToken("someone", "passwd", "ROLE_A");
+		SecurityContext ctx = new SecurityContextImpl(authentication);
+		HttpSession session = mock(HttpSession.class);
+		given(session.getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY)).willReturn(ctx);
+		request.setSession(session);
+		assertThat(repo.loadDeferredContext(request).get()).isSameAs(ctx);
+		authentication.setDetails("details");
+		repo.saveContext(ctx, request, new MockHttpServletResponse());
+		verify(session).setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, ctx);
+		repo.saveContext(ctx, request, new MockHttpServletResponse());
+		verify(session, times(1)).setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, ctx);
+		assertThat(repo.getSkippedSaveCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void saveContextWhenLoadedAuthenticationModifiedAndResponseWrappedThenSessionWritten() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		TestingAuthenticationToken authentication = new TestingAuthenticationToken("someone", "passwd", "ROLE_A");
+		SecurityContext ctx = new SecurityContextImpl(authentication);
+		HttpSession session = mock(HttpSession.class);
+		given(session.getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY)).willReturn(ctx);
+		request.setSession(session);
+		HttpRequestResponseHolder holder = new HttpRequestResponseHolder(request, new MockHttpServletResponse());
+		assertThat(repo.loadContext(holder)).isSameAs(ctx);
+		authentication.setDetails("details");
+		repo.saveContext(ctx, holder.getRequest(), holder.getResponse());
+		verify(session).setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, ctx);
+		assertThat(repo.getSkippedSaveCount()).isZero();
+	}
+
+	@Test
+	public void saveContextWhenResponseWrappedAndContextUnchangedThenCountsSkippedSave() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.getSession()
+			.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+					new SecurityContextImpl(this.testToken));
+		HttpRequestResponseHolder holder = new HttpRequestResponseHolder(request, new MockHttpServletResponse());
+		SecurityContext context = repo.loadContext(holder);
+		repo.saveContext(context, holder.getRequest(), holder.getResponse());
+		assertThat(repo.getSkippedSaveCount()).isEqualTo(1);
+	}
+
 	@Test
 	public void saveContextWhenSaveNewContextThenOriginalContextThenOriginalContextSaved() throws Exception {
 		HttpSessionSecurityContextRepository repository = new HttpSessionSecurityContextRepository();
@@ -790,6 +855,93 @@ public class HttpSessionSecurityContextRepositoryTests {
 		assertThat(savedContext).isEqualTo(context);
 	}
 
+	@Test
+	public void setSecurityContextSerializerWhenNullThenIllegalArgumentException() {
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		assertThatIllegalArgumentException().isThrownBy(() -> repo.setSecurityContextSerializer(null));
+	}
+
+	@Test
+	public void saveContextWhenSecurityContextSerializerThenSaveSerializedInSession() {
+		SecurityContextSerializer serializer = mock(SecurityContextSerializer.class);
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		repo.setSecurityContextSerializer(serializer);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		SecurityContext context = createSecurityContext(PasswordEncodedUser.user());
+		byte[] serialized = { 1, 2, 3 };
+		given(serializer.serialize(context)).willReturn(serialized);
+		given(serializer.deserialize(serialized)).willReturn(context);
+		repo.saveContext(context, request, response);
+		Object savedContext = request.getSession()
+			.getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
+		assertThat(savedContext).isSameAs(serialized);
+		assertThat(repo.loadDeferredContext(request).get()).isSameAs(context);
+	}
+
+	@Test
+	public void saveContextWhenSecurityContextSerializerAndLoadedContextUnchangedThenSessionNotWritten() {
+		SecurityContextSerializer serializer = mock(SecurityContextSerializer.class);
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		repo.setSecurityContextSerializer(serializer);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		SecurityContext context = createSecurityContext(PasswordEncodedUser.user());
+		byte[] serialized = { 1, 2, 3 };
+		given(serializer.deserialize(serialized)).willReturn(context);
+		request.getSession().setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, serialized);
+		assertThat(repo.loadDeferredContext(request).get()).isSameAs(context);
+		repo.saveContext(context, request, new MockHttpServletResponse());
+		verify(serializer, never()).serialize(any());
+		assertThat(repo.getSkippedSaveCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void saveContextWhenSecurityContextSerializerAndSessionBytesReplacedThenSessionWritten() {
+		SecurityContextSerializer serializer = mock(SecurityContextSerializer.class);
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		repo.setSecurityContextSerializer(serializer);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		SecurityContext context = createSecurityContext(PasswordEncodedUser.user());
+		byte[] serialized = { 1, 2, 3 };
+		given(serializer.deserialize(serialized)).willReturn(context);
+		given(serializer.serialize(context)).willReturn(serialized);
+		request.getSession().setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, serialized);
+		assertThat(repo.loadDeferredContext(request).get()).isSameAs(context);
+		request.getSession()
+			.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, new byte[] { 4 });
+		repo.saveContext(context, request, new MockHttpServletResponse());
+		assertThat(request.getSession().getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY))
+			.isSameAs(serialized);
+		assertThat(repo.getSkippedSaveCount()).isZero();
+	}
+
+	@Test
+	public void loadContextWhenSecurityContextSerializerAndContextObjectInSessionThenLoaded() {
+		SecurityContextSerializer serializer = mock(SecurityContextSerializer.class);
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		repo.setSecurityContextSerializer(serializer);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		SecurityContext context = createSecurityContext(PasswordEncodedUser.user());
+		request.getSession().setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, context);
+		assertThat(repo.loadDeferredContext(request).get()).isSameAs(context);
+		verifyNoInteractions(serializer);
+	}
+
+	@Test
+	public void loadContextWhenSecurityContextSerializerFailsThenEmptyContext() {
+		SecurityContextSerializer serializer = mock(SecurityContextSerializer.class);
+		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
+		repo.setSecurityContextSerializer(serializer);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		byte[] serialized = { 2 };
+		request.getSession()
+			.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, serialized);
+		given(serializer.deserialize(serialized)).willThrow(new IllegalArgumentException("unsupported"));
+		SecurityContext context = repo.loadDeferredContext(request).get();
+		assertThat(context).isNotNull();
+		assertThat(context.getAuthentication()).isNull();
+	}
+
 	@Test
 	public void saveContextWhenTransientAuthenticationThenDoNotSave() {
 		HttpSessionSecurityContextRepository repo = new HttpSessionSecurityContextRepository();
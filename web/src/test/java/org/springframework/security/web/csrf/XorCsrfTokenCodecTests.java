@@ -0,0 +1,83 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.csrf;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link XorCsrfTokenCodec}.
+ */
+class XorCsrfTokenCodecTests {
+
+	@Test
+	void maskWhenSecureRandomThenRandomBytesFollowedByXoredToken() {
+		SecureRandom secureRandom = mock(SecureRandom.class);
+		willAnswer((invocation) -> {
+			Arrays.fill(invocation.<byte[]>getArgument(0), (byte) 1);
+			return null;
+		}).given(secureRandom).nextBytes(any(byte[].class));
+		String masked = XorCsrfTokenCodec.mask("abc", secureRandom);
+		assertThat(Base64.getUrlDecoder().decode(masked)).containsExactly(1, 1, 1, 96, 99, 98);
+	}
+
+	@Test
+	void unmaskWhenMaskedThenToken() {
+		String token = UUID.randomUUID().toString();
+		String masked = XorCsrfTokenCodec.mask(token);
+		assertThat(masked).isNotEqualTo(XorCsrfTokenCodec.mask(token));
+		assertThat(XorCsrfTokenCodec.unmask(masked, token)).isEqualTo(token);
+	}
+
+	@Test
+	void unmaskWhenTokenLengthChangesThenToken() {
+		String shortToken = "abc";
+		String longToken = UUID.randomUUID().toString();
+		assertThat(XorCsrfTokenCodec.unmask(XorCsrfTokenCodec.mask(longToken), longToken)).isEqualTo(longToken);
+		assertThat(XorCsrfTokenCodec.unmask(XorCsrfTokenCodec.mask(shortToken), shortToken)).isEqualTo(shortToken);
+		assertThat(XorCsrfTokenCodec.unmask(XorCsrfTokenCodec.mask(longToken), longToken)).isEqualTo(longToken);
+	}
+
+	@Test
+	void unmaskWhenNonAsciiTokenThenToken() {
+		String token = "tökén";
+		assertThat(XorCsrfTokenCodec.unmask(XorCsrfTokenCodec.mask(token), token)).isEqualTo(token);
+	}
+
+	@Test
+	void unmaskWhenNotBase64ThenNull() {
+		assertThat(XorCsrfTokenCodec.unmask("not base64!", "abc")).isNull();
+		assertThat(XorCsrfTokenCodec.unmask("tökén", "abc")).isNull();
+	}
+
+	@Test
+	void unmaskWhenLengthDiffersThenNull() {
+		String masked = XorCsrfTokenCodec.mask("abc");
+		assertThat(XorCsrfTokenCodec.unmask(masked, "abcd")).isNull();
+		assertThat(XorCsrfTokenCodec.unmask(masked, "ab")).isNull();
+	}
+
+}
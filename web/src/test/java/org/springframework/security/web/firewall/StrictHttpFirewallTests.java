@@ -928,4 +928,71 @@ public class StrictHttpFirewallTests {
 		assertThat(request.getDateHeader(null)).isEqualTo(-1);
 	}
 
+	@Test
+	public void getFirewalledRequestWhenRejectedThenRejectedRequestCountsIncremented() {
+		this.request.setRequestURI("/path;/");
+		assertThatExceptionOfType(RequestRejectedException.class)
+			.isThrownBy(() -> this.firewall.getFirewalledRequest(this.request));
+		this.request.setRequestURI("/path/../other");
+		assertThatExceptionOfType(RequestRejectedException.class)
+			.isThrownBy(() -> this.firewall.getFirewalledRequest(this.request));
+		this.request.setRequestURI("/path");
+		this.request.addHeader("Bad\u0000", "value");
+		HttpServletRequest request = this.firewall.getFirewalledRequest(this.request);
+		assertThatExceptionOfType(RequestRejectedException.class).isThrownBy(() -> request.getHeader("Bad\u0000"));
+		assertThat(this.firewall.getRejectedRequestCounts())
+			.containsEntry(RequestRejectionReason.ENCODED_URL_BLOCKLIST, 1L)
+			.containsEntry(RequestRejectionReason.NOT_NORMALIZED, 1L)
+			.containsEntry(RequestRejectionReason.HEADER_NAME, 1L)
+			.containsEntry(RequestRejectionReason.HTTP_METHOD, 0L);
+	}
+
+	@Test
+	public void getFirewalledRequestWhenBlocklistModifiedAfterRequestThenModificationApplied() {
+		this.request.setRequestURI("/path/secret");
+		this.firewall.getFirewalledRequest(this.request);
+		this.firewall.getEncodedUrlBlocklist().add("secret");
+		assertThatExceptionOfType(RequestRejectedException.class)
+			.isThrownBy(() -> this.firewall.getFirewalledRequest(this.request))
+			.withMessageContaining("\"secret\"");
+		this.firewall.getEncodedUrlBlocklist().remove("secret");
+		this.firewall.getFirewalledRequest(this.request);
+	}
+
+	@Test
+	public void getFirewalledRequestWhenBlocklistContainsEmptyStringThenRejected() {
+		this.request.setRequestURI("/path");
+		this.firewall.getDecodedUrlBlocklist().add("");
+		assertThatExceptionOfType(RequestRejectedException.class)
+			.isThrownBy(() -> this.firewall.getFirewalledRequest(this.request));
+	}
+
+	@Test
+	public void getFirewalledRequestWhenMultipleForbiddenStringsThenRejectsFirstInBlocklistOrder() {
+		this.request.setRequestURI("/path;%2F\\%00");
+		String first = this.firewall.getEncodedUrlBlocklist()
+			.stream()
+			.filter(this.request.getRequestURI()::contains)
+			.findFirst()
+			.get();
+		assertThatExceptionOfType(RequestRejectedException.class)
+			.isThrownBy(() -> this.firewall.getFirewalledRequest(this.request))
+			.withMessage("The request was rejected because the URL contained a potentially malicious String \""
+					+ first + "\"");
+	}
+
+	@Test
+	public void getFirewalledRequestGetHeaderWhenUnassignedCharacterThenException() {
+		this.request.addHeader("Name", "\uFFFE");
+		HttpServletRequest request = this.firewall.getFirewalledRequest(this.request);
+		assertThatExceptionOfType(RequestRejectedException.class).isThrownBy(() -> request.getHeader("Name"));
+	}
+
+	@Test
+	public void getFirewalledRequestGetHeaderWhenSupplementaryCharacterAndTabThenAllowed() {
+		this.request.addHeader("Name", "value\twith \uD83D\uDE00");
+		HttpServletRequest request = this.firewall.getFirewalledRequest(this.request);
+		assertThat(request.getHeader("Name")).isEqualTo("value\twith \uD83D\uDE00");
+	}
+
 }
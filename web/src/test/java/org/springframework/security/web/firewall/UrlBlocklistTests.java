@@ -0,0 +1,112 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.firewall;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link UrlBlocklist}
+ */
+public class UrlBlocklistTests {
+
+	@Test
+	void scanWhenNullThenNothingFound() {
+		UrlBlocklist blocklist = blocklist(";");
+		assertThat(blocklist.scan(null)).isZero();
+	}
+
+	@Test
+	void scanWhenForbiddenStringsThenEachRecorded() {
+		UrlBlocklist blocklist = blocklist(";", "%2F", "\u2028");
+		long result = blocklist.scan("/a;b%2F\u2028");
+		for (String forbidden : blocklist) {
+			assertThat(result & bit(blocklist, forbidden)).as(forbidden).isNotZero();
+		}
+		assertThat(blocklist.firstForbidden(result)).isEqualTo(blocklist.iterator().next());
+		assertThat(result & UrlBlocklist.NOT_PRINTABLE_ASCII).isNotZero();
+	}
+
+	@Test
+	void scanWhenNoForbiddenStringsThenFirstForbiddenNull() {
+		UrlBlocklist blocklist = blocklist(";", "//");
+		long result = blocklist.scan("/a/b/c");
+		assertThat(blocklist.firstForbidden(result)).isNull();
+		assertThat(result).isZero();
+	}
+
+	@Test
+	void scanWhenTraversalSegmentsThenNotNormalized() {
+		UrlBlocklist blocklist = blocklist();
+		for (String path : List.of("/..", "/./a", "/a/.", ".", "..", "./a", "/a/../b")) {
+			assertThat(blocklist.scan(path) & UrlBlocklist.NOT_NORMALIZED).as(path).isNotZero();
+		}
+		for (String path : List.of("/", "", "/a/.b", "/a/..b", "/...", "/a.", "/a/")) {
+			assertThat(blocklist.scan(path) & UrlBlocklist.NOT_NORMALIZED).as(path).isZero();
+		}
+	}
+
+	@Test
+	void scanWhenModifiedThenRecompiled() {
+		UrlBlocklist blocklist = blocklist(";");
+		assertThat(blocklist.firstForbidden(blocklist.scan("/a%25"))).isNull();
+		blocklist.add("%25");
+		assertThat(blocklist.firstForbidden(blocklist.scan("/a%25"))).isEqualTo("%25");
+		blocklist.removeIf("%25"::equals);
+		assertThat(blocklist.firstForbidden(blocklist.scan("/a%25"))).isNull();
+	}
+
+	@Test
+	void scanWhenEmptyStringThenNotScannable() {
+		UrlBlocklist blocklist = blocklist("");
+		assertThat(blocklist.isScannable()).isFalse();
+		assertThatIllegalStateException().isThrownBy(() -> blocklist.scan("/"));
+	}
+
+	@Test
+	void isScannableWhenTooManyStringsThenFalse() {
+		UrlBlocklist blocklist = blocklist();
+		for (int i = 0; i <= UrlBlocklist.MAX_SCANNABLE_SIZE; i++) {
+			blocklist.add("forbidden" + i);
+		}
+		assertThat(blocklist.isScannable()).isFalse();
+		blocklist.remove("forbidden0");
+		assertThat(blocklist.isScannable()).isTrue();
+	}
+
+	private static long bit(UrlBlocklist blocklist, String forbidden) {
+		int i = 0;
+		for (String value : blocklist) {
+			if (value.equals(forbidden)) {
+				return 1L << i;
+			}
+			i++;
+		}
+		return 0;
+	}
+
+	private static UrlBlocklist blocklist(String... values) {
+		UrlBlocklist blocklist = new UrlBlocklist();
+		blocklist.addAll(List.of(values));
+		return blocklist;
+	}
+
+}
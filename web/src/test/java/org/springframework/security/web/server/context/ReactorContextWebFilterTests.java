@@ -19,6 +19,7 @@ package org.springframework.security.web.server.context;
 import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -113,6 +114,24 @@ public class ReactorContextWebFilterTests {
 		this.securityContext.assertWasNotSubscribed();
 	}
 
+	@Test
+	public void filterWhenResolveSecurityContextOnceThenRepositoryResultSubscribedOnce() {
+		SecurityContextImpl context = new SecurityContextImpl(this.principal);
+		AtomicInteger subscriptions = new AtomicInteger();
+		given(this.repository.load(any())).willReturn(Mono.fromSupplier(() -> {
+			subscriptions.incrementAndGet();
+			return context;
+		}));
+		this.filter.setResolveSecurityContextOnce(true);
+		this.handler = WebTestHandler.bindToWebFilters(this.filter,
+				(e, c) -> ReactiveSecurityContextHolder.getContext()
+					.then(ReactiveSecurityContextHolder.getContext())
+					.doOnSuccess((securityContext) -> assertThat(securityContext).isSameAs(context))
+					.then(c.filter(e)));
+		this.handler.exchange(this.exchange);
+		assertThat(subscriptions).hasValue(1);
+	}
+
 	@Test
 	// gh-4962
 	public void filterWhenMainContextThenDoesNotOverride() {
@@ -16,16 +16,20 @@
 
 package org.springframework.security.web.server.context;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import reactor.core.publisher.Mono;
 import reactor.test.publisher.PublisherProbe;
 
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextImpl;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebSession;
+import org.springframework.web.server.session.WebSessionIdResolver;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
@@ -105,4 +109,102 @@ public class WebSessionServerSecurityContextRepositoryTests {
 		assertThat(webSession.subscribeCount()).isEqualTo(2);
 	}
 
+	@Test
+	public void loadWhenCacheSecurityContextThenReusedForExchange() {
+		String attrName = WebSessionServerSecurityContextRepository.DEFAULT_SPRING_SECURITY_CONTEXT_ATTR_NAME;
+		WebSession session = this.exchange.getSession().block();
+		SecurityContext expected = new SecurityContextImpl(new TestingAuthenticationToken("user", "password"));
+		session.getAttributes().put(attrName, expected);
+		this.repository.setCacheSecurityContext(true);
+		assertThat(this.repository.load(this.exchange).block()).isSameAs(expected);
+		session.getAttributes().remove(attrName);
+		assertThat(this.repository.load(this.exchange).block()).isSameAs(expected);
+	}
+
+	@Test
+	public void loadWhenWebSessionIdResolverAndNoSessionIdThenSessionNotUsed() {
+		PublisherProbe<WebSession> webSession = PublisherProbe.empty();
+		ServerWebExchange exchange = mock(ServerWebExchange.class);
+		given(exchange.getSession()).willReturn(webSession.mono());
+		WebSessionIdResolver webSessionIdResolver = mock(WebSessionIdResolver.class);
+		given(webSessionIdResolver.resolveSessionIds(exchange)).willReturn(List.of());
+		this.repository.setWebSessionIdResolver(webSessionIdResolver);
+		assertThat(this.repository.load(exchange).block()).isNull();
+		webSession.assertWasNotSubscribed();
+	}
+
+	@Test
+	public void loadWhenWebSessionIdResolverAndSessionIdThenFound() {
+		SecurityContext expected = new SecurityContextImpl();
+		this.repository.save(this.exchange, expected).block();
+		WebSessionIdResolver webSessionIdResolver = mock(WebSessionIdResolver.class);
+		given(webSessionIdResolver.resolveSessionIds(this.exchange)).willReturn(List.of("id"));
+		this.repository.setWebSessionIdResolver(webSessionIdResolver);
+		assertThat(this.repository.load(this.exchange).block()).isSameAs(expected);
+	}
+
+	@Test
+	public void loadWhenWebSessionIdResolverAndSavedInExchangeThenFound() {
+		WebSessionIdResolver webSessionIdResolver = mock(WebSessionIdResolver.class);
+		given(webSessionIdResolver.resolveSessionIds(this.exchange)).willReturn(List.of());
+		this.repository.setWebSessionIdResolver(webSessionIdResolver);
+		SecurityContext expected = new SecurityContextImpl();
+		this.repository.save(this.exchange, expected).block();
+		assertThat(this.repository.load(this.exchange).block()).isSameAs(expected);
+	}
+
+	@Test
+	public void saveWhenLoadedContextUnchangedThenChangeSessionId() {
+		SecurityContext context = new SecurityContextImpl(new TestingAuthenticationToken("user", "password"));
+		this.repository.save(this.exchange, context).block();
+		String sessionId = this.exchange.getSession().block().getId();
+		this.repository.save(this.exchange, context).block();
+		assertThat(this.exchange.getSession().block().getId()).isNotEqualTo(sessionId);
+	}
+
+	@Test
+	public void saveWhenSkipUnchangedSaveAndLoadedContextUnchangedThenSessionNotChanged() {
+		this.repository.setSkipUnchangedSave(true);
+		SecurityContext context = new SecurityContextImpl(new TestingAuthenticationToken("user", "password"));
+		this.repository.save(this.exchange, context).block();
+		assertThat(this.repository.load(this.exchange).block()).isSameAs(context);
+		String sessionId = this.exchange.getSession().block().getId();
+		this.repository.save(this.exchange, context).block();
+		assertThat(this.exchange.getSession().block().getId()).isEqualTo(sessionId);
+	}
+
+	@Test
+	public void saveWhenSkipUnchangedSaveAndEqualContextThenSessionNotChanged() {
+		this.repository.setSkipUnchangedSave(true);
+		this.repository.save(this.exchange, new SecurityContextImpl(new TestingAuthenticationToken("user", "password")))
+			.block();
+		String sessionId = this.exchange.getSession().block().getId();
+		this.repository.save(this.exchange, new SecurityContextImpl(new TestingAuthenticationToken("user", "password")))
+			.block();
+		assertThat(this.exchange.getSession().block().getId()).isEqualTo(sessionId);
+	}
+
+	@Test
+	public void saveWhenSkipUnchangedSaveAndAuthenticationModifiedInPlaceThenChangeSessionId() {
+		this.repository.setSkipUnchangedSave(true);
+		TestingAuthenticationToken authentication = new TestingAuthenticationToken("user", "password");
+		SecurityContext context = new SecurityContextImpl(authentication);
+		this.repository.save(this.exchange, context).block();
+		String sessionId = this.exchange.getSession().block().getId();
+		authentication.setDetails("details");
+		this.repository.save(this.exchange, context).block();
+		assertThat(this.exchange.getSession().block().getId()).isNotEqualTo(sessionId);
+	}
+
+	@Test
+	public void saveWhenSkipUnchangedSaveAndAuthenticationChangedThenChangeSessionId() {
+		this.repository.setSkipUnchangedSave(true);
+		SecurityContext context = new SecurityContextImpl(new TestingAuthenticationToken("user", "password"));
+		this.repository.save(this.exchange, context).block();
+		String sessionId = this.exchange.getSession().block().getId();
+		context.setAuthentication(new TestingAuthenticationToken("admin", "password"));
+		this.repository.save(this.exchange, context).block();
+		assertThat(this.exchange.getSession().block().getId()).isNotEqualTo(sessionId);
+	}
+
 }
@@ -28,6 +28,7 @@ import org.springframework.http.ResponseCookie;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.web.firewall.RequestRejectionReason;
 import org.springframework.web.server.ServerWebExchange;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -547,4 +548,42 @@ class StrictServerWebExchangeFirewallTests {
 			.isThrownBy(() -> headers.get(invalidHeaderName));
 	}
 
+	@Test
+	void getRejectedRequestCountsWhenRejectedThenCountedByReason() {
+		this.request = get("/path;/");
+		assertThatExceptionOfType(ServerExchangeRejectedException.class).isThrownBy(() -> getFirewalledExchange());
+		this.request = get("/a/../b");
+		assertThatExceptionOfType(ServerExchangeRejectedException.class).isThrownBy(() -> getFirewalledExchange());
+		this.request = MockServerHttpRequest.method(HttpMethod.valueOf("INVALID"), "/");
+		assertThatExceptionOfType(ServerExchangeRejectedException.class).isThrownBy(() -> getFirewalledExchange());
+		this.request = get("/");
+		getFirewalledExchange();
+		assertThat(this.firewall.getRejectedRequestCounts()).containsEntry(RequestRejectionReason.ENCODED_URL_BLOCKLIST, 1L)
+			.containsEntry(RequestRejectionReason.NOT_NORMALIZED, 1L)
+			.containsEntry(RequestRejectionReason.HTTP_METHOD, 1L)
+			.containsEntry(RequestRejectionReason.DECODED_URL_BLOCKLIST, 0L)
+			.containsEntry(RequestRejectionReason.UNTRUSTED_HOST, 0L);
+	}
+
+	@Test
+	void getRejectedRequestCountsWhenSharedTokenInDecodedPathThenCountedAsDecoded() {
+		this.firewall.getEncodedUrlBlocklist().removeAll(Arrays.asList("%3b", "%3B"));
+		this.request = MockServerHttpRequest.method(HttpMethod.GET, URI.create("/path%3b/"));
+		assertThatExceptionOfType(ServerExchangeRejectedException.class).isThrownBy(() -> getFirewalledExchange())
+			.withMessageContaining("\";\"");
+		assertThat(this.firewall.getRejectedRequestCounts())
+			.containsEntry(RequestRejectionReason.DECODED_URL_BLOCKLIST, 1L)
+			.containsEntry(RequestRejectionReason.ENCODED_URL_BLOCKLIST, 0L);
+	}
+
+	@Test
+	void getFirewalledExchangeWhenBlocklistModifiedThenUsesModifiedBlocklist() {
+		this.firewall.getEncodedUrlBlocklist().add("forbidden");
+		this.request = get("/forbidden");
+		assertThatExceptionOfType(ServerExchangeRejectedException.class).isThrownBy(() -> getFirewalledExchange())
+			.withMessageContaining("\"forbidden\"");
+		this.firewall.getEncodedUrlBlocklist().remove("forbidden");
+		getFirewalledExchange();
+	}
+
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2004-present the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.security.web.servlet.util.matcher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcherEntry;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher.pathPattern;
+
+/**
+ * Tests for {@link PathPatternRequestMatcherIndex}
+ */
+public class PathPatternRequestMatcherIndexTests {
+
+	@Test
+	void matchWhenLiteralPatternsThenFirstMatchingEntry() {
+		PathPatternRequestMatcherIndex<String> index = index(entry(pathPattern("/a/b"), "ab"),
+				entry(pathPattern("/a/**"), "a"), entry(pathPattern("/c"), "c"));
+		assertThat(entry(index, request("GET", "/a/b"))).isEqualTo("ab");
+		assertThat(entry(index, request("GET", "/a/c"))).isEqualTo("a");
+		assertThat(entry(index, request("GET", "/a"))).isEqualTo("a");
+		assertThat(entry(index, request("GET", "/c"))).isEqualTo("c");
+		assertThat(index.match(request("GET", "/d"))).isNull();
+		assertThat(index.getIndexedCount()).isEqualTo(3);
+		assertThat(index.getOpaqueCount()).isZero();
+	}
+
+	@Test
+	void matchWhenOpaqueMatcherDeclaredFirstThenOpaqueMatcherWins() {
+		RequestMatcher opaque = (request) -> request.getRequestURI().endsWith("/b");
+		PathPatternRequestMatcherIndex<String> index = index(entry(opaque, "opaque"), entry(pathPattern("/a/b"), "ab"),
+				entry(AnyRequestMatcher.INSTANCE, "any"));
+		assertThat(entry(index, request("GET", "/a/b"))).isEqualTo("opaque");
+		assertThat(entry(index, request("GET", "/a/c"))).isEqualTo("any");
+		assertThat(index.getOpaqueCount()).isEqualTo(2);
+	}
+
+	@Test
+	void matchWhenAnyRequestDeclaredFirstThenLaterEntriesNotSelected() {
+		PathPatternRequestMatcherIndex<String> index = index(entry(AnyRequestMatcher.INSTANCE, "any"),
+				entry(pathPattern("/a"), "a"));
+		assertThat(entry(index, request("GET", "/a"))).isEqualTo("any");
+	}
+
+	@Test
+	void matchWhenMethodSpecifiedThenOnlyThatMethodMatches() {
+		PathPatternRequestMatcherIndex<String> index = index(entry(pathPattern(HttpMethod.POST, "/a"), "post"),
+				entry(pathPattern("/a"), "any"));
+		assertThat(entry(index, request("POST", "/a"))).isEqualTo("post");
+		assertThat(entry(index, request("GET", "/a"))).isEqualTo("any");
+	}
+
+	@Test
+	void matchWhenPatternHasVariablesThenVariablesExtracted() {
+		PathPatternRequestMatcherIndex<String> index = index(entry(pathPattern("/users/{id}/**"), "user"));
+		PathPatternRequestMatcherIndex.Match<String> match = index.match(request("GET", "/users/bob/profile"));
+		assertThat(match).isNotNull();
+		assertThat(match.getMatchResult().getVariables()).containsEntry("id", "bob");
+	}
+
+	@Test
+	void matchWhenWildcardPatternThenIndexedAtLiteralPrefix() {
+		PathPatternRequestMatcherIndex<String> index = index(entry(pathPattern("/api/v*/users"), "users"),
+				entry(pathPattern("/**"), "all"));
+		assertThat(entry(index, request("GET", "/api/v1/users"))).isEqualTo("users");
+		assertThat(entry(index, request("GET", "/api/v1/orders"))).isEqualTo("all");
+	}
+
+	@Test
+	void matchWhenConsecutiveSeparatorsThenSameAsPathPattern() {
+		PathPatternRequestMatcherIndex<String> index = index(entry(pathPattern("/a/b"), "ab"),
+				entry(pathPattern("/a/**"), "a"));
+		assertThat(entry(index, request("GET", "/a//b"))).isEqualTo("a");
+	}
+
+	@Test
+	void matchWhenMatrixVariablesThenSameAsPathPattern() {
+		PathPatternRequestMatcherIndex<String> index = index(entry(pathPattern("/a/b"), "ab"));
+		assertThat(entry(index, request("GET", "/a;x=y/b"))).isEqualTo("ab");
+	}
+
+	@Test
+	void matchWhenCaseInsensitiveParserThenNotIndexed() {
+		PathPatternParser parser = new PathPatternParser();
+		parser.setCaseSensitive(false);
+		PathPatternRequestMatcherIndex<String> index = index(
+				entry(PathPatternRequestMatcher.withPathPatternParser(parser).matcher("/a"), "a"));
+		assertThat(entry(index, request("GET", "/A"))).isEqualTo("a");
+		assertThat(index.getOpaqueCount()).isEqualTo(1);
+	}
+
+	@Test
+	void matchWhenManyEntriesThenSameAsLinearEvaluation() {
+		List<RequestMatcherEntry<String>> entries = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			entries.add(entry(pathPattern(HttpMethod.GET, "/api/" + i + "/**"), "get" + i));
+			entries.add(entry(pathPattern("/api/" + i + "/{id}"), "any" + i));
+		}
+		entries.add(entry(pathPattern("/api/**"), "api"));
+		PathPatternRequestMatcherIndex<String> index = PathPatternRequestMatcherIndex.of(entries);
+		for (String method : List.of("GET", "POST")) {
+			for (String uri : List.of("/api/7/x", "/api/49", "/api/50/x", "/other")) {
+				HttpServletRequest request = request(method, uri);
+				String expected = entries.stream()
+					.filter((entry) -> entry.getRequestMatcher().matches(request))
+					.map(RequestMatcherEntry::getEntry)
+					.findFirst()
+					.orElse(null);
+				PathPatternRequestMatcherIndex.Match<String> match = index.match(request);
+				assertThat((match != null) ? match.getEntry().getEntry() : null).isEqualTo(expected);
+			}
+		}
+	}
+
+	@SafeVarargs
+	private static PathPatternRequestMatcherIndex<String> index(RequestMatcherEntry<String>... entries) {
+		return PathPatternRequestMatcherIndex.of(List.of(entries));
+	}
+
+	private static RequestMatcherEntry<String> entry(RequestMatcher matcher, String entry) {
+		return new RequestMatcherEntry<>(matcher, entry);
+	}
+
+	private static String entry(PathPatternRequestMatcherIndex<String> index, HttpServletRequest request) {
+		PathPatternRequestMatcherIndex.Match<String> match = index.match(request);
+		assertThat(match).isNotNull();
+		return match.getEntry().getEntry();
+	}
+
+	private static MockHttpServletRequest request(String method, String uri) {
+		return new MockHttpServletRequest(method, uri);
+	}
+
+}